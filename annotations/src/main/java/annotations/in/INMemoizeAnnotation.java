@@ -0,0 +1,50 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package annotations.in;
+
+import com.fujitsu.vdmj.in.annotations.INAnnotation;
+import com.fujitsu.vdmj.in.expressions.INExpressionList;
+import com.fujitsu.vdmj.tc.lex.TCIdentifierToken;
+
+/**
+ * Mark a function as memoized, so that its results are cached by argument value.
+ * See FunctionValue and FunctionMemo.
+ */
+public class INMemoizeAnnotation extends INAnnotation
+{
+	private static final long serialVersionUID = 1L;
+
+	public INMemoizeAnnotation(TCIdentifierToken name, INExpressionList args)
+	{
+		super(name, args);
+	}
+
+	@Override
+	public boolean inMemoize()
+	{
+		return true;
+	}
+}
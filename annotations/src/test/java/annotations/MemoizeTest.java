@@ -0,0 +1,117 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package annotations;
+
+import java.io.File;
+import java.net.URL;
+
+import com.fujitsu.vdmj.Release;
+import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.ast.modules.ASTModuleList;
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.in.INNode;
+import com.fujitsu.vdmj.in.modules.INModuleList;
+import com.fujitsu.vdmj.lex.Dialect;
+import com.fujitsu.vdmj.lex.LexTokenReader;
+import com.fujitsu.vdmj.mapper.ClassMapper;
+import com.fujitsu.vdmj.messages.Console;
+import com.fujitsu.vdmj.plugins.commands.AssertCommand;
+import com.fujitsu.vdmj.po.PONode;
+import com.fujitsu.vdmj.runtime.ModuleInterpreter;
+import com.fujitsu.vdmj.syntax.ModuleReader;
+import com.fujitsu.vdmj.tc.TCNode;
+import com.fujitsu.vdmj.tc.modules.TCModuleList;
+import com.fujitsu.vdmj.typechecker.ModuleTypeChecker;
+import com.fujitsu.vdmj.typechecker.TypeChecker;
+import com.fujitsu.vdmj.values.FunctionMemo;
+
+import junit.framework.TestCase;
+
+public class MemoizeTest extends TestCase
+{
+	private String packages;
+
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		Settings.release = Release.VDM_10;
+		Settings.dialect = Dialect.VDM_SL;
+		Settings.annotations = true;
+
+		// Load annotations via the vdmj.annotations resource, not the packages
+		packages = Properties.annotations_packages;
+		Properties.annotations_packages = "none";
+	}
+
+	@Override
+	protected void tearDown() throws Exception
+	{
+		super.tearDown();
+		Settings.annotations = false;
+		Properties.annotations_packages = packages;
+	}
+
+	private void process(String resource, String aresource) throws Exception
+	{
+		URL rurl = getClass().getResource("/exectest/" + resource);
+		String file = rurl.getPath();
+		URL aurl = getClass().getResource("/exectest/" + aresource);
+		String assertions = aurl.getPath();
+
+		LexTokenReader ltr = new LexTokenReader(new File(file), Dialect.VDM_SL);
+		ModuleReader mr = new ModuleReader(ltr);
+		ASTModuleList parsed = new ASTModuleList();
+		parsed.addAll(mr.readModules());
+		mr.close();
+		mr.printErrors(Console.out);
+		assertEquals("Parse errors", 0, mr.getErrorCount());
+
+		TCModuleList checked = ClassMapper.getInstance(TCNode.MAPPINGS).init().convert(parsed);
+		TypeChecker typeChecker = new ModuleTypeChecker(checked);
+		typeChecker.typeCheck();
+		TypeChecker.printErrors(Console.out);
+		assertEquals("Type check errors", 0, TypeChecker.getErrorCount());
+
+		ClassMapper.getInstance(PONode.MAPPINGS).init().convert(checked);
+		INModuleList runnable = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checked);
+		ModuleInterpreter interpreter = new ModuleInterpreter(runnable, checked);
+		interpreter.init();
+		AssertCommand cmd = new AssertCommand("assert " + assertions);
+		assertEquals("Execution errors", null, cmd.run("assert " + assertions));
+		assertEquals("Execution errors", false, cmd.errors());
+	}
+
+	public void testMemoize() throws Exception
+	{
+		process("memoize.vdm", "memoize.tests");
+
+		// Only fib is cached, because plain is not annotated
+		assertEquals(1, FunctionMemo.getMemos().size());
+		FunctionMemo memo = FunctionMemo.getMemos().get(0);
+		assertEquals("fib", memo.name);
+		assertTrue(memo.toString(), memo.toString().matches(".*: [1-9][0-9]* hits.*"));
+	}
+}
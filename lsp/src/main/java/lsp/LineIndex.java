@@ -0,0 +1,180 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package lsp;
+
+import json.JSONObject;
+import workspace.Diag;
+
+/**
+ * An index of the line start offsets of a document buffer, which is maintained as
+ * edits are applied to the buffer. This allows LSP line/character positions to be
+ * converted to buffer offsets without scanning the buffer from the start.
+ */
+public class LineIndex
+{
+	private final StringBuilder buffer;
+	private int[] starts;	// starts[n] is the offset of the first character of line n
+	private int lines;		// The number of lines (always at least one)
+	private int length;		// The buffer length that the index describes
+
+	public LineIndex(StringBuilder buffer)
+	{
+		this.buffer = buffer;
+		this.starts = new int[64];
+		this.lines = 0;
+		this.length = buffer.length();
+		
+		starts[lines++] = 0;
+		
+		for (int i = 0; i < length; i++)
+		{
+			if (buffer.charAt(i) == '\n')
+			{
+				ensureCapacity(lines + 1);
+				starts[lines++] = i + 1;
+			}
+		}
+	}
+	
+	/**
+	 * True if this index describes the buffer passed. If the buffer has been changed
+	 * other than via replace, the index must be re-created.
+	 */
+	public boolean indexes(StringBuilder other)
+	{
+		return other == buffer && other.length() == length;
+	}
+	
+	public int findPosition(JSONObject position)
+	{
+		long line = position.get("line");
+		long character = position.get("character");
+		return findPosition(line, character);
+	}
+	
+	/**
+	 * Convert a zero based line and character to a buffer offset. The character can
+	 * be at the end of the line, but not beyond it.
+	 */
+	public int findPosition(long zline, long zcol)
+	{
+		if (zline >= 0 && zline < lines && zcol >= 0)
+		{
+			int start = starts[(int)zline];
+			int end = (zline + 1 < lines) ? starts[(int)zline + 1] - 1 : length;
+			
+			if (zcol <= end - start)
+			{
+				return start + (int)zcol;
+			}
+		}
+		
+		Diag.error("Cannot locate line %d character %s in buffer length %d", zline, zcol, length);
+		return -1;
+	}
+	
+	/**
+	 * Replace the buffer characters from start to end with the text passed, and update
+	 * the index to match.
+	 */
+	public void replace(int start, int end, String text)
+	{
+		buffer.replace(start, end, text);
+		
+		// Lines that start within (start, end] follow a newline that was replaced,
+		// so they are removed. Lines in the text are added after the start line, and
+		// the lines after the end are moved by the change in length.
+		
+		int first = lineOf(start);
+		int last = lineOf(end);
+		int added = 0;
+		
+		for (int i = 0; i < text.length(); i++)
+		{
+			if (text.charAt(i) == '\n')
+			{
+				added++;
+			}
+		}
+		
+		int delta = text.length() - (end - start);
+		int tail = lines - last - 1;
+		ensureCapacity(first + 1 + added + tail);
+		System.arraycopy(starts, last + 1, starts, first + 1 + added, tail);
+		
+		for (int i = first + 1 + added; i < first + 1 + added + tail; i++)
+		{
+			starts[i] += delta;
+		}
+		
+		int line = first + 1;
+		
+		for (int i = 0; i < text.length(); i++)
+		{
+			if (text.charAt(i) == '\n')
+			{
+				starts[line++] = start + i + 1;
+			}
+		}
+		
+		lines = first + 1 + added + tail;
+		length = length + delta;
+	}
+	
+	/**
+	 * The line containing an offset, by binary search of the line starts.
+	 */
+	private int lineOf(int offset)
+	{
+		int low = 0;
+		int high = lines - 1;
+		
+		while (low < high)
+		{
+			int mid = (low + high + 1) >>> 1;
+			
+			if (starts[mid] <= offset)
+			{
+				low = mid;
+			}
+			else
+			{
+				high = mid - 1;
+			}
+		}
+		
+		return low;
+	}
+	
+	private void ensureCapacity(int size)
+	{
+		if (size > starts.length)
+		{
+			int[] larger = new int[Math.max(size, starts.length * 2)];
+			System.arraycopy(starts, 0, larger, 0, lines);
+			starts = larger;
+		}
+	}
+}
@@ -53,11 +53,13 @@ public class MessageHub
 	
 	private final Map<File, Map<String, Set<VDMMessage>>> messageMap;
 	private final Map<String, AnalysisPlugin> pluginMap;	// Ref to PluginRegistry map
+	private final Map<File, Set<Object>> published;		// Last diagnostics sent per file
 	
 	private MessageHub()
 	{
 		this.messageMap = new HashMap<File, Map<String, Set<VDMMessage>>>();
 		this.pluginMap = PluginRegistry.getInstance().getPluginMap();
+		this.published = new HashMap<File, Set<Object>>();
 		Diag.info("Created MessageHub");
 	}
 	
@@ -76,6 +78,7 @@ public class MessageHub
 		if (INSTANCE != null)
 		{
 			INSTANCE.messageMap.clear();
+			INSTANCE.published.clear();
 			INSTANCE = null;
 		}
 	}
@@ -220,6 +223,7 @@ public class MessageHub
 	public synchronized void clear()
 	{
 		messageMap.clear();
+		published.clear();
 		Diag.info("MessageHub cleared");
 	}
 	
@@ -240,6 +244,22 @@ public class MessageHub
 	}
 	
 	public synchronized RPCMessageList getDiagnosticResponses(Set<File> filesToReport)
+	{
+		return getDiagnosticResponses(filesToReport, false);
+	}
+	
+	/**
+	 * Get the LSP diagnostic responses for the files passed whose diagnostics have
+	 * changed since they were last sent. Files not passed are forgotten, so that
+	 * they are sent again if they are added back later.
+	 */
+	public synchronized RPCMessageList getChangedDiagnosticResponses(Set<File> filesToReport)
+	{
+		published.keySet().retainAll(filesToReport);
+		return getDiagnosticResponses(filesToReport, true);
+	}
+	
+	private RPCMessageList getDiagnosticResponses(Set<File> filesToReport, boolean changedOnly)
 	{
 		RPCMessageList responses = new RPCMessageList();
 
@@ -266,8 +286,15 @@ public class MessageHub
 					}
 				}
 				
-				JSONObject params = new JSONObject("uri", file.toURI().toString(), "diagnostics", messages);
-				responses.add(RPCRequest.notification("textDocument/publishDiagnostics", params));
+				Set<Object> sent = new HashSet<Object>(messages);
+				
+				if (!changedOnly || !sent.equals(published.get(file)))
+				{
+					JSONObject params = new JSONObject("uri", file.toURI().toString(), "diagnostics", messages);
+					responses.add(RPCRequest.notification("textDocument/publishDiagnostics", params));
+				}
+				
+				published.put(file, sent);
 			}
 			else
 			{
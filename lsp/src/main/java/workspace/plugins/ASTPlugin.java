@@ -26,9 +26,12 @@ package workspace.plugins;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
+import com.fujitsu.vdmj.Settings;
 import com.fujitsu.vdmj.ast.definitions.ASTDefinition;
 import com.fujitsu.vdmj.ast.definitions.ASTDefinitionList;
 import com.fujitsu.vdmj.ast.definitions.ASTExplicitFunctionDefinition;
@@ -40,12 +43,17 @@ import com.fujitsu.vdmj.ast.definitions.ASTStateDefinition;
 import com.fujitsu.vdmj.ast.definitions.ASTTypeDefinition;
 import com.fujitsu.vdmj.ast.definitions.ASTValueDefinition;
 import com.fujitsu.vdmj.ast.expressions.ASTExpression;
+import com.fujitsu.vdmj.ast.lex.LexNameToken;
 import com.fujitsu.vdmj.ast.patterns.ASTIdentifierPattern;
 import com.fujitsu.vdmj.ast.types.ASTField;
 import com.fujitsu.vdmj.ast.types.ASTNamedType;
 import com.fujitsu.vdmj.ast.types.ASTRecordType;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.lex.Dialect;
+import com.fujitsu.vdmj.lex.LexLocation;
 import com.fujitsu.vdmj.mapper.Mappable;
+import com.fujitsu.vdmj.messages.VDMMessage;
+import com.fujitsu.vdmj.syntax.MultiFileParser;
 
 import json.JSONArray;
 import json.JSONObject;
@@ -68,6 +76,32 @@ public abstract class ASTPlugin extends AnalysisPlugin implements EventListener
 	protected static final boolean STRUCTURED_OUTLINE = true;
 	protected boolean dirty;
 	
+	/**
+	 * The result of parsing one file at the last check, with the source and parser
+	 * settings used, and the messages and locations that the parse produced.
+	 */
+	private static class ParsedFile
+	{
+		public final String source;
+		public final String settings;
+		public final Object result;
+		public final List<VDMMessage> messages;
+		public final List<LexLocation> locations;
+		public final Map<LexNameToken, LexLocation> spans;
+		
+		public ParsedFile(String source, String settings, Object result, List<VDMMessage> messages, File file)
+		{
+			this.source = source;
+			this.settings = settings;
+			this.result = result;
+			this.messages = messages;
+			this.locations = LexLocation.getLocations(file);
+			this.spans = LexLocation.getSpans(file);
+		}
+	}
+	
+	private final Map<File, ParsedFile> parsedFiles = new HashMap<File, ParsedFile>();
+	
 	public static ASTPlugin factory(Dialect dialect)
 	{
 		switch (dialect)
@@ -202,6 +236,83 @@ public abstract class ASTPlugin extends AnalysisPlugin implements EventListener
 	 */
 	abstract public void checkLoadedFiles(CheckSyntaxEvent ev);
 	
+	/**
+	 * Parse the project sources passed, reusing the result of the last check for any
+	 * file whose source and parser settings have not changed. Only the files that
+	 * have changed are passed to the parser. The results are returned in file order,
+	 * with the messages for every file (reused or not) added to the list passed.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> List<T> parseProjectFiles(Map<File, String> sources, MultiFileParser<T> parser, List<VDMMessage> messages)
+	{
+		String settings = parserSettings();
+		List<File> changed = new Vector<File>();
+		
+		LexLocation.resetLocations();
+		parsedFiles.keySet().retainAll(sources.keySet());
+		
+		for (File file: sources.keySet())
+		{
+			ParsedFile parsed = parsedFiles.get(file);
+			
+			if (parsed != null && parsed.source.equals(sources.get(file)) && parsed.settings.equals(settings))
+			{
+				LexLocation.restoreLocations(parsed.locations, parsed.spans);
+			}
+			else
+			{
+				changed.add(file);
+			}
+		}
+		
+		Diag.info("Parsing %d of %d files", changed.size(), sources.size());
+		
+		List<VDMMessage> parseMessages = new Vector<VDMMessage>();
+		List<T> results = parser.parse(changed, parseMessages);
+		
+		for (int i = 0; i < changed.size(); i++)
+		{
+			File file = changed.get(i);
+			List<VDMMessage> fileMessages = new Vector<VDMMessage>();
+			
+			for (VDMMessage message: parseMessages)
+			{
+				if (message.location.file.equals(file))
+				{
+					fileMessages.add(message);
+				}
+			}
+			
+			parsedFiles.put(file, new ParsedFile(sources.get(file), settings, results.get(i), fileMessages, file));
+		}
+		
+		List<T> all = new Vector<T>();
+		
+		for (File file: sources.keySet())
+		{
+			ParsedFile parsed = parsedFiles.get(file);
+			all.add((T)parsed.result);
+			messages.addAll(parsed.messages);
+		}
+		
+		return all;
+	}
+	
+	/**
+	 * The settings that affect the result of a parse.
+	 */
+	private String parserSettings()
+	{
+		return Settings.release +
+			"|" + Settings.strict +
+			"|" + Settings.annotations +
+			"|" + Properties.parser_tabstop +
+			"|" + Properties.parser_comment_nesting +
+			"|" + Properties.parser_merge_comments +
+			"|" + Properties.parser_maximal_types +
+			"|" + Properties.annotations_packages;
+	}
+	
 	/**
 	 * We register the launch/debug code lens here, if the tree is dirty. Else it
 	 * is registered by the TCPlugin.
@@ -26,9 +26,11 @@ package workspace.plugins;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Vector;
 
 import com.fujitsu.vdmj.RemoteSimulation;
 import com.fujitsu.vdmj.Settings;
@@ -44,8 +46,10 @@ import com.fujitsu.vdmj.lex.LexLocation;
 import com.fujitsu.vdmj.lex.LexTokenReader;
 import com.fujitsu.vdmj.lex.Token;
 import com.fujitsu.vdmj.mapper.Mappable;
+import com.fujitsu.vdmj.messages.VDMMessage;
 import com.fujitsu.vdmj.syntax.ClassReader;
 import com.fujitsu.vdmj.syntax.ExpressionReader;
+import com.fujitsu.vdmj.syntax.MultiFileParser;
 import com.fujitsu.vdmj.syntax.ParserException;
 
 import json.JSONArray;
@@ -79,7 +83,6 @@ public class ASTPluginPR extends ASTPlugin
 		dirtyClassList = null;
 		
 		Map<File, StringBuilder> projectFiles = LSPPlugin.getInstance().getProjectFiles();
-		LexLocation.resetLocations();
 		
 		if (Settings.dialect == Dialect.VDM_RT)
 		{
@@ -96,21 +99,37 @@ public class ASTPluginPR extends ASTPlugin
 			}
 		}
 		
+		final Map<File, String> sources = new LinkedHashMap<File, String>();
+		
 		for (Entry<File, StringBuilder> entry: projectFiles.entrySet())
 		{
-			LexTokenReader ltr = new LexTokenReader(entry.getValue().toString(), Settings.dialect, entry.getKey());
-			ClassReader mr = new ClassReader(ltr);
-			astClassList.addAll(mr.readClasses());
-			
-			if (mr.getErrorCount() > 0)
-			{
-				messagehub.addPluginMessages(this, mr.getErrors());
-			}
-			
-			if (mr.getWarningCount() > 0)
+			sources.put(entry.getKey(), entry.getValue().toString());
+		}
+		
+		MultiFileParser<ASTClassList> parser = new MultiFileParser<ASTClassList>()
+		{
+			@Override
+			protected ASTClassList parse(File file, List<VDMMessage> messages)
 			{
-				messagehub.addPluginMessages(this, mr.getWarnings());
+				LexTokenReader ltr = new LexTokenReader(sources.get(file), Settings.dialect, file);
+				ClassReader mr = new ClassReader(ltr);
+				ASTClassList classes = mr.readClasses();
+				messages.addAll(mr.getErrors());
+				messages.addAll(mr.getWarnings());
+				return classes;
 			}
+		};
+		
+		List<VDMMessage> messages = new Vector<VDMMessage>();
+		
+		for (ASTClassList classes: parseProjectFiles(sources, parser, messages))
+		{
+			astClassList.addAll(classes);
+		}
+		
+		if (!messages.isEmpty())
+		{
+			messagehub.addPluginMessages(this, messages);
 		}
 		
 		String remoteSimulation = System.getProperty("lsp.remoteSimulation");
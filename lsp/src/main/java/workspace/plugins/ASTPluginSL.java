@@ -26,9 +26,11 @@ package workspace.plugins;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Vector;
 
 import com.fujitsu.vdmj.Settings;
 import com.fujitsu.vdmj.ast.definitions.ASTDefinition;
@@ -41,8 +43,10 @@ import com.fujitsu.vdmj.lex.LexLocation;
 import com.fujitsu.vdmj.lex.LexTokenReader;
 import com.fujitsu.vdmj.lex.Token;
 import com.fujitsu.vdmj.mapper.Mappable;
+import com.fujitsu.vdmj.messages.VDMMessage;
 import com.fujitsu.vdmj.syntax.ExpressionReader;
 import com.fujitsu.vdmj.syntax.ModuleReader;
+import com.fujitsu.vdmj.syntax.MultiFileParser;
 import com.fujitsu.vdmj.syntax.ParserException;
 
 import json.JSONArray;
@@ -73,23 +77,37 @@ public class ASTPluginSL extends ASTPlugin
 	{
 		dirty = false;
 		Map<File, StringBuilder> projectFiles = LSPPlugin.getInstance().getProjectFiles();
-		LexLocation.resetLocations();
+		final Map<File, String> sources = new LinkedHashMap<File, String>();
 		
 		for (Entry<File, StringBuilder> entry: projectFiles.entrySet())
 		{
-			LexTokenReader ltr = new LexTokenReader(entry.getValue().toString(), Dialect.VDM_SL, entry.getKey());
-			ModuleReader mr = new ModuleReader(ltr);
-			astModuleList.addAll(mr.readModules());
-			
-			if (mr.getErrorCount() > 0)
-			{
-				messagehub.addPluginMessages(this, mr.getErrors());
-			}
-			
-			if (mr.getWarningCount() > 0)
+			sources.put(entry.getKey(), entry.getValue().toString());
+		}
+		
+		MultiFileParser<ASTModuleList> parser = new MultiFileParser<ASTModuleList>()
+		{
+			@Override
+			protected ASTModuleList parse(File file, List<VDMMessage> messages)
 			{
-				messagehub.addPluginMessages(this, mr.getWarnings());
+				LexTokenReader ltr = new LexTokenReader(sources.get(file), Dialect.VDM_SL, file);
+				ModuleReader mr = new ModuleReader(ltr);
+				ASTModuleList modules = mr.readModules();
+				messages.addAll(mr.getErrors());
+				messages.addAll(mr.getWarnings());
+				return modules;
 			}
+		};
+		
+		List<VDMMessage> messages = new Vector<VDMMessage>();
+		
+		for (ASTModuleList modules: parseProjectFiles(sources, parser, messages))
+		{
+			astModuleList.addAll(modules);
+		}
+		
+		if (!messages.isEmpty())
+		{
+			messagehub.addPluginMessages(this, messages);
 		}
 	}
 	
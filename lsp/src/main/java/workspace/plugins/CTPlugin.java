@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.in.definitions.INClassDefinition;
 import com.fujitsu.vdmj.in.definitions.INNamedTraceDefinition;
 import com.fujitsu.vdmj.lex.Dialect;
@@ -43,6 +44,7 @@ import com.fujitsu.vdmj.traces.CallSequence;
 import com.fujitsu.vdmj.traces.TraceFilter;
 import com.fujitsu.vdmj.traces.TraceIterator;
 import com.fujitsu.vdmj.traces.TraceReductionType;
+import com.fujitsu.vdmj.traces.TraceWorkers;
 import com.fujitsu.vdmj.traces.Verdict;
 
 import dap.DAPMessageList;
@@ -76,6 +78,9 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 	protected int traceCount = 0;
 	protected TCNameToken traceName = null;
 	protected TraceFilter traceFilter = null;
+	protected TraceReductionType traceReduction = null;
+	protected float traceSubset = 1.0F;
+	protected long traceSeed = 0;
 	
 	protected int testNumber = 0;
 	protected TraceExecutor traceExecutor = null;
@@ -362,7 +367,14 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 			traceClassDef = tracedef.classDefinition;
 			traceContext = interpreter.getTraceContext(traceClassDef);
 			traceIterator = tracedef.getIterator(traceContext);
-			traceCount = traceIterator.count();
+			long total = traceIterator.count();
+			
+			if (total >= Integer.MAX_VALUE)
+			{
+				throw new Exception("Trace " + tracename + " has too many tests (" + total + ")");
+			}
+			
+			traceCount = (int)total;
 			long after = System.currentTimeMillis();
 
 			Diag.info("Generated %d traces in %.3f secs.", traceCount, (double)(after-before)/1000);
@@ -409,23 +421,24 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 		{
 			startTest = 1L;
 			traceFilter = new TraceFilter(traceCount, subset, rType, seed);
+			traceReduction = rType;
+			traceSubset = subset;
+			traceSeed = seed;
 		}
 		else
 		{
 			// Suppress any reduction if a range specified
 			traceFilter = new TraceFilter(traceCount, 1.0F, TraceReductionType.NONE, 0);
+			traceReduction = TraceReductionType.NONE;
+			traceSubset = 1.0F;
+			traceSeed = 0;
 		}
 
 		traceIterator.reset();
 		testNumber = startTest.intValue();
 		traceRunning = true;
 
-		for (int i=1; i < startTest && traceIterator.hasMoreTests(); i++)
-		{
-			traceIterator.getNextTest();	// Skip first N-1 tests
-		}
-		
-		if (traceIterator.hasMoreTests())
+		if (testNumber <= traceCount)		// Tests are generated from startTest
 		{
 			traceExecutor = new TraceExecutor(request, progressToken, workDoneToken, startTest, endTest);
 			traceExecutor.start();
@@ -446,14 +459,7 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 			generate(tracename);
 		}
 		
-		traceIterator.reset();
-
-		for (int i=1; i < testNumber && traceIterator.hasMoreTests(); i++)
-		{
-			traceIterator.getNextTest();	// Skip first N-1 tests
-		}
-
-		CallSequence test = traceIterator.getNextTest();
+		CallSequence test = traceIterator.getTest(testNumber - 1);
 		String callString = test.getCallString(traceContext);
 		Interpreter interpreter = DAPPlugin.getInstance().getInterpreter();
 
@@ -479,6 +485,7 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 		private final long startTest;
 		private final long endTest;
 		private final JSONArray responses;
+		private Map<Integer, List<Object>> workerResults = null;
 
 		public TraceExecutor(RPCRequest request, Object progressToken, Object workDoneToken,
 			long startTest, long endTest)
@@ -502,7 +509,12 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 			
 			try
 			{
-				while (traceIterator.hasMoreTests() && testNumber <= endTest)
+				if (Properties.traces_workers > 1)
+				{
+					workerResults = runWorkers();
+				}
+				
+				while (hasMoreTests())
 				{
 					JSONArray batch = runBatch(BATCH_SIZE, endTest);
 					
@@ -605,6 +617,30 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 			}
 		}
 
+		private boolean hasMoreTests()
+		{
+			return testNumber <= endTest;
+		}
+		
+		/**
+		 * Run the range over worker processes, returning their raw results by test
+		 * number. These are then filtered and sent by runBatch, in test number order, as
+		 * though they had been run here. A start of 1 is passed as zero, so that the
+		 * workers keep any reduction, like traceFilter. Note that the workers read the
+		 * specification files from disk.
+		 */
+		private Map<Integer, List<Object>> runWorkers() throws Exception
+		{
+			Interpreter interpreter = DAPPlugin.getInstance().getInterpreter();
+			TraceWorkers workers = new TraceWorkers(Properties.traces_workers);
+			
+			Diag.info("Running tests %d to %d over %d workers", startTest, endTest, Properties.traces_workers);
+			
+			return workers.run(interpreter.getSourceFiles(),
+				traceName.getExplicit(true).toString(), startTest == 1 ? 0 : (int)startTest, (int)endTest,
+				traceSubset, traceReduction, traceSeed);
+		}
+
 		private JSONArray runBatch(int batchSize, long endTest) throws Exception
 		{
 			Interpreter interpreter = DAPPlugin.getInstance().getInterpreter();
@@ -612,9 +648,30 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 			
 			Diag.fine("Starting batch at test number %d...", testNumber);
 		
-			while (traceIterator.hasMoreTests() && batchSize > 0 && testNumber <= endTest)
+			while (batchSize > 0 && testNumber <= endTest)
 			{
-				CallSequence test = traceIterator.getNextTest();
+				CallSequence test = null;
+				
+				if (traceFilter.isIndexed())	// Only the selected tests are generated
+				{
+					testNumber = traceFilter.getNextIncluded(testNumber);
+					
+					if (testNumber > endTest)
+					{
+						break;
+					}
+					
+					test = traceIterator.getTest(testNumber - 1);
+				}
+				else if (traceIterator.hasMoreTests())
+				{
+					test = traceIterator.getNextTest();
+				}
+				else
+				{
+					testNumber = (int)endTest + 1;
+					break;
+				}
 				
 				if (traceFilter.isRemoved(test, testNumber))
 				{
@@ -633,8 +690,23 @@ abstract public class CTPlugin extends AnalysisPlugin implements EventListener
 					}
 					else
 					{
-		    			interpreter.init();	// Initialize completely between every run...
-		    			List<Object> result = interpreter.runOneTrace(traceClassDef, test, false);
+						List<Object> result = null;
+						
+						if (workerResults != null)
+						{
+							result = workerResults.get(testNumber);
+							
+							if (result == null)
+							{
+								throw new Exception("Trace workers did not run test " + testNumber);
+							}
+						}
+						else
+						{
+			    			interpreter.init();	// Initialize completely between every run...
+			    			result = interpreter.runOneTrace(traceClassDef, test, false);
+						}
+						
 		    			traceFilter.update(result, test, testNumber);
 		
 						array.add(new JSONObject(
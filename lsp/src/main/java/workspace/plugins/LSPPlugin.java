@@ -81,6 +81,7 @@ import lsp.ExitHandler;
 import lsp.InitializeHandler;
 import lsp.LSPInitializeResponse;
 import lsp.LSPServer;
+import lsp.LineIndex;
 import lsp.SetTraceNotificationHandler;
 import lsp.ShutdownHandler;
 import lsp.UnknownHandler;
@@ -139,6 +140,7 @@ public class LSPPlugin extends AnalysisPlugin
 	private JSONObject clientCapabilities;
 	private File rootUri = null;
 	private Map<File, StringBuilder> projectFiles = new LinkedHashMap<File, StringBuilder>();
+	private Map<File, LineIndex> lineIndexes = new HashMap<File, LineIndex>();
 	private Set<File> openFiles = new HashSet<File>();
 	private boolean checkInProgress = false;
 
@@ -429,6 +431,7 @@ public class LSPPlugin extends AnalysisPlugin
 	private void loadAllProjectFiles() throws IOException
 	{
 		projectFiles.clear();
+		lineIndexes.clear();
 		externalFilesWarned.clear();	// Re-warn after reloads
 		messagehub.clear();
 		
@@ -918,7 +921,7 @@ public class LSPPlugin extends AnalysisPlugin
 			results.addAll(eventhub.publish(new CheckFailedEvent(event)));
 		}
 
-		results.addAll(messagehub.getDiagnosticResponses(projectFiles.keySet()));
+		results.addAll(messagehub.getChangedDiagnosticResponses(projectFiles.keySet()));
 		results.add(RPCRequest.notification("slsp/checked", new JSONObject("successful", !messagehub.hasErrors())));
 
 		Diag.info("Checked loaded files.");
@@ -1039,12 +1042,13 @@ public class LSPPlugin extends AnalysisPlugin
 			
 			if (range != null)
 			{
-				int start = Utils.findPosition(buffer, range.get("start"));
-				int end   = Utils.findPosition(buffer, range.get("end"));
+				LineIndex index = getLineIndex(file);
+				int start = index.findPosition(range.get("start"));
+				int end   = index.findPosition(range.get("end"));
 				
 				if (start >= 0 && end >= 0)
 				{
-					buffer.replace(start, end, text);
+					index.replace(start, end, text);
 				}
 				
 				DiagUtils.dumpEdit(range, buffer);
@@ -1054,12 +1058,31 @@ public class LSPPlugin extends AnalysisPlugin
 				Diag.fine("Replacing entire content of %s", file);
 				buffer.setLength(0);
 				buffer.append(text);
+				lineIndexes.remove(file);
 			}
 			
 			return eventhub.publish(new ChangeFileEvent(request, file));
 		}
 	}
 
+	/**
+	 * Get the line index for a project file, creating a new one if the file's buffer
+	 * has been replaced or changed since the index was created.
+	 */
+	private LineIndex getLineIndex(File file)
+	{
+		StringBuilder buffer = projectFiles.get(file);
+		LineIndex index = lineIndexes.get(file);
+		
+		if (index == null || !index.indexes(buffer))
+		{
+			index = new LineIndex(buffer);
+			lineIndexes.put(file, index);
+		}
+		
+		return index;
+	}
+
 	/**
 	 * This is currently done via watched file events above in VSCode. Note that this method
 	 * is a notification, but we do return error notifications.
@@ -1534,7 +1557,7 @@ public class LSPPlugin extends AnalysisPlugin
 		else
 		{
 			StringBuilder buffer = projectFiles.get(file);
-			int position = Utils.findPosition(buffer, zline, zcol);
+			int position = getLineIndex(file).findPosition(zline, zcol);
 			
 			if (position >= 0)
 			{
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package lsp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+
+import org.junit.Test;
+
+import json.JSONObject;
+import workspace.Diag;
+
+public class LineIndexTest
+{
+	static
+	{
+		Diag.init(false);	// No logging, if lsp.log.level is unset
+	}
+
+	@Test
+	public void testSimple() throws Exception
+	{
+		StringBuilder buffer = new StringBuilder("01234\n0123456789\n");
+		LineIndex index = new LineIndex(buffer);
+		int start = index.findPosition(new JSONObject("line", 1L, "character", 2L));
+		int end = index.findPosition(new JSONObject("line", 1L, "character", 4L));
+		index.replace(start, end, "hello\nworld");
+		assertEquals("01234\n01hello\nworld456789\n", buffer.toString());
+		assertEquals(14, index.findPosition(2, 0));
+		assertEquals(26, index.findPosition(3, 0));
+		assertEquals(-1, index.findPosition(3, 1));
+		assertEquals(-1, index.findPosition(0, 6));
+
+		start = index.findPosition(0, 3);
+		end = index.findPosition(2, 2);
+		index.replace(start, end, "");
+		assertEquals("012rld456789\n", buffer.toString());
+		assertEquals(13, index.findPosition(1, 0));
+		assertEquals(true, index.indexes(buffer));
+	}
+
+	private static class Edit
+	{
+		public final long sline, scol, eline, ecol;
+		public final String text;
+		
+		public Edit(long sline, long scol, long eline, long ecol, String text)
+		{
+			this.sline = sline;
+			this.scol = scol;
+			this.eline = eline;
+			this.ecol = ecol;
+			this.text = text;
+		}
+	}
+	
+	/**
+	 * Create a large specification and a sequence of typing, deletion and paste edits
+	 * against it, as an editor would send them. The edits are replayed with Utils.findPosition
+	 * and with a LineIndex, which should produce the same buffers.
+	 */
+	@Test
+	public void testReplay() throws Exception
+	{
+		StringBuilder spec = new StringBuilder("module M\nexports all\ndefinitions\nfunctions\n");
+		
+		for (int i = 0; i < 20000; i++)
+		{
+			spec.append("\tf" + i + ": nat -> nat\n\tf" + i + "(n) == n + " + i + ";\n\n");
+		}
+		
+		spec.append("end M\n");
+		
+		Random random = new Random(1234);
+		List<Edit> edits = new Vector<Edit>();
+		StringBuilder copy = new StringBuilder(spec);
+		LineIndex lines = new LineIndex(copy);
+		
+		for (int burst = 0; burst < 100; burst++)
+		{
+			long line = random.nextInt(60000);
+			long col = 0;
+			
+			for (int key = 0; key < 10; key++)
+			{
+				Edit edit = null;
+				
+				switch (random.nextInt(10))
+				{
+					case 0:		// newline
+						edit = new Edit(line, col, line, col, "\n");
+						line++;
+						col = 0;
+						break;
+						
+					case 1:		// delete to the start of the next line
+						edit = new Edit(line, col, line + 1, 0, "");
+						break;
+						
+					case 2:		// paste some lines
+						edit = new Edit(line, col, line, col, "x\n\ty\n\tz");
+						line += 2;
+						col = 2;
+						break;
+						
+					default:	// type a character
+						edit = new Edit(line, col, line, col, "a");
+						col++;
+						break;
+				}
+				
+				edits.add(edit);
+				int start = lines.findPosition(edit.sline, edit.scol);
+				int end = lines.findPosition(edit.eline, edit.ecol);
+				lines.replace(start, end, edit.text);
+			}
+		}
+		
+		StringBuilder buffer1 = new StringBuilder(spec);
+		long before = System.currentTimeMillis();
+		
+		for (Edit edit: edits)
+		{
+			int start = Utils.findPosition(buffer1, edit.sline, edit.scol);
+			int end = Utils.findPosition(buffer1, edit.eline, edit.ecol);
+			buffer1.replace(start, end, edit.text);
+		}
+		
+		long scanned = System.currentTimeMillis() - before;
+		
+		StringBuilder buffer2 = new StringBuilder(spec);
+		LineIndex index = new LineIndex(buffer2);
+		before = System.currentTimeMillis();
+		
+		for (Edit edit: edits)
+		{
+			int start = index.findPosition(edit.sline, edit.scol);
+			int end = index.findPosition(edit.eline, edit.ecol);
+			index.replace(start, end, edit.text);
+		}
+		
+		long indexed = System.currentTimeMillis() - before;
+		
+		System.out.println("Replayed " + edits.size() + " edits on " + spec.length() +
+			" chars: scanned " + scanned + "ms, indexed " + indexed + "ms");
+		
+		assertEquals(buffer1.toString(), buffer2.toString());
+		assertEquals(buffer1.toString(), copy.toString());
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package lsp;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.fujitsu.vdmj.lex.Dialect;
+
+import json.JSONArray;
+import json.JSONObject;
+import rpc.RPCMessageList;
+import rpc.RPCRequest;
+
+public class RecheckTest extends LSPTest
+{
+	private RPCMessageList diagnostics(RPCMessageList messages)
+	{
+		RPCMessageList result = new RPCMessageList();
+		
+		for (JSONObject message: messages)
+		{
+			if ("textDocument/publishDiagnostics".equals(message.get("method")))
+			{
+				result.add(message);
+			}
+		}
+		
+		return result;
+	}
+	
+	@Test
+	public void testRecheckSL() throws Exception
+	{
+		setupWorkspace(Dialect.VDM_SL);
+		File testdir = new File("src/test/resources/recheck_sl");
+		RPCMessageList notify = initialize(testdir, new JSONObject());
+		assertEquals(2, diagnostics(notify).size());
+		
+		File fileA = new File(testdir, "A.vdmsl").getAbsoluteFile();
+		String textA = new String(Files.readAllBytes(fileA.toPath()));
+		lspManager.lspDidOpen(RPCRequest.create("textDocument/didOpen", null), fileA, textA);
+		
+		// Saving an unchanged file sends no diagnostics
+		notify = lspManager.lspDidSave(RPCRequest.create("textDocument/didSave", null), fileA, textA);
+		assertEquals(0, diagnostics(notify).size());
+		
+		// Adding an error to A only sends diagnostics for A
+		notify = lspManager.lspDidSave(RPCRequest.create("textDocument/didSave", null), fileA,
+			textA.replace("f(1)", "f(true)"));
+		notify = diagnostics(notify);
+		dump(notify.get(0));
+		assertEquals(1, notify.size());
+		assertEquals(fileA.toURI().toString(), notify.get(0).getPath("params.uri"));
+		assertEquals(1, ((JSONArray)notify.get(0).getPath("params.diagnostics")).size());
+		
+		// Removing the error clears A's diagnostics
+		notify = lspManager.lspDidSave(RPCRequest.create("textDocument/didSave", null), fileA, textA);
+		notify = diagnostics(notify);
+		assertEquals(1, notify.size());
+		assertEquals(0, ((JSONArray)notify.get(0).getPath("params.diagnostics")).size());
+	}
+}
@@ -192,7 +192,14 @@ public class ConstantNudger extends ValueVisitor<Value, Integer>
 	@Override
 	public Value caseIntegerValue(IntegerValue node, Integer arg)
 	{
-		return new IntegerValue(node.intValue(ctxt) + arg);
+		try
+		{
+			return new IntegerValue(node.intValue(ctxt) + arg);
+		}
+		catch (ValueException e)		// Too large
+		{
+			return node;
+		}
 	}
 	
 	@Override
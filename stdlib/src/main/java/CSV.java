@@ -22,12 +22,12 @@
  *
  ******************************************************************************/
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.fujitsu.vdmj.ast.expressions.ASTExpression;
 import com.fujitsu.vdmj.in.INNode;
@@ -53,12 +53,15 @@ import com.fujitsu.vdmj.values.TupleValue;
 import com.fujitsu.vdmj.values.Value;
 import com.fujitsu.vdmj.values.ValueList;
 
+import util.CsvIndex;
 import util.CsvParser;
 import util.CsvResult;
 import util.CsvValueBuilder;
 
 /**
- * Basic CSV file support for VDM. This class was imported from Overture.
+ * Basic CSV file support for VDM. This class was imported from Overture. Files
+ * are read via a CsvIndex of their line offsets, so reading a line does not scan
+ * the file from the start.
  * 
  * @author kela
  */
@@ -106,6 +109,8 @@ public class CSV implements Serializable
 		}
 		text.append('\n');
 
+		CsvIndex.invalidate(file);
+
 		try
 		{
 			FileOutputStream fos = new FileOutputStream(file, fdir.equals("<append>"));
@@ -155,7 +160,8 @@ public class CSV implements Serializable
 					}
 				});
 				
-				CsvResult res = parser.parseValues(getLine(file, index));
+				String line = CsvIndex.getInstance(file).getLine(index, Console.charset);
+				CsvResult res = parser.parseValues(line);
 				
 				if(!res.dataOk())
 				{
@@ -204,7 +210,7 @@ public class CSV implements Serializable
 		try
 		{
 			File file = getFile(fval);
-			long count = getLineCount(file);
+			long count = CsvIndex.getInstance(file).getLineCount();
 
 			result.add(new BooleanValue(true));
 			result.add(new NaturalValue(count));
@@ -219,58 +225,146 @@ public class CSV implements Serializable
 		return new TupleValue(result);
 	}
 
-	private static int getLineCount(File file) throws IOException
+	/**
+	 * Read a range of lines of a CSV file as a seq of seq of ? in VDM. The whole
+	 * range is read from the file in one access.
+	 * 
+	 * @param fval
+	 *            name of the file to read from
+	 * @param fromVal
+	 *            the first line index
+	 * @param toVal
+	 *            the last line index
+	 * @return true + seq of seq of ? or false and nil
+	 */
+	@VDMFunction
+	public static Value freadrows(Value fval, Value fromVal, Value toVal)
 	{
-		BufferedReader bufRdr = new BufferedReader(new FileReader(file));
-		int lines = 0;
+		ValueList result = new ValueList();
+
 		try
 		{
-			while (bufRdr.readLine() != null)
+			File file = getFile(fval);
+			long from = fromVal.intValue(null);
+			long to = toVal.intValue(null);
+			String[] lines = CsvIndex.getInstance(file).getLines(from, to, Console.charset);
+			CsvParser parser = new CsvParser(new CachingBuilder("freadrows"));
+			ValueList rows = new ValueList();
+
+			for (String line: lines)
 			{
-				lines++;
+				rows.add(new SeqValue(parseLine(parser, line)));
 			}
-		} finally
+
+			result.add(new BooleanValue(true));
+			result.add(new SeqValue(rows));
+		}
+		catch (Exception e)
 		{
-			bufRdr.close();
+			lastError = e.getMessage();
+			result = new ValueList();
+			result.add(new BooleanValue(false));
+			result.add(new NilValue());
 		}
-		return lines;
+
+		return new TupleValue(result);
 	}
 
-	private static String getLine(File file, long index) throws IOException
+	/**
+	 * Read one column from a range of lines of a CSV file as a seq of ? in VDM.
+	 * 
+	 * @param fval
+	 *            name of the file to read from
+	 * @param colVal
+	 *            the column index, from 1
+	 * @param fromVal
+	 *            the first line index
+	 * @param toVal
+	 *            the last line index
+	 * @return true + seq of ? or false and nil
+	 */
+	@VDMFunction
+	public static Value freadcol(Value fval, Value colVal, Value fromVal, Value toVal)
 	{
-		BufferedReader bufRdr = new BufferedReader(new FileReader(file));
-		String line = null;
-		int lineIndex = 0;
-
-		if (index < 1)
-		{
-			bufRdr.close();
-			throw new IOException("CSV line index before first entry");
-		}
+		ValueList result = new ValueList();
 
 		try
 		{
-			while ((line = bufRdr.readLine()) != null)
+			File file = getFile(fval);
+			long col = colVal.intValue(null);
+			long from = fromVal.intValue(null);
+			long to = toVal.intValue(null);
+			String[] lines = CsvIndex.getInstance(file).getLines(from, to, Console.charset);
+			CsvParser parser = new CsvParser(new CachingBuilder("freadcol"));
+			ValueList cells = new ValueList();
+
+			for (int i = 0; i < lines.length; i++)
 			{
-				lineIndex++;
-				if (lineIndex == index)
+				ValueList row = parseLine(parser, lines[i]);
+
+				if (col < 1 || col > row.size())
 				{
-					break;
+					throw new IOException("CSV line " + (from + i) + " has no column " + col);
 				}
 
+				cells.add(row.get((int)col - 1));
 			}
+
+			result.add(new BooleanValue(true));
+			result.add(new SeqValue(cells));
 		}
-		finally
+		catch (Exception e)
 		{
-			bufRdr.close();
+			lastError = e.getMessage();
+			result = new ValueList();
+			result.add(new BooleanValue(false));
+			result.add(new NilValue());
 		}
 
-		if (line == null)
+		return new TupleValue(result);
+	}
+
+	private static ValueList parseLine(CsvParser parser, String line) throws IOException
+	{
+		CsvResult res = parser.parseValues(line);
+
+		if (!res.dataOk())
 		{
-			throw new IOException("CSV no data read. Empty line.");
+			throw new IOException(res.getErrorMsg());
 		}
 
-		return line;
+		ValueList values = new ValueList();
+		values.addAll(res.getValues());
+		return values;
+	}
+
+	/**
+	 * A value builder for bulk reads, which only evaluates each distinct cell text
+	 * once. Repeated cells are common in large data files.
+	 */
+	private static class CachingBuilder implements CsvValueBuilder
+	{
+		private final String method;
+		private final Map<String, Value> cache = new HashMap<String, Value>();
+
+		public CachingBuilder(String method)
+		{
+			this.method = method;
+		}
+
+		@Override
+		public Value createValue(String value) throws Exception
+		{
+			Value v = cache.get(value);
+
+			if (v == null)
+			{
+				v = CSV.createValue("CSV", method, value);
+				cache.put(value, v);
+			}
+
+			return v;
+		}
 	}
 
 	private static Value createValue(String module, String method, String value)
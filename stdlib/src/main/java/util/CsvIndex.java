@@ -0,0 +1,216 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package util;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An index of the line offsets of a CSV file. The file is scanned once, and lines
+ * can then be read directly by seeking to their offset. The index is rebuilt if
+ * the file's modification time or length change.
+ */
+public class CsvIndex
+{
+	private static final Map<File, CsvIndex> cache = new HashMap<File, CsvIndex>();
+
+	private final File file;
+	private final long modified;
+	private final long length;
+	private long[] starts;
+	private long[] ends;
+	private int count;
+
+	private CsvIndex(File file) throws IOException
+	{
+		this.file = file;
+		this.modified = file.lastModified();
+		this.length = file.length();
+		this.starts = new long[1024];
+		this.ends = new long[1024];
+		this.count = 0;
+
+		scan();
+	}
+
+	/**
+	 * Get the index for a file, building it if the file is new or has changed
+	 * since it was last indexed.
+	 */
+	public static synchronized CsvIndex getInstance(File file) throws IOException
+	{
+		CsvIndex index = cache.get(file);
+
+		if (index == null || !index.isCurrent())
+		{
+			index = new CsvIndex(file);
+			cache.put(file, index);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Forget any index for a file, usually because we are about to write to it.
+	 */
+	public static synchronized void invalidate(File file)
+	{
+		cache.remove(file);
+	}
+
+	private boolean isCurrent()
+	{
+		return file.lastModified() == modified && file.length() == length;
+	}
+
+	/**
+	 * Lines end with \n, \r or \r\n, as with BufferedReader.readLine.
+	 */
+	private void scan() throws IOException
+	{
+		InputStream in = new BufferedInputStream(new FileInputStream(file), 65536);
+
+		try
+		{
+			long pos = 0;
+			long start = 0;
+			boolean afterCR = false;
+			int b;
+
+			while ((b = in.read()) != -1)
+			{
+				if (b == '\n' && afterCR)
+				{
+					start = pos + 1;	// Second half of \r\n
+				}
+				else if (b == '\n' || b == '\r')
+				{
+					addLine(start, pos);
+					start = pos + 1;
+				}
+
+				afterCR = (b == '\r');
+				pos++;
+			}
+
+			if (start < pos)
+			{
+				addLine(start, pos);	// Last line has no terminator
+			}
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	private void addLine(long start, long end)
+	{
+		if (count == starts.length)
+		{
+			starts = Arrays.copyOf(starts, count * 2);
+			ends = Arrays.copyOf(ends, count * 2);
+		}
+
+		starts[count] = start;
+		ends[count] = end;
+		count++;
+	}
+
+	public int getLineCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Read one line, indexed from 1.
+	 */
+	public String getLine(long index, Charset charset) throws IOException
+	{
+		return getLines(index, index, charset)[0];
+	}
+
+	/**
+	 * Read the lines from..to inclusive, indexed from 1, with one read of the
+	 * file for the whole range.
+	 */
+	public String[] getLines(long from, long to, Charset charset) throws IOException
+	{
+		if (from < 1)
+		{
+			throw new IOException("CSV line index before first entry");
+		}
+		else if (to > count)
+		{
+			throw new IOException("CSV no data read. Empty line.");
+		}
+		else if (from > to)
+		{
+			return new String[0];
+		}
+
+		int first = (int)from - 1;
+		int last = (int)to - 1;
+		long base = starts[first];
+		long size = ends[last] - base;
+
+		if (size > Integer.MAX_VALUE)
+		{
+			throw new IOException("CSV line range too large");
+		}
+
+		byte[] bytes = new byte[(int)size];
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+		try
+		{
+			raf.seek(base);
+			raf.readFully(bytes);
+		}
+		finally
+		{
+			raf.close();
+		}
+
+		String[] lines = new String[last - first + 1];
+
+		for (int i = first; i <= last; i++)
+		{
+			int offset = (int)(starts[i] - base);
+			int len = (int)(ends[i] - starts[i]);
+			lines[i - first] = new String(bytes, offset, len, charset);
+		}
+
+		return lines;
+	}
+}
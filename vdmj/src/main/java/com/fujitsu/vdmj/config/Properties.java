@@ -50,6 +50,9 @@ public class Properties
 	/** Allow T! and mk_R! types */
 	public static boolean parser_maximal_types = false;
 	
+	/** The number of threads used to parse source files in parallel (1 means sequential). */
+	public static int parser_workers = 1;
+	
 	/** The package list for annotation classes to load. */
 	public static String annotations_packages = "com.fujitsu.vdmj.ast.annotations;annotations.ast";
 	
@@ -67,6 +70,12 @@ public class Properties
 	
 	/** The maximum TC errors reported before "Too many errors". */
 	public static int tc_max_errors = 100;
+
+	/** The number of threads used to type check modules in parallel (1 means sequential). */
+	public static int tc_workers = 1;
+
+	/** A directory to cache checked specifications in, or null for no cache. */
+	public static String tc_cache_dir = null;
 	
 	
 	/** The default timeslice (statements executed) for a FCFS policy */
@@ -78,6 +87,9 @@ public class Properties
 	/** The timeslice variation (+/- jitter ticks) */
 	public static int scheduler_jitter = 0;
 
+	/** Whether the RT scheduler skips resources that are waiting for a timestep */
+	public static boolean scheduler_event_queue = false;
+
 	
 	/** The maximum number of expansions for "+" and "*" trace patterns. */
 	public static int traces_max_repeats = 5;
@@ -87,6 +99,16 @@ public class Properties
 	
 	/** The size below which trace function args are expanded. */
 	public static int traces_max_arg_length = 50;
+	
+	/** The number of trace tests run together, sharing their common prefixes (0 means none). */
+	public static int traces_prefix_batch = 0;
+	
+	/** The number of worker processes used to run trace tests (1 means run in-process). */
+	public static int traces_workers = 1;
+	
+	/** The number of shards, and the shard run by this process, when it is a trace worker. */
+	public static int traces_shard_count = 0;
+	public static int traces_shard_index = 0;
 
 	
 	/** The default duration for RT statements. */
@@ -117,12 +139,34 @@ public class Properties
 	/** The size limit for type bind expansions */
 	public static long in_typebind_limit = 100000;
 	
+	/** The type size above which quantifier type binds are generated on demand */
+	public static long in_typebind_stream = 1000;
+	
+	/**
+	 * The number of threads used to evaluate quantifier bindings in parallel (1 means sequential).
+	 * A parallel batch waits for all its bindings, so a non-terminating binding after a final
+	 * result can hang, and a debugger pause or terminate seen by a worker thread is lost.
+	 */
+	public static int in_workers = 1;
+	
+	/** The number of bindings in each parallel batch, and the least evaluated in parallel */
+	public static int in_parallel_batch = 1000;
+	
 	/** The maximum stack to dump via println(Throwable) */
 	public static int diag_max_stack = 1;
 
 	/** Whether to do checks during initialization */
 	public static boolean in_init_checks = true;
 
+	/** Whether integer arithmetic overflows to BigIntegers rather than reals */
+	public static boolean in_bigint_arithmetic = false;
+
+	/** Whether all eligible functions cache their results, rather than just @Memoize ones */
+	public static boolean in_memoize_functions = false;
+
+	/** The maximum number of results cached per memoized function */
+	public static int in_memo_cache_size = 10000;
+
 	/**
 	 * When the class is initialized, which uses the vdmj.properties file, and any System
 	 * properties, to set the static fields above.
@@ -182,6 +226,7 @@ public class Properties
 		parser_comment_nesting = get(vdmj, "vdmj.parser.comment_nesting", 3);
 		parser_merge_comments = get(vdmj, "vdmj.parser.merge_comments", false);
 		parser_maximal_types = get(vdmj, "vdmj.parser.maximal_types", false);
+		parser_workers = get(vdmj, "vdmj.parser.workers", 1);
 
 		annotations_packages = get(vdmj, "vdmj.annotations.packages", "com.fujitsu.vdmj.ast.annotations;annotations.ast");
 		annotations_debug = get(vdmj, "vdmj.annotations.debug", false);
@@ -191,14 +236,21 @@ public class Properties
 		tc_skip_recursive_check = get(vdmj, "vdmj.tc.skip_recursive_check", false);
 		tc_skip_cyclic_check = get(vdmj, "vdmj.tc.skip_cyclic_check", false);
 		tc_max_errors = get(vdmj, "vdmj.tc.max_errors", 100);
+		tc_workers = get(vdmj, "vdmj.tc.workers", 1);
+		tc_cache_dir = get(vdmj, "vdmj.tc.cache_dir", null);
 		
 		scheduler_fcfs_timeslice = get(vdmj, "vdmj.scheduler.fcfs_timeslice", 10);
 		scheduler_virtual_timeslice = get(vdmj, "vdmj.scheduler.virtual_timeslice", 10000);
 		scheduler_jitter = get(vdmj, "vdmj.scheduler_jitter", 0);
+		scheduler_event_queue = get(vdmj, "vdmj.scheduler.event_queue", false);
 		
 		traces_max_repeats = get(vdmj, "vdmj.traces.max_repeats", 5);
 		traces_save_state = get(vdmj, "vdmj.traces.save_state", false);
 		traces_max_arg_length = get(vdmj, "vdmj.traces.max_arg_length", 50);
+		traces_prefix_batch = get(vdmj, "vdmj.traces.prefix_batch", 0);
+		traces_workers = get(vdmj, "vdmj.traces.workers", 1);
+		traces_shard_count = get(vdmj, "vdmj.traces.shard_count", 0);
+		traces_shard_index = get(vdmj, "vdmj.traces.shard_index", 0);
 		
 		rt_duration_default = get(vdmj, "vdmj.rt.duration_default", 2);
 		rt_duration_transactions = get(vdmj, "vdmj.rt.duration_transactions", false);
@@ -208,13 +260,80 @@ public class Properties
 		rt_diags_timestep = get(vdmj, "vdmj.rt.diags_timestep", false);
 		
 		in_powerset_limit = get(vdmj, "vdmj.in.powerset_limit", 30);
-		in_typebind_limit = get(vdmj, "vdmj.in.typebind_limit", 100000);
+		in_typebind_limit = get(vdmj, "vdmj.in.typebind_limit", 100000L);
+		in_typebind_stream = get(vdmj, "vdmj.in.typebind_stream", 1000L);
+		in_workers = get(vdmj, "vdmj.in.workers", 1);
+		in_parallel_batch = get(vdmj, "vdmj.in.parallel_batch", 1000);
 		in_init_checks = get (vdmj, "vdmj.in.init_checks", true);
+		in_bigint_arithmetic = get(vdmj, "vdmj.in.bigint_arithmetic", false);
+		in_memoize_functions = get(vdmj, "vdmj.in.memoize_functions", false);
+		in_memo_cache_size = get(vdmj, "vdmj.in.memo_cache_size", 10000);
 
 		debug_link_class = get(vdmj, "vdmj.debug.link_class", null);		
 		diag_max_stack = get(vdmj, "vdmj.diag.max_stack", 1);
 	}
 	
+	/**
+	 * Get the current values of the properties, with the keys read by setValues. This
+	 * allows the settings to be passed on to another VDMJ process, like a trace worker.
+	 */
+	public static java.util.Properties getValues()
+	{
+		java.util.Properties vdmj = new java.util.Properties();
+		
+		put(vdmj, "vdmj.parser.tabstop", parser_tabstop);
+		put(vdmj, "vdmj.parser.comment_nesting", parser_comment_nesting);
+		put(vdmj, "vdmj.parser.merge_comments", parser_merge_comments);
+		put(vdmj, "vdmj.parser.maximal_types", parser_maximal_types);
+		put(vdmj, "vdmj.parser.workers", parser_workers);
+		put(vdmj, "vdmj.annotations.packages", annotations_packages);
+		put(vdmj, "vdmj.annotations.debug", annotations_debug);
+		put(vdmj, "vdmj.mapping.search_path", mapping_search_path);
+		put(vdmj, "vdmj.tc.skip_recursive_check", tc_skip_recursive_check);
+		put(vdmj, "vdmj.tc.skip_cyclic_check", tc_skip_cyclic_check);
+		put(vdmj, "vdmj.tc.max_errors", tc_max_errors);
+		put(vdmj, "vdmj.tc.workers", tc_workers);
+		put(vdmj, "vdmj.tc.cache_dir", tc_cache_dir);
+		put(vdmj, "vdmj.scheduler.fcfs_timeslice", scheduler_fcfs_timeslice);
+		put(vdmj, "vdmj.scheduler.virtual_timeslice", scheduler_virtual_timeslice);
+		put(vdmj, "vdmj.scheduler_jitter", scheduler_jitter);
+		put(vdmj, "vdmj.scheduler.event_queue", scheduler_event_queue);
+		put(vdmj, "vdmj.traces.max_repeats", traces_max_repeats);
+		put(vdmj, "vdmj.traces.save_state", traces_save_state);
+		put(vdmj, "vdmj.traces.max_arg_length", traces_max_arg_length);
+		put(vdmj, "vdmj.traces.prefix_batch", traces_prefix_batch);
+		put(vdmj, "vdmj.traces.workers", traces_workers);
+		put(vdmj, "vdmj.traces.shard_count", traces_shard_count);
+		put(vdmj, "vdmj.traces.shard_index", traces_shard_index);
+		put(vdmj, "vdmj.rt.duration_default", rt_duration_default);
+		put(vdmj, "vdmj.rt.duration_transactions", rt_duration_transactions);
+		put(vdmj, "vdmj.rt.log_instvarchanges", rt_log_instvarchanges);
+		put(vdmj, "vdmj.rt.max_periodic_overlaps", rt_max_periodic_overlaps);
+		put(vdmj, "vdmj.rt.diags_guards", rt_diags_guards);
+		put(vdmj, "vdmj.rt.diags_timestep", rt_diags_timestep);
+		put(vdmj, "vdmj.in.powerset_limit", in_powerset_limit);
+		put(vdmj, "vdmj.in.typebind_limit", in_typebind_limit);
+		put(vdmj, "vdmj.in.typebind_stream", in_typebind_stream);
+		put(vdmj, "vdmj.in.workers", in_workers);
+		put(vdmj, "vdmj.in.parallel_batch", in_parallel_batch);
+		put(vdmj, "vdmj.in.init_checks", in_init_checks);
+		put(vdmj, "vdmj.in.bigint_arithmetic", in_bigint_arithmetic);
+		put(vdmj, "vdmj.in.memoize_functions", in_memoize_functions);
+		put(vdmj, "vdmj.in.memo_cache_size", in_memo_cache_size);
+		put(vdmj, "vdmj.debug.link_class", debug_link_class);
+		put(vdmj, "vdmj.diag.max_stack", diag_max_stack);
+		
+		return vdmj;
+	}
+
+	private static void put(java.util.Properties local, String key, Object value)
+	{
+		if (value != null)
+		{
+			local.setProperty(key, value.toString());
+		}
+	}
+
 	private static int get(java.util.Properties local, String key, int def)
 	{
 		Integer value = Integer.getInteger(key);
@@ -243,6 +362,34 @@ public class Properties
 		return value;
 	}
 	
+	private static long get(java.util.Properties local, String key, long def)
+	{
+		Long value = Long.getLong(key);
+
+		if (value == null)
+		{
+			if (local.containsKey(key))
+			{
+				try
+				{
+					String p = local.getProperty(key);
+					value = Long.parseLong(p);
+				}
+				catch (NumberFormatException e)
+				{
+					System.err.println(e.getMessage());
+					value = def;
+				}
+			}
+			else
+			{
+				value = def;
+			}
+		}
+
+		return value;
+	}
+
 	private static boolean get(java.util.Properties local, String key, boolean def)
 	{
 		String svalue = System.getProperty(key);
@@ -167,4 +167,13 @@ public abstract class INAnnotation extends INNode implements MappingOptional
 	{
 		// Do nothing
 	}
+
+	/**
+	 * Annotations on function definitions can return true to indicate that the
+	 * results of the function should be cached. See FunctionValue.
+	 */
+	public boolean inMemoize()
+	{
+		return false;
+	}
 }
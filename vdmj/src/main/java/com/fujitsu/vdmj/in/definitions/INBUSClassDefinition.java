@@ -24,6 +24,8 @@
 
 package com.fujitsu.vdmj.in.definitions;
 
+import java.io.ObjectStreamException;
+
 import com.fujitsu.vdmj.in.definitions.visitors.INDefinitionVisitor;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.tc.lex.TCNameList;
@@ -48,6 +50,16 @@ public class INBUSClassDefinition extends INClassDefinition
 		instance = this;
 	}
 
+	/**
+	 * Method to set the instance during de-serialise, as used by a TreeCache,
+	 * which does not call the constructor.
+	 */
+	private Object readResolve() throws ObjectStreamException
+	{
+		instance = this;
+		return this;
+	}
+
 	@Override
 	public ObjectValue newInstance(INDefinition ctorDefinition, ValueList argvals, Context ctxt)
 	{
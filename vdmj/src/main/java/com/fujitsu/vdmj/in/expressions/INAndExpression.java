@@ -65,7 +65,7 @@ public class INAndExpression extends INBooleanBinaryExpression
 				}
 				else
 				{
-					return new BooleanValue(false);
+					return BooleanValue.valueOf(false);
 				}
 			}
 			else if (lv.boolValue(ctxt))
@@ -78,16 +78,16 @@ public class INAndExpression extends INBooleanBinaryExpression
 				}
 				else if (rv.boolValue(ctxt))
 				{
-					return new BooleanValue(true);
+					return BooleanValue.valueOf(true);
 				}
 				else
 				{
-					return new BooleanValue(false);
+					return BooleanValue.valueOf(false);
 				}
 			}
 			else
 			{
-				return new BooleanValue(false);
+				return BooleanValue.valueOf(false);
 			}
 		}
 		catch (ValueException e)
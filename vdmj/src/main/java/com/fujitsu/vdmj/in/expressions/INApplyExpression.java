@@ -87,7 +87,7 @@ public class INApplyExpression extends INExpression
 	public Value eval(Context ctxt)
 	{
 		breakpoint.check(location, ctxt);
-		location.hits--;	// This is counted below when root is evaluated
+		location.unhit();	// This is counted below when root is evaluated
 		boolean endstop = breakpoint.catchReturn(ctxt);
 
     	try
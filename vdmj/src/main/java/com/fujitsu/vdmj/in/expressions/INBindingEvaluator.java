@@ -0,0 +1,387 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package com.fujitsu.vdmj.in.expressions;
+
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.in.expressions.visitors.INImpureExpressionFinder;
+import com.fujitsu.vdmj.lex.Dialect;
+import com.fujitsu.vdmj.lex.LexLocation;
+import com.fujitsu.vdmj.messages.InternalException;
+import com.fujitsu.vdmj.runtime.Context;
+import com.fujitsu.vdmj.runtime.Interpreter;
+import com.fujitsu.vdmj.values.NameValuePair;
+import com.fujitsu.vdmj.values.NameValuePairList;
+import com.fujitsu.vdmj.values.QuantifierList;
+import com.fujitsu.vdmj.values.Value;
+
+/**
+ * Evaluate expressions for each binding of a quantifier or comprehension, using a
+ * pool of in_workers threads. The bindings are taken in batches of in_parallel_batch.
+ * A full batch is evaluated in parallel if the expressions have no side effects,
+ * otherwise the bindings are evaluated in order by the calling thread.
+ * 
+ * Either way, the results are combined in binding order by the calling thread, and
+ * the evaluation stops at the first final result or exception in that order. So the
+ * value or error is that of a sequential evaluation. Bindings after a final result
+ * may still be evaluated by the pool, but their results are discarded.
+ * 
+ * There are two limits. A batch waits for all of its bindings to finish, so a slow
+ * or non-terminating binding after a final result can delay or hang a quantifier
+ * that would return early if it were sequential. And a debugger pause or terminate
+ * request that is seen by a pool thread is lost, rather than acting on the caller.
+ */
+abstract public class INBindingEvaluator<T>
+{
+	/** The shared pool of worker threads, created on first use */
+	private static ExecutorService pool = null;
+
+	private final LexLocation location;
+	private final String title;
+	private final Context ctxt;
+	private final INExpression[] expressions;
+	private Boolean pure = null;
+
+	/**
+	 * Create an evaluator whose binding contexts have the location, title and outer
+	 * context given. The expressions are those evaluated for each binding.
+	 */
+	public INBindingEvaluator(LexLocation location, String title, Context ctxt, INExpression... expressions)
+	{
+		this.location = location;
+		this.title = title;
+		this.ctxt = ctxt;
+		this.expressions = expressions;
+	}
+
+	/**
+	 * Parallel evaluation is enabled by setting in_workers above one. It is not used
+	 * with VDM-RT, where evaluation takes time on a CPU, nor while debugging, nor by a
+	 * worker thread, so nested quantifiers are evaluated by the worker itself.
+	 */
+	public static boolean isEnabled(Context ctxt)
+	{
+		return Properties.in_workers > 1 &&
+			Settings.dialect != Dialect.VDM_RT &&
+			!(Thread.currentThread() instanceof Worker) &&
+			ctxt.threadState != null &&
+			!ctxt.threadState.isStepping() &&
+			Interpreter.getInstance() != null &&
+			Interpreter.getInstance().getBreakpoints().isEmpty();
+	}
+
+	/**
+	 * Evaluate the expressions for the binding with the index given, in the order
+	 * of all the bindings. This may be called by any thread.
+	 */
+	abstract protected T evaluate(int index, Context evalContext);
+
+	/**
+	 * Combine the result of one binding. This is called in binding order by the
+	 * calling thread, and returns true to stop the evaluation.
+	 */
+	abstract protected boolean combine(int index, Context evalContext, T result);
+
+	/**
+	 * Return true if the result given will stop the evaluation when it is combined,
+	 * so that later bindings can be skipped. This may be called by any thread.
+	 */
+	protected boolean isFinal(T result)
+	{
+		return false;
+	}
+
+	/**
+	 * Called in binding order before an exception from a binding is rethrown.
+	 */
+	protected void failed(Context evalContext, RuntimeException e)
+	{
+		return;
+	}
+
+	/**
+	 * Evaluate all of the bindings of a QuantifierList, returning true if the
+	 * evaluation was stopped by a final result.
+	 */
+	public boolean run(QuantifierList quantifiers)
+	{
+		int limit = Math.max(1, Properties.in_parallel_batch);
+		List<NameValuePairList> batch = new Vector<NameValuePairList>(limit);
+		int offset = 0;
+
+		while (true)
+		{
+			batch.clear();
+
+			while (batch.size() < limit && quantifiers.hasNext())
+			{
+				batch.add(quantifiers.next());
+			}
+
+			if (runBatch(batch, offset))
+			{
+				return true;
+			}
+
+			if (batch.size() < limit)
+			{
+				return false;
+			}
+
+			offset += limit;
+		}
+	}
+
+	/**
+	 * Evaluate a list of bindings, returning true if the evaluation was stopped
+	 * by a final result.
+	 */
+	public boolean run(List<NameValuePairList> bindings)
+	{
+		int limit = Math.max(1, Properties.in_parallel_batch);
+
+		for (int from = 0; from < bindings.size(); from += limit)
+		{
+			if (runBatch(bindings.subList(from, Math.min(from + limit, bindings.size())), from))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean runBatch(final List<NameValuePairList> batch, final int offset)
+	{
+		final int size = batch.size();
+		final Context[] contexts = new Context[size];
+		final Object[] results = new Object[size];
+		final RuntimeException[] errors = new RuntimeException[size];
+
+		if (size < Properties.in_parallel_batch || !isPure())
+		{
+			for (int i=0; i<size; i++)
+			{
+				evaluate(batch, offset, i, contexts, results, errors);
+
+				if (combine(offset, i, contexts, results, errors))
+				{
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		final AtomicInteger stop = new AtomicInteger(size);
+		final int workers = Properties.in_workers;
+		List<Callable<Object>> tasks = new Vector<Callable<Object>>(workers);
+
+		for (int w=0; w<workers; w++)
+		{
+			final int first = w;
+
+			tasks.add(new Callable<Object>()
+			{
+				@Override
+				public Object call()
+				{
+					// Each worker takes every nth binding, so that they all work
+					// upwards from the start of the batch, towards any final result.
+
+					for (int i = first; i < size && i < stop.get(); i += workers)
+					{
+						evaluate(batch, offset, i, contexts, results, errors);
+
+						if (isStop(i, contexts, results, errors))
+						{
+							int current = stop.get();
+
+							while (i < current && !stop.compareAndSet(current, i))
+							{
+								current = stop.get();
+							}
+						}
+					}
+
+					return null;
+				}
+			});
+		}
+
+		try
+		{
+			for (Future<Object> future: getPool().invokeAll(tasks))
+			{
+				future.get();
+			}
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException)e.getCause();
+			}
+			else if (e.getCause() instanceof Error)
+			{
+				throw (Error)e.getCause();
+			}
+
+			throw new InternalException(78, "Parallel evaluation failed: " + e.getCause());
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InternalException(78, "Parallel evaluation interrupted");
+		}
+
+		for (int i=0; i<size; i++)
+		{
+			if (combine(offset, i, contexts, results, errors))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void evaluate(List<NameValuePairList> batch, int offset, int i,
+		Context[] contexts, Object[] results, RuntimeException[] errors)
+	{
+		Context evalContext = new Context(location, title, ctxt);
+
+		for (NameValuePair nvp: batch.get(i))
+		{
+			Value v = evalContext.get(nvp.name);
+
+			if (v == null)
+			{
+				evalContext.put(nvp.name, nvp.value);
+			}
+			else if (!v.equals(nvp.value))
+			{
+				return;		// This quantifier set does not match
+			}
+		}
+
+		contexts[i] = evalContext;
+
+		try
+		{
+			results[i] = evaluate(offset + i, evalContext);
+		}
+		catch (RuntimeException e)
+		{
+			errors[i] = e;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean isStop(int i, Context[] contexts, Object[] results, RuntimeException[] errors)
+	{
+		return contexts[i] != null && (errors[i] != null || isFinal((T)results[i]));
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean combine(int offset, int i, Context[] contexts, Object[] results, RuntimeException[] errors)
+	{
+		if (contexts[i] == null)
+		{
+			return false;	// Did not match
+		}
+
+		if (errors[i] != null)
+		{
+			failed(contexts[i], errors[i]);
+			throw errors[i];
+		}
+
+		return combine(offset + i, contexts[i], (T)results[i]);
+	}
+
+	/**
+	 * The expressions are pure if they contain no operation calls, object creation
+	 * or other subexpressions with side effects. Functions called cannot have side
+	 * effects, except for output from library functions, which may be interleaved.
+	 */
+	private boolean isPure()
+	{
+		if (pure == null)
+		{
+			pure = true;
+
+			for (INExpression exp: expressions)
+			{
+				if (exp != null && !exp.apply(new INImpureExpressionFinder(), null).isEmpty())
+				{
+					pure = false;
+					break;
+				}
+			}
+		}
+
+		return pure;
+	}
+
+	private static synchronized ExecutorService getPool()
+	{
+		if (pool == null)
+		{
+			pool = Executors.newFixedThreadPool(Properties.in_workers, new ThreadFactory()
+			{
+				private int count = 0;
+
+				@Override
+				public Thread newThread(Runnable r)
+				{
+					Thread t = new Worker(r, "evaluator-" + (++count));
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+
+		return pool;
+	}
+
+	private static class Worker extends Thread
+	{
+		public Worker(Runnable r, String name)
+		{
+			super(r, name);
+		}
+	}
+}
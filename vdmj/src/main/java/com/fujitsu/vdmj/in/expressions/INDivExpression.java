@@ -24,10 +24,14 @@
 
 package com.fujitsu.vdmj.in.expressions;
 
+import java.math.BigInteger;
+
 import com.fujitsu.vdmj.ast.lex.LexToken;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.in.expressions.visitors.INExpressionVisitor;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
+import com.fujitsu.vdmj.values.BigIntegerValue;
 import com.fujitsu.vdmj.values.NumericValue;
 import com.fujitsu.vdmj.values.Value;
 
@@ -48,8 +52,17 @@ public class INDivExpression extends INNumericBinaryExpression
 
 		try
 		{
-    		double lv = left.eval(ctxt).intValue(ctxt);
-    		double rv = right.eval(ctxt).intValue(ctxt);
+    		Value l = left.eval(ctxt);
+    		Value r = right.eval(ctxt);
+
+    		if (Properties.in_bigint_arithmetic &&
+    			(l.deref() instanceof BigIntegerValue || r.deref() instanceof BigIntegerValue))
+    		{
+    			return bigEval(l, r, ctxt);
+    		}
+
+    		double lv = l.intValue(ctxt);
+    		double rv = r.intValue(ctxt);
 
     		if (rv == 0)
     		{
@@ -94,6 +107,19 @@ public class INDivExpression extends INNumericBinaryExpression
 		}
 	}
 
+	private Value bigEval(Value l, Value r, Context ctxt) throws ValueException
+	{
+		BigInteger lv = NumericValue.bigintValue(l, ctxt);
+		BigInteger rv = NumericValue.bigintValue(r, ctxt);
+
+		if (rv.signum() == 0)
+		{
+			throw new ValueException(4134, "Infinite or NaN trouble", ctxt);
+		}
+
+		return NumericValue.valueOf(lv.divide(rv), ctxt);
+	}
+
 	@Override
 	public <R, S> R apply(INExpressionVisitor<R, S> visitor, S arg)
 	{
@@ -32,7 +32,6 @@ import com.fujitsu.vdmj.runtime.PatternMatchException;
 import com.fujitsu.vdmj.runtime.ValueException;
 import com.fujitsu.vdmj.values.BooleanValue;
 import com.fujitsu.vdmj.values.Value;
-import com.fujitsu.vdmj.values.ValueList;
 
 public class INExists1Expression extends INExpression
 {
@@ -57,12 +56,12 @@ public class INExists1Expression extends INExpression
 	public Value eval(Context ctxt)
 	{
 		breakpoint.check(location, ctxt);
-		ValueList allValues = null;
+		Iterable<Value> allValues = null;
 		boolean alreadyFound = false;
 		
 		try
 		{
-			allValues = bind.getBindValues(ctxt, false);
+			allValues = bind.getBindIterable(ctxt, false);
 		}
 		catch (ValueException e)
 		{
@@ -86,7 +85,7 @@ public class INExists1Expression extends INExpression
 				{
 					if (alreadyFound)
 					{
-						return new BooleanValue(false);
+						return BooleanValue.valueOf(false);
 					}
 
 					alreadyFound = true;
@@ -102,7 +101,7 @@ public class INExists1Expression extends INExpression
 			}
 		}
 
-		return new BooleanValue(alreadyFound);
+		return BooleanValue.valueOf(alreadyFound);
 	}
 
 	@Override
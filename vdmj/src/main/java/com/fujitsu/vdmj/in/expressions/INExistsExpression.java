@@ -23,6 +23,8 @@
 
 package com.fujitsu.vdmj.in.expressions;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import com.fujitsu.vdmj.in.expressions.visitors.INExpressionVisitor;
 import com.fujitsu.vdmj.in.patterns.INBindingGlobals;
 import com.fujitsu.vdmj.in.patterns.INMultipleBind;
@@ -38,7 +40,6 @@ import com.fujitsu.vdmj.values.Quantifier;
 import com.fujitsu.vdmj.values.QuantifierList;
 import com.fujitsu.vdmj.values.UndefinedValue;
 import com.fujitsu.vdmj.values.Value;
-import com.fujitsu.vdmj.values.ValueList;
 
 public class INExistsExpression extends INExpression
 {
@@ -74,7 +75,7 @@ public class INExistsExpression extends INExpression
 
 			for (INMultipleBind mb: bindList)
 			{
-				ValueList bvals = mb.getBindValues(ctxt, false);
+				Iterable<Value> bvals = mb.getBindIterable(ctxt, false);
 
 				for (INPattern p: mb.plist)
 				{
@@ -85,6 +86,18 @@ public class INExistsExpression extends INExpression
 
 			quantifiers.init(ctxt, true);
 
+			if (INBindingEvaluator.isEnabled(ctxt))
+			{
+				AtomicBoolean undefined = new AtomicBoolean(false);
+
+				if (evalBindings(quantifiers, undefined, ctxt))
+				{
+					return BooleanValue.valueOf(true);
+				}
+
+				hasUndefined = undefined.get();		// And the loop below has nothing to do
+			}
+
 			while (quantifiers.hasNext())
 			{
 				Context evalContext = new Context(location, "exists", ctxt);
@@ -123,7 +136,7 @@ public class INExistsExpression extends INExpression
 								globals.setWitness(evalContext);
 							}
 							
-							return new BooleanValue(true);
+							return BooleanValue.valueOf(true);
 						}
 					}
 				}
@@ -143,7 +156,64 @@ public class INExistsExpression extends INExpression
 			return new UndefinedValue();
 		}
 		
-		return new BooleanValue(false);
+		return BooleanValue.valueOf(false);
+	}
+
+	/**
+	 * Evaluate the predicate for each binding using an INBindingEvaluator, returning
+	 * true if one is true. The first such binding, in order, is the witness.
+	 */
+	private boolean evalBindings(QuantifierList quantifiers, final AtomicBoolean hasUndefined, final Context ctxt)
+	{
+		return new INBindingEvaluator<Value>(location, "exists", ctxt, predicate)
+		{
+			@Override
+			protected Value evaluate(int index, Context evalContext)
+			{
+				return predicate.eval(evalContext);
+			}
+
+			@Override
+			protected boolean isFinal(Value result)
+			{
+				try
+				{
+					return result.isDefined() && result.boolValue(ctxt);
+				}
+				catch (ValueException e)
+				{
+					return true;	// Aborts when combined
+				}
+			}
+
+			@Override
+			protected boolean combine(int index, Context evalContext, Value result)
+			{
+				if (result.isUndefined())
+				{
+					hasUndefined.set(true);
+				}
+
+				try
+				{
+					if (result.isDefined() && result.boolValue(ctxt))
+					{
+						if (globals != null)
+						{
+							globals.setWitness(evalContext);
+						}
+
+						return true;
+					}
+				}
+				catch (ValueException e)
+				{
+					predicate.abort(e);
+				}
+
+				return false;
+			}
+		}.run(quantifiers);
 	}
 
 	@Override
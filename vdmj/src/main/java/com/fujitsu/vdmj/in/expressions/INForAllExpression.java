@@ -24,6 +24,8 @@
 
 package com.fujitsu.vdmj.in.expressions;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import com.fujitsu.vdmj.in.expressions.visitors.INExpressionVisitor;
 import com.fujitsu.vdmj.in.patterns.INBindingGlobals;
 import com.fujitsu.vdmj.in.patterns.INMultipleBind;
@@ -41,7 +43,6 @@ import com.fujitsu.vdmj.values.Quantifier;
 import com.fujitsu.vdmj.values.QuantifierList;
 import com.fujitsu.vdmj.values.UndefinedValue;
 import com.fujitsu.vdmj.values.Value;
-import com.fujitsu.vdmj.values.ValueList;
 
 public class INForAllExpression extends INExpression
 {
@@ -77,7 +78,7 @@ public class INForAllExpression extends INExpression
 
 			for (INMultipleBind mb: bindList)
 			{
-				ValueList bvals = mb.getBindValues(ctxt, false);
+				Iterable<Value> bvals = mb.getBindIterable(ctxt, false);
 
 				for (INPattern p: mb.plist)
 				{
@@ -88,6 +89,18 @@ public class INForAllExpression extends INExpression
 
 			quantifiers.init(ctxt, false);
 
+			if (INBindingEvaluator.isEnabled(ctxt))
+			{
+				AtomicBoolean undefined = new AtomicBoolean(false);
+
+				if (evalBindings(quantifiers, undefined, ctxt))
+				{
+					return BooleanValue.valueOf(false);
+				}
+
+				hasUndefined = undefined.get();		// And the loop below has nothing to do
+			}
+
 			while (quantifiers.hasNext())
 			{
 				Context evalContext = new Context(location, "forall", ctxt);
@@ -126,7 +139,7 @@ public class INForAllExpression extends INExpression
 								globals.setCounterexample(evalContext);
 							}
 							
-							return new BooleanValue(false);
+							return BooleanValue.valueOf(false);
 						}
 					}
 				}
@@ -155,7 +168,73 @@ public class INForAllExpression extends INExpression
 			return new UndefinedValue();
 		}
 		
-		return new BooleanValue(true);
+		return BooleanValue.valueOf(true);
+	}
+
+	/**
+	 * Evaluate the predicate for each binding using an INBindingEvaluator, returning
+	 * true if one is false. The first such binding, in order, is the counterexample.
+	 */
+	private boolean evalBindings(QuantifierList quantifiers, final AtomicBoolean hasUndefined, final Context ctxt)
+	{
+		return new INBindingEvaluator<Value>(location, "forall", ctxt, predicate)
+		{
+			@Override
+			protected Value evaluate(int index, Context evalContext)
+			{
+				return predicate.eval(evalContext);
+			}
+
+			@Override
+			protected boolean isFinal(Value result)
+			{
+				try
+				{
+					return result.isDefined() && !result.boolValue(ctxt);
+				}
+				catch (ValueException e)
+				{
+					return true;	// Aborts when combined
+				}
+			}
+
+			@Override
+			protected boolean combine(int index, Context evalContext, Value result)
+			{
+				if (result.isUndefined())
+				{
+					hasUndefined.set(true);
+				}
+
+				try
+				{
+					if (result.isDefined() && !result.boolValue(ctxt))
+					{
+						if (globals != null)
+						{
+							globals.setCounterexample(evalContext);
+						}
+
+						return true;
+					}
+				}
+				catch (ValueException e)
+				{
+					predicate.abort(e);
+				}
+
+				return false;
+			}
+
+			@Override
+			protected void failed(Context evalContext, RuntimeException e)
+			{
+				if (e instanceof ContextException && globals != null)
+				{
+					globals.setCounterexample(evalContext);
+				}
+			}
+		}.run(quantifiers);
 	}
 
 	@Override
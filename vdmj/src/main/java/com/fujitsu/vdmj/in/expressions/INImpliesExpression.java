@@ -61,7 +61,7 @@ public class INImpliesExpression extends INBooleanBinaryExpression
 				}
 				else if (rv.boolValue(ctxt))
 				{
-					return new BooleanValue(true);
+					return BooleanValue.valueOf(true);
 				}
 				else
 				{
@@ -78,16 +78,16 @@ public class INImpliesExpression extends INBooleanBinaryExpression
 				}
 				else if (rv.boolValue(ctxt))
 				{
-					return new BooleanValue(true);
+					return BooleanValue.valueOf(true);
 				}
 				else
 				{
-					return new BooleanValue(false);
+					return BooleanValue.valueOf(false);
 				}
 			}
 			else
 			{
-				return new BooleanValue(true);
+				return BooleanValue.valueOf(true);
 			}
 		}	
 		catch (ValueException e)
@@ -31,7 +31,6 @@ import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.PatternMatchException;
 import com.fujitsu.vdmj.runtime.ValueException;
 import com.fujitsu.vdmj.values.Value;
-import com.fujitsu.vdmj.values.ValueList;
 
 public class INIotaExpression extends INExpression
 {
@@ -56,12 +55,12 @@ public class INIotaExpression extends INExpression
 	public Value eval(Context ctxt)
 	{
 		breakpoint.check(location, ctxt);
-		ValueList allValues = null;
+		Iterable<Value> allValues = null;
 		Value result = null;
 
 		try
 		{
-			allValues = bind.getBindValues(ctxt, false);
+			allValues = bind.getBindIterable(ctxt, false);
 		}
 		catch (ValueException e)
 		{
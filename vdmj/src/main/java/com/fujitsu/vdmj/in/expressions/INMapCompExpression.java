@@ -87,6 +87,11 @@ public class INMapCompExpression extends INMapExpression
 
 			quantifiers.init(ctxt, false);
 
+			if (INBindingEvaluator.isEnabled(ctxt))
+			{
+				evalBindings(quantifiers, map, ctxt);	// And the loop below has nothing to do
+			}
+
 			while (quantifiers.hasNext())
 			{
 				Context evalContext = new Context(location, "map comprehension", ctxt);
@@ -143,6 +148,53 @@ public class INMapCompExpression extends INMapExpression
 		return new MapValue(map);
 	}
 
+	/**
+	 * Evaluate the predicate and the maplet for each binding using an
+	 * INBindingEvaluator, adding the maplets to the map in binding order.
+	 */
+	private void evalBindings(QuantifierList quantifiers, final ValueMap map, final Context ctxt)
+	{
+		new INBindingEvaluator<Value[]>(location, "map comprehension", ctxt, first.left, first.right, predicate)
+		{
+			@Override
+			protected Value[] evaluate(int index, Context evalContext)
+			{
+				try
+				{
+					if (predicate == null || predicate.eval(evalContext).boolValue(ctxt))
+					{
+						Value dom = first.left.eval(evalContext);
+						Value rng = first.right.eval(evalContext);
+						first.location.hit();
+						return new Value[] { dom, rng };
+					}
+				}
+				catch (ValueException e)
+				{
+					predicate.abort(e);
+				}
+
+				return null;
+			}
+
+			@Override
+			protected boolean combine(int index, Context evalContext, Value[] maplet)
+			{
+				if (maplet != null)
+				{
+					Value old = map.put(maplet[0], maplet[1]);
+
+					if (old != null && !old.equals(maplet[1]))
+					{
+						abort(4016, "Duplicate map keys have different values: " + maplet[0], ctxt);
+					}
+				}
+
+				return false;
+			}
+		}.run(quantifiers);
+	}
+
 	@Override
 	public <R, S> R apply(INExpressionVisitor<R, S> visitor, S arg)
 	{
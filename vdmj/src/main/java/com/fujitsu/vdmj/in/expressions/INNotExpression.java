@@ -54,7 +54,7 @@ public class INNotExpression extends INUnaryExpression
 		try
 		{
 			Value v = exp.eval(ctxt);
-			return v.isUndefined() ? v : new BooleanValue(!v.boolValue(ctxt));
+			return v.isUndefined() ? v : BooleanValue.valueOf(!v.boolValue(ctxt));
 		}
 		catch (ValueException e)
 		{
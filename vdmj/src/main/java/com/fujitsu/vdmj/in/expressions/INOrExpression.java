@@ -61,7 +61,7 @@ public class INOrExpression extends INBooleanBinaryExpression
 				}
 				else if (rv.boolValue(ctxt))
 				{
-					return new BooleanValue(true);
+					return BooleanValue.valueOf(true);
 				}
 				else
 				{
@@ -70,7 +70,7 @@ public class INOrExpression extends INBooleanBinaryExpression
 			}
 			else if (lv.boolValue(ctxt))
 			{
-				return new BooleanValue(true);
+				return BooleanValue.valueOf(true);
 			}
 			else
 			{
@@ -82,11 +82,11 @@ public class INOrExpression extends INBooleanBinaryExpression
 				}
 				else if (rv.boolValue(ctxt))
 				{
-					return new BooleanValue(true);
+					return BooleanValue.valueOf(true);
 				}
 				else
 				{
-					return new BooleanValue(false);
+					return BooleanValue.valueOf(false);
 				}
 			}
 		}
@@ -161,7 +161,7 @@ public class INPostOpExpression extends INExpression
     			}
     		}
 
-    		return new BooleanValue(result);
+    		return BooleanValue.valueOf(result);
 		}
 		catch (ValueException e)
 		{
@@ -65,7 +65,7 @@ public class INPowerSetExpression extends INUnaryExpression
 
     		for (ValueSet v: psets)
     		{
-    			rs.addSorted(new SetValue(v, false));	// Already sorted
+    			rs.addUnsorted(new SetValue(v, false));	// Members already sorted
     		}
 
     		// The additions above can take a while, because all of the SetValues are
@@ -76,7 +76,9 @@ public class INPowerSetExpression extends INUnaryExpression
 				breakpoint.enterDebugger(ctxt);
 			}
 
-			Value ps = new SetValue(rs, false);		// Already sorted
+			// The subsets are generated by size, which is not the natural set ordering
+			// (eg. {1} sorts before {2, 3}), so the result set must be sorted.
+			Value ps = new SetValue(rs, true);
 			
 			// And again here, the sort above can take a while, so we re-check the
 			// interrupt flag to try to respond while within the power expression.
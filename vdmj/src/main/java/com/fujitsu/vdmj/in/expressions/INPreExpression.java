@@ -91,7 +91,7 @@ public class INPreExpression extends INExpression
 
 			if (pref == null)
 			{
-				return new BooleanValue(true);
+				return BooleanValue.valueOf(true);
 			}
 
 			if (pref.type.parameters.size() <= args.size())
@@ -117,7 +117,7 @@ public class INPreExpression extends INExpression
 			// else true, below.
 		}
 
-		return new BooleanValue(true);
+		return BooleanValue.valueOf(true);
 	}
 
 	@Override
@@ -25,6 +25,8 @@
 package com.fujitsu.vdmj.in.expressions;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Vector;
 
 import com.fujitsu.vdmj.in.expressions.visitors.INExpressionVisitor;
 import com.fujitsu.vdmj.in.patterns.INBind;
@@ -92,6 +94,16 @@ public class INSeqCompExpression extends INSeqExpression
 	
 	private Value evalSetBind(ValueList allValues, Context ctxt)
 	{
+		if (INBindingEvaluator.isEnabled(ctxt))
+		{
+			Value result = evalSetBindings(allValues, ctxt);
+			
+			if (result != null)
+			{
+				return result;
+			}
+		}
+
 		ValueSet seq = new ValueSet();	// INBind variable values
 		ValueMap map = new ValueMap();	// Map bind values to output values
 		int count = 0;
@@ -155,6 +167,11 @@ public class INSeqCompExpression extends INSeqExpression
 
 	private Value evalSeqBind(ValueList allValues, Context ctxt)
 	{
+		if (INBindingEvaluator.isEnabled(ctxt))
+		{
+			return evalSeqBindings(allValues, ctxt);
+		}
+
 		ValueList seq = new ValueList();	// INBind variable values
 
 		for (Value val: allValues)
@@ -184,6 +201,156 @@ public class INSeqCompExpression extends INSeqExpression
 		return new SeqValue(seq);
 	}
 
+	/**
+	 * Evaluate a set bind using an INBindingEvaluator. The bindings are matched first,
+	 * and if two have the same ordering value, null is returned so that the caller
+	 * can evaluate them in order, since the second is only used if the first is not.
+	 */
+	private Value evalSetBindings(ValueList allValues, final Context ctxt)
+	{
+		final List<NameValuePairList> bindings = new Vector<NameValuePairList>(allValues.size());
+		final ValueList sortOns = new ValueList();
+		ValueSet unique = new ValueSet();
+		int count = 0;
+
+		for (Value val: allValues)
+		{
+			try
+			{
+				NameValuePairList nvpl = bind.pattern.getNamedValues(val, ctxt);
+				Value sortOn = nvpl.isEmpty() ? new NaturalValue(count++) : nvpl.get(0).value;
+
+				if (unique.contains(sortOn))
+				{
+					return null;
+				}
+
+				unique.add(sortOn);
+				bindings.add(nvpl);
+				sortOns.add(sortOn);
+			}
+			catch (PatternMatchException e)
+			{
+				// Ignore mismatches
+			}
+			catch (ContextException e)
+			{
+				throw e;
+			}
+			catch (Exception e)
+			{
+				// Ignore NaturalValue exception
+			}
+		}
+
+		final ValueSet seq = new ValueSet();	// INBind variable values
+		final ValueMap map = new ValueMap();	// Map bind values to output values
+
+		new INBindingEvaluator<Value>(location, "seq comprehension", ctxt, first, predicate)
+		{
+			@Override
+			protected Value evaluate(int index, Context evalContext)
+			{
+				if (bindings.get(index).size() > 1 || !sortOns.get(index).isOrdered())
+				{
+					abort(4029, "Sequence comprehension binding must be one ordered value", ctxt);
+				}
+
+				try
+				{
+					if (predicate == null || predicate.eval(evalContext).boolValue(ctxt))
+					{
+						return first.eval(evalContext);
+					}
+				}
+				catch (ValueException e)
+				{
+					predicate.abort(e);
+				}
+
+				return null;
+			}
+
+			@Override
+			protected boolean combine(int index, Context evalContext, Value out)
+			{
+				if (out != null)
+				{
+					seq.add(sortOns.get(index));
+					map.put(sortOns.get(index), out);
+				}
+
+				return false;
+			}
+		}.run(bindings);
+
+		Collections.sort(seq);	// Using compareTo
+		ValueList sorted = new ValueList();
+
+		for (Value bv: seq)
+		{
+			sorted.add(map.get(bv));
+		}
+
+		return new SeqValue(sorted);
+	}
+
+	/**
+	 * Evaluate a sequence bind using an INBindingEvaluator, after matching the bindings.
+	 */
+	private Value evalSeqBindings(ValueList allValues, final Context ctxt)
+	{
+		List<NameValuePairList> bindings = new Vector<NameValuePairList>(allValues.size());
+
+		for (Value val: allValues)
+		{
+			try
+			{
+				bindings.add(bind.pattern.getNamedValues(val, ctxt));
+			}
+			catch (PatternMatchException e)
+			{
+				// Ignore mismatches
+			}
+		}
+
+		final ValueList seq = new ValueList();
+
+		new INBindingEvaluator<Value>(location, "seq comprehension", ctxt, first, predicate)
+		{
+			@Override
+			protected Value evaluate(int index, Context evalContext)
+			{
+				try
+				{
+					if (predicate == null || predicate.eval(evalContext).boolValue(ctxt))
+					{
+						return first.eval(evalContext);
+					}
+				}
+				catch (ValueException e)
+				{
+					abort(e);
+				}
+
+				return null;
+			}
+
+			@Override
+			protected boolean combine(int index, Context evalContext, Value out)
+			{
+				if (out != null)
+				{
+					seq.add(out);
+				}
+
+				return false;
+			}
+		}.run(bindings);
+
+		return new SeqValue(seq);
+	}
+
 	@Override
 	public <R, S> R apply(INExpressionVisitor<R, S> visitor, S arg)
 	{
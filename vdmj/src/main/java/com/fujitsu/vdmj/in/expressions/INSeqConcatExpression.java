@@ -52,9 +52,12 @@ public class INSeqConcatExpression extends INBinaryExpression
     		Value lv = left.eval(ctxt);
     		Value rv = right.eval(ctxt);
 
-    		ValueList result = new ValueList();
-    		result.addAll(lv.seqValue(ctxt));
-    		result.addAll(rv.seqValue(ctxt));
+    		ValueList ls = lv.seqValue(ctxt);
+    		ValueList rs = rv.seqValue(ctxt);
+
+    		ValueList result = new ValueList(ls.size() + rs.size());
+    		result.addAll(ls);
+    		result.addAll(rs);
 
     		return new SeqValue(result);
 		}
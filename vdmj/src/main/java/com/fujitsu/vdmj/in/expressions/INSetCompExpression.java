@@ -87,6 +87,11 @@ public class INSetCompExpression extends INSetExpression
 
 			quantifiers.init(ctxt, false);
 
+			if (INBindingEvaluator.isEnabled(ctxt))
+			{
+				evalBindings(quantifiers, set, ctxt);	// And the loop below has nothing to do
+			}
+
 			while (quantifiers.hasNext())
 			{
 				Context evalContext = new Context(location, "set comprehension", ctxt);
@@ -134,6 +139,45 @@ public class INSetCompExpression extends INSetExpression
 		}
 	}
 
+	/**
+	 * Evaluate the predicate and the member expression for each binding using an
+	 * INBindingEvaluator, adding the members to the set in binding order.
+	 */
+	private void evalBindings(QuantifierList quantifiers, final ValueSet set, final Context ctxt)
+	{
+		new INBindingEvaluator<Value>(location, "set comprehension", ctxt, first, predicate)
+		{
+			@Override
+			protected Value evaluate(int index, Context evalContext)
+			{
+				try
+				{
+					if (predicate == null || predicate.eval(evalContext).boolValue(ctxt))
+					{
+						return first.eval(evalContext);
+					}
+				}
+				catch (ValueException e)
+				{
+					predicate.abort(e);
+				}
+
+				return null;
+			}
+
+			@Override
+			protected boolean combine(int index, Context evalContext, Value result)
+			{
+				if (result != null)
+				{
+					set.add(result);
+				}
+
+				return false;
+			}
+		}.run(quantifiers);
+	}
+
 	@Override
 	public <R, S> R apply(INExpressionVisitor<R, S> visitor, S arg)
 	{
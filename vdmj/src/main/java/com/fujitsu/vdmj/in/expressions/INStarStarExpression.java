@@ -25,9 +25,11 @@
 package com.fujitsu.vdmj.in.expressions;
 
 import com.fujitsu.vdmj.ast.lex.LexToken;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.in.expressions.visitors.INExpressionVisitor;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
+import com.fujitsu.vdmj.values.BigIntegerValue;
 import com.fujitsu.vdmj.values.FunctionValue;
 import com.fujitsu.vdmj.values.IntegerValue;
 import com.fujitsu.vdmj.values.IterFunctionValue;
@@ -96,6 +98,11 @@ public class INStarStarExpression extends INBinaryExpression
     		{
     			if (lv instanceof IntegerValue && rv instanceof NaturalValue)
     			{
+    				if (Properties.in_bigint_arithmetic && lv instanceof BigIntegerValue)
+    				{
+    					return bigPower(lv, rv, ctxt);
+    				}
+
     				long ll = lv.intValue(ctxt);
     				long rl = rv.natValue(ctxt);
     				
@@ -105,6 +112,11 @@ public class INStarStarExpression extends INBinaryExpression
 					}
 					catch (ArithmeticException e)
 					{
+						if (Properties.in_bigint_arithmetic)
+						{
+							return bigPower(lv, rv, ctxt);
+						}
+
 						throw new ValueException(4169, "Arithmetic overflow", ctxt);
 					}
     			}
@@ -138,12 +150,28 @@ public class INStarStarExpression extends INBinaryExpression
 	            result = Math.multiplyExact(result, square);
 	        }
 	        
-	        square = square * square;	// Note: not exact as may be last loop
 	        n /= 2;
+
+	        if (n > 0)	// Not needed on the last loop, which may overflow
+	        {
+	        	square = Math.multiplyExact(square, square);
+	        }
 	    }
 	    
 	    return result;
 	}
+
+	private Value bigPower(Value lv, Value rv, Context ctxt) throws ValueException
+	{
+		long n = rv.natValue(ctxt);
+
+		if (n > Integer.MAX_VALUE)
+		{
+			throw new ValueException(4180, "Value " + n + " is too large for this operation", ctxt);
+		}
+
+		return NumericValue.valueOf(NumericValue.bigintValue(lv, ctxt).pow((int)n), ctxt);
+	}
 
 	@Override
 	public <R, S> R apply(INExpressionVisitor<R, S> visitor, S arg)
@@ -56,7 +56,7 @@ public class INTailExpression extends INUnaryExpression
 
 		try
 		{
-			seq = new ValueList(exp.eval(ctxt).seqValue(ctxt));
+			seq = exp.eval(ctxt).seqValue(ctxt);
 		}
 		catch (ValueException e)
 		{
@@ -68,8 +68,9 @@ public class INTailExpression extends INUnaryExpression
 			abort(4033, "Tail sequence is empty", ctxt);
 		}
 
-		seq.remove(0);
-		return new SeqValue(seq);
+		ValueList tail = new ValueList(seq.size() - 1);
+		tail.addAll(seq.subList(1, seq.size()));
+		return new SeqValue(tail);
 	}
 
 	@Override
@@ -24,7 +24,10 @@
 
 package com.fujitsu.vdmj.in.expressions;
 
+import java.math.BigInteger;
+
 import com.fujitsu.vdmj.ast.lex.LexToken;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.in.expressions.visitors.INExpressionVisitor;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
@@ -62,10 +65,17 @@ public class INTimesExpression extends INNumericBinaryExpression
 				}
 				catch (ValueException e)
 				{
-					// Too big? Let's try reals...
+					// Too big? Let's try BigIntegers or reals...
 				}
 			}
 
+			if (Properties.in_bigint_arithmetic && NumericValue.areIntegers(l.deref(), r.deref()))
+			{
+				BigInteger lv = NumericValue.bigintValue(l, ctxt);
+				BigInteger rv = NumericValue.bigintValue(r, ctxt);
+				return NumericValue.valueOf(lv.multiply(rv), ctxt);
+			}
+
 			double lv = l.realValue(ctxt);
 			double rv = r.realValue(ctxt);
     		return NumericValue.valueOf(lv * rv, ctxt);
@@ -24,10 +24,12 @@
 
 package com.fujitsu.vdmj.in.expressions;
 
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.in.expressions.visitors.INExpressionVisitor;
 import com.fujitsu.vdmj.lex.LexLocation;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
+import com.fujitsu.vdmj.values.BigIntegerValue;
 import com.fujitsu.vdmj.values.NumericValue;
 import com.fujitsu.vdmj.values.Value;
 
@@ -53,7 +55,15 @@ public class INUnaryMinusExpression extends INUnaryExpression
 
 		try
 		{
-			double v = exp.eval(ctxt).realValue(ctxt);
+			Value ev = exp.eval(ctxt);
+
+			if (Properties.in_bigint_arithmetic && ev.deref() instanceof BigIntegerValue)
+			{
+				BigIntegerValue bv = (BigIntegerValue)ev.deref();
+				return NumericValue.valueOf(bv.bigVal.negate(), ctxt);
+			}
+
+			double v = ev.realValue(ctxt);
 			return NumericValue.valueOf(-v, ctxt);
 		}
 		catch (ValueException e)
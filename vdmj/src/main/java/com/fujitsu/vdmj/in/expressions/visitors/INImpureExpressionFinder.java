@@ -0,0 +1,85 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package com.fujitsu.vdmj.in.expressions.visitors;
+
+import com.fujitsu.vdmj.in.annotations.INAnnotatedExpression;
+import com.fujitsu.vdmj.in.expressions.INApplyExpression;
+import com.fujitsu.vdmj.in.expressions.INExpression;
+import com.fujitsu.vdmj.in.expressions.INExpressionList;
+import com.fujitsu.vdmj.in.expressions.INHistoryExpression;
+import com.fujitsu.vdmj.in.expressions.INNewExpression;
+import com.fujitsu.vdmj.in.expressions.INThreadIdExpression;
+import com.fujitsu.vdmj.in.expressions.INTimeExpression;
+
+/**
+ * Find the subexpressions that may have an effect beyond their own value, or whose
+ * value depends on the thread that evaluates them: operation calls, object creation,
+ * history counters, thread ids, time and annotations.
+ */
+public class INImpureExpressionFinder extends INLeafExpressionVisitor<INExpression, INExpressionList, Object>
+{
+	public INImpureExpressionFinder()
+	{
+		super(true);	// So we visit the nodes as well as the leaves, default visitorSet
+	}
+
+	@Override
+	protected INExpressionList newCollection()
+	{
+		return new INExpressionList();
+	}
+
+	@Override
+	protected INExpressionList caseNonLeafNode(INExpression node, Object arg)
+	{
+		return caseExpression(node, arg);
+	}
+
+	@Override
+	public INExpressionList caseExpression(INExpression node, Object arg)
+	{
+		INExpressionList list = newCollection();
+		
+		if (node instanceof INApplyExpression)
+		{
+			INApplyExpression apply = (INApplyExpression)node;
+			
+			if (apply.type.isOperation(apply.location))
+			{
+				list.add(node);
+			}
+		}
+		else if (node instanceof INNewExpression ||
+				 node instanceof INHistoryExpression ||
+				 node instanceof INThreadIdExpression ||
+				 node instanceof INTimeExpression ||
+				 node instanceof INAnnotatedExpression)
+		{
+			list.add(node);
+		}
+
+		return list;
+	}
+}
@@ -29,6 +29,7 @@ import com.fujitsu.vdmj.in.patterns.visitors.INBindVisitor;
 import com.fujitsu.vdmj.lex.LexLocation;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
+import com.fujitsu.vdmj.values.Value;
 import com.fujitsu.vdmj.values.ValueList;
 
 /**
@@ -56,6 +57,16 @@ public abstract class INBind extends INNode
 	/** Return a list of all possible values for the bind. */ 
 	abstract public ValueList getBindValues(Context ctxt, boolean permuted) throws ValueException;
 
+	/**
+	 * Get the possible values to bind, for a caller that only needs to iterate
+	 * over them. By default, this is the list of bind values, but large type
+	 * binds generate their values on demand.
+	 */
+	public Iterable<Value> getBindIterable(Context ctxt, boolean permuted) throws ValueException
+	{
+		return getBindValues(ctxt, permuted);
+	}
+
 	/**
 	 * Implemented by all binds to allow visitor processing.
 	 */
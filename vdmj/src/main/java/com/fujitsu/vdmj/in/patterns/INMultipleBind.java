@@ -69,6 +69,16 @@ public abstract class INMultipleBind extends INNode
 	/** Get a list of all the possible values to bind the variables to. */ 
 	abstract public ValueList getBindValues(Context ctxt, boolean permuted) throws ValueException;
 
+	/**
+	 * Get the possible values to bind, for a caller that only needs to iterate
+	 * over them. By default, this is the list of bind values, but large type
+	 * binds generate their values on demand.
+	 */
+	public Iterable<Value> getBindIterable(Context ctxt, boolean permuted) throws ValueException
+	{
+		return getBindValues(ctxt, permuted);
+	}
+
 	@Override
 	public Value abort(ValueException ve)
 	{
@@ -24,16 +24,22 @@
 
 package com.fujitsu.vdmj.in.patterns;
 
+import com.fujitsu.vdmj.Settings;
 import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.in.patterns.visitors.INBindVisitor;
 import com.fujitsu.vdmj.in.types.visitors.INGetAllValuesVisitor;
+import com.fujitsu.vdmj.in.types.visitors.INStreamAllValuesVisitor;
 import com.fujitsu.vdmj.in.types.visitors.INTypeSizeVisitor;
+import com.fujitsu.vdmj.lex.Dialect;
 import com.fujitsu.vdmj.messages.InternalException;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ContextException;
 import com.fujitsu.vdmj.runtime.ValueException;
 import com.fujitsu.vdmj.tc.types.TCType;
+import com.fujitsu.vdmj.tc.types.visitors.TCInvariantCollector;
 import com.fujitsu.vdmj.tc.types.visitors.TCParameterCollector;
+import com.fujitsu.vdmj.values.LazyValueList;
+import com.fujitsu.vdmj.values.Value;
 import com.fujitsu.vdmj.values.ValueList;
 
 public class INTypeBind extends INBind
@@ -41,16 +47,25 @@ public class INTypeBind extends INBind
 	private static final long serialVersionUID = 1L;
 	public final TCType type;
 	public final boolean hasTypeParams;
+	private final boolean canShareStream;
 	
 	public INBindingOverride setter = null;
 	private ValueList bindValues = null;
 	private boolean bindPermuted = false;
+	private transient LazyValueList bindStream = null;
 
 	public INTypeBind(INPattern pattern, TCType type)
 	{
 		super(pattern.location, pattern);
 		this.type = type;
 		this.hasTypeParams = !type.apply(new TCParameterCollector(), null).isEmpty();
+		
+		// A stream is generated as it is read, so it can only be shared between
+		// evaluations if that does not evaluate invariants (etc), which could use
+		// the context of another evaluation, or reschedule a thread while holding
+		// the stream's lock.
+		this.canShareStream = !hasTypeParams && Settings.dialect == Dialect.VDM_SL &&
+			type.apply(new TCInvariantCollector(), null).isEmpty();
 	}
 	@Override
 	public INMultipleBindList getMultipleBindList()
@@ -104,6 +119,49 @@ public class INTypeBind extends INBind
 		}
 	}
 
+	@Override
+	public Iterable<Value> getBindIterable(Context ctxt, boolean permuted) throws ValueException
+	{
+		if ((setter != null && setter.hasOverride()) ||
+			(bindValues != null && bindPermuted == permuted && !hasTypeParams))
+		{
+			return getBindValues(ctxt, permuted);
+		}
+		
+		if (bindStream != null)
+		{
+			return bindStream;
+		}
+		
+		try
+		{
+			long size = type.apply(new INTypeSizeVisitor(), ctxt);
+			
+			if (size <= Properties.in_typebind_stream || size > Properties.in_typebind_limit)
+			{
+				return getBindValues(ctxt, permuted);	// Cached, or raises the limit error
+			}
+			
+			Iterable<Value> values = type.apply(new INStreamAllValuesVisitor(), ctxt);
+			
+			if (!canShareStream)
+			{
+				return values;		// Generated by this evaluation only
+			}
+			
+			bindStream = new LazyValueList(values);
+			return bindStream;
+		}
+		catch (ArithmeticException e)
+		{
+			return getBindValues(ctxt, permuted);		// Raises the size error
+		}
+		catch (InternalException e)		// Used while visitors don't have exceptions
+		{
+			throw new ValueException(e.number, e.getMessage(), ctxt);
+		}
+	}
+
 	@Override
 	public <R, S> R apply(INBindVisitor<R, S> visitor, S arg)
 	{
@@ -79,6 +79,7 @@ public class INAssignmentStatement extends INStatement
 
 		if (Settings.dialect == Dialect.VDM_RT &&
 			Properties.rt_log_instvarchanges &&
+			RTLogger.isEnabled() &&
 			target instanceof INIdentifierDesignator)	// Only simple variables
 		{
 			ObjectValue self = ctxt.getSelf();	// May be a static
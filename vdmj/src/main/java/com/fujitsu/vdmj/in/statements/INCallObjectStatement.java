@@ -83,7 +83,7 @@ public class INCallObjectStatement extends INStatement
 		// do the evaluations of the designator below, so we correct the
 		// hit count here...
 
-		location.hits--;
+		location.unhit();
 		
 		boolean endstop = breakpoint.catchReturn(ctxt);
 
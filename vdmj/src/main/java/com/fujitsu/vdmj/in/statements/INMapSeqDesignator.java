@@ -35,6 +35,7 @@ import com.fujitsu.vdmj.values.MapValue;
 import com.fujitsu.vdmj.values.SeqValue;
 import com.fujitsu.vdmj.values.UpdatableValue;
 import com.fujitsu.vdmj.values.Value;
+import com.fujitsu.vdmj.values.ValueJournal;
 import com.fujitsu.vdmj.values.ValueList;
 import com.fujitsu.vdmj.values.ValueMap;
 
@@ -86,6 +87,7 @@ public class INMapSeqDesignator extends INStateDesignator
 					UpdatableValue ur = (UpdatableValue)root;
 					UpdatableValue uresult = UpdatableValue.factory(ur.listeners, mapType.to);
 					map.put(index, uresult);
+					ValueJournal.recordPut(map, index);
 
 					if (ur.getValue() instanceof InvariantValue)
 					{
@@ -112,6 +114,7 @@ public class INMapSeqDesignator extends INStateDesignator
 						UpdatableValue ur = (UpdatableValue)root;
 						UpdatableValue uresult = UpdatableValue.factory(ur.listeners, seqType.seqof);
 						seq.add(uresult);
+						ValueJournal.recordAdd(seq);
 
 						if (ur.getValue() instanceof InvariantValue)
 						{
@@ -0,0 +1,505 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package com.fujitsu.vdmj.in.types.visitors;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.messages.InternalException;
+import com.fujitsu.vdmj.runtime.Context;
+import com.fujitsu.vdmj.runtime.ExceptionHandler;
+import com.fujitsu.vdmj.runtime.ValueException;
+import com.fujitsu.vdmj.tc.types.TCBracketType;
+import com.fujitsu.vdmj.tc.types.TCField;
+import com.fujitsu.vdmj.tc.types.TCInMapType;
+import com.fujitsu.vdmj.tc.types.TCMapType;
+import com.fujitsu.vdmj.tc.types.TCNamedType;
+import com.fujitsu.vdmj.tc.types.TCOptionalType;
+import com.fujitsu.vdmj.tc.types.TCParameterType;
+import com.fujitsu.vdmj.tc.types.TCProductType;
+import com.fujitsu.vdmj.tc.types.TCRecordType;
+import com.fujitsu.vdmj.tc.types.TCSet1Type;
+import com.fujitsu.vdmj.tc.types.TCSetType;
+import com.fujitsu.vdmj.tc.types.TCType;
+import com.fujitsu.vdmj.tc.types.TCTypeList;
+import com.fujitsu.vdmj.tc.types.TCUnionType;
+import com.fujitsu.vdmj.tc.types.visitors.TCTypeVisitor;
+import com.fujitsu.vdmj.util.DuplicateKPermutor;
+import com.fujitsu.vdmj.util.KCombinator;
+import com.fujitsu.vdmj.util.KPermutor;
+import com.fujitsu.vdmj.values.InvariantValue;
+import com.fujitsu.vdmj.values.MapValue;
+import com.fujitsu.vdmj.values.NilValue;
+import com.fujitsu.vdmj.values.ParameterValue;
+import com.fujitsu.vdmj.values.RecordValue;
+import com.fujitsu.vdmj.values.SetValue;
+import com.fujitsu.vdmj.values.TupleValue;
+import com.fujitsu.vdmj.values.Value;
+import com.fujitsu.vdmj.values.ValueList;
+import com.fujitsu.vdmj.values.ValueMap;
+import com.fujitsu.vdmj.values.ValueSet;
+
+/**
+ * Produce all of the values of a type on demand, in the same order as the
+ * INGetAllValuesVisitor. The values of the component types of a set, map, product
+ * or record are generated as lists, but the composite values themselves are only
+ * created as the result is iterated. Each call to iterator() starts again.
+ * 
+ * Types whose values have to be sorted, and the small or infinite types, are
+ * passed to the INGetAllValuesVisitor.
+ */
+public class INStreamAllValuesVisitor extends TCTypeVisitor<Iterable<Value>, Context>
+{
+	@Override
+	public Iterable<Value> caseType(TCType type, Context ctxt)
+	{
+		return type.apply(new INGetAllValuesVisitor(), ctxt);
+	}
+
+	@Override
+	public Iterable<Value> caseBracketType(TCBracketType type, Context ctxt)
+	{
+		return type.type.apply(this, ctxt);
+	}
+
+	@Override
+	public Iterable<Value> caseInMapType(TCInMapType type, Context ctxt)
+	{
+		return ofMaps(type, true, ctxt);
+	}
+
+	@Override
+	public Iterable<Value> caseMapType(TCMapType type, Context ctxt)
+	{
+		return ofMaps(type, false, ctxt);
+	}
+
+	@Override
+	public Iterable<Value> caseNamedType(final TCNamedType type, final Context ctxt)
+	{
+		if (type.isOrdered(type.location))
+		{
+			return caseType(type, ctxt);
+		}
+		
+		final Iterable<Value> values = type.type.apply(this, ctxt);
+		
+		return new Iterable<Value>()
+		{
+			@Override
+			public Iterator<Value> iterator()
+			{
+				final Iterator<Value> iter = values.iterator();
+				
+				return new Generator()
+				{
+					@Override
+					protected Value generate()
+					{
+						while (iter.hasNext())
+						{
+							try
+							{
+								return new InvariantValue(type, iter.next(), ctxt);
+							}
+							catch (ValueException e)
+							{
+								// Value does not match invariant, so ignore it
+							}
+						}
+						
+						return null;
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public Iterable<Value> caseOptionalType(TCOptionalType type, Context ctxt)
+	{
+		List<Iterable<Value>> parts = new Vector<Iterable<Value>>();
+		parts.add(type.type.apply(this, ctxt));
+		ValueList nil = new ValueList();
+		nil.add(NilValue.valueOf());
+		parts.add(nil);
+		return concat(parts);
+	}
+
+	@Override
+	public Iterable<Value> caseParameterType(TCParameterType type, Context ctxt)
+	{
+		Value t = ctxt.lookup(type.name);
+
+		if (t == null)
+		{
+			ExceptionHandler.abort(type.location, 4008, "No such type parameter @" + type.name + " in scope", ctxt);
+		}
+		else if (t instanceof ParameterValue)
+		{
+			ParameterValue tv = (ParameterValue)t;
+			return tv.type.apply(this, ctxt);
+		}
+		
+		ExceptionHandler.abort(type.location, 4009, "Type parameter/local variable name clash, @" + type.name, ctxt);
+		return null;
+	}
+
+	@Override
+	public Iterable<Value> caseProductType(TCProductType type, Context ctxt)
+	{
+		return ofTypeList(type.types, ctxt);
+	}
+
+	@Override
+	public Iterable<Value> caseRecordType(final TCRecordType type, final Context ctxt)
+	{
+		if (type.isOrdered(type.location))
+		{
+			return caseType(type, ctxt);
+		}
+
+		TCTypeList fieldtypes = new TCTypeList();
+
+		for (TCField f: type.fields)
+		{
+			fieldtypes.add(f.type);
+		}
+
+		final Iterable<Value> tuples = ofTypeList(fieldtypes, ctxt);
+		
+		return new Iterable<Value>()
+		{
+			@Override
+			public Iterator<Value> iterator()
+			{
+				final Iterator<Value> iter = tuples.iterator();
+				
+				return new Generator()
+				{
+					@Override
+					protected Value generate()
+					{
+						while (iter.hasNext())
+						{
+							try
+							{
+								TupleValue tuple = (TupleValue)iter.next();
+								return new RecordValue(type, tuple.values, ctxt);
+							}
+							catch (ValueException e)
+							{
+								// Value does not match invariant, so ignore it
+							}
+						}
+						
+						return null;
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public Iterable<Value> caseSetType(TCSetType type, Context ctxt)
+	{
+		ValueList list = type.setof.apply(new INGetAllValuesVisitor(), ctxt);
+		final ValueSet set = new ValueSet(list.size());
+		set.addAll(list);
+		
+   		if (set.size() > Properties.in_powerset_limit)
+		{
+			throw new InternalException(0073, "Cannot evaluate power set of size " + set.size());
+		}
+   		
+		set.sort();		// The combinations below are then in set order, as for powerSet
+		final boolean set1 = (type instanceof TCSet1Type);
+		
+		return new Iterable<Value>()
+		{
+			@Override
+			public Iterator<Value> iterator()
+			{
+				return new Generator()
+				{
+					private int ss = set.size();	// Largest subsets first, then {}
+					private KCombinator combinations = (ss > 0) ? new KCombinator(ss, ss) : null;
+					private boolean emptyDone = set1;
+					
+					@Override
+					protected Value generate()
+					{
+						while (combinations != null)
+						{
+							if (combinations.hasNext())
+							{
+								int[] kc = combinations.next();
+								ValueSet ns = new ValueSet(ss);
+
+								for (int i=0; i<ss; i++)
+								{
+									ns.addSorted(set.get(kc[i]));
+								}
+								
+								return new SetValue(ns);
+							}
+							
+							ss--;
+							combinations = (ss > 0) ? new KCombinator(set.size(), ss) : null;
+						}
+						
+						if (!emptyDone)
+						{
+							emptyDone = true;
+							return new SetValue();
+						}
+						
+						return null;
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public Iterable<Value> caseUnionType(TCUnionType type, Context ctxt)
+	{
+		List<Iterable<Value>> parts = new Vector<Iterable<Value>>();
+
+		for (TCType member: type.types)
+		{
+			parts.add(member.apply(this, ctxt));
+		}
+
+		return concat(parts);
+	}
+	
+	/**
+	 * The maps between the values of the from and to types, in the order of the
+	 * INGetAllValuesVisitor: by domain size, then domain and range, then {|->}.
+	 */
+	private Iterable<Value> ofMaps(TCMapType type, final boolean injective, Context ctxt)
+	{
+		INGetAllValuesVisitor all = new INGetAllValuesVisitor();
+		final ValueList fromValues = type.from.apply(all, ctxt);
+		final ValueList toValues = type.to.apply(all, ctxt);
+		final int fromSize = fromValues.size();
+		final int toSize = toValues.size();
+
+		return new Iterable<Value>()
+		{
+			@Override
+			public Iterator<Value> iterator()
+			{
+				return new Generator()
+				{
+					private int ds = 0;
+					private Iterator<int[]> domains = null;
+					private Iterator<int[]> ranges = null;
+					private int[] domain = null;
+					private boolean emptyDone = false;
+					
+					@Override
+					protected Value generate()
+					{
+						while (true)
+						{
+							if (ranges != null && ranges.hasNext())
+							{
+								int[] range = ranges.next();
+								ValueMap m = new ValueMap();
+
+								for (int i=0; i<ds; i++)
+								{
+									m.put(fromValues.get(domain[i]), toValues.get(range[i]));
+								}
+								
+								return new MapValue(m);
+							}
+							
+							if (domains != null && domains.hasNext())
+							{
+								domain = domains.next();
+								ranges = injective ? new KPermutor(toSize, ds) : new DuplicateKPermutor(toSize, ds);
+							}
+							else if (++ds <= fromSize && (!injective || ds <= toSize))
+							{
+								domains = new KCombinator(fromSize, ds);
+								ranges = null;
+							}
+							else if (!emptyDone)
+							{
+								emptyDone = true;
+								return new MapValue();	// empty map
+							}
+							else
+							{
+								return null;
+							}
+						}
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * The tuples of the cross product of the values of the types, with the
+	 * first field changing fastest.
+	 */
+	private Iterable<Value> ofTypeList(TCTypeList types, Context ctxt)
+	{
+		final List<ValueList> fields = new Vector<ValueList>();
+		INGetAllValuesVisitor all = new INGetAllValuesVisitor();
+		boolean empty = false;
+
+		for (TCType t: types)
+		{
+			ValueList values = t.apply(all, ctxt);
+			fields.add(values);
+			empty = empty || values.isEmpty();
+		}
+		
+		final boolean noTuples = empty;
+		
+		return new Iterable<Value>()
+		{
+			@Override
+			public Iterator<Value> iterator()
+			{
+				return new Generator()
+				{
+					private int count = fields.size();
+					private int[] next = new int[count];
+					private boolean done = noTuples;
+					
+					@Override
+					protected Value generate()
+					{
+						if (done)
+						{
+							return null;
+						}
+						
+						ValueList list = new ValueList(count);
+						
+						for (int i=0; i<count; i++)
+						{
+							list.add(fields.get(i).get(next[i]));
+						}
+
+						done = true;
+
+						for (int i=0; i<count; i++)
+						{
+							if (++next[i] < fields.get(i).size())
+							{
+								done = false;
+								break;
+							}
+
+							next[i] = 0;
+						}
+						
+						return new TupleValue(list);
+					}
+				};
+			}
+		};
+	}
+	
+	/**
+	 * The values of each of the parts in turn.
+	 */
+	private Iterable<Value> concat(final List<Iterable<Value>> parts)
+	{
+		return new Iterable<Value>()
+		{
+			@Override
+			public Iterator<Value> iterator()
+			{
+				return new Generator()
+				{
+					private Iterator<Iterable<Value>> part = parts.iterator();
+					private Iterator<Value> iter = null;
+					
+					@Override
+					protected Value generate()
+					{
+						while (iter == null || !iter.hasNext())
+						{
+							if (!part.hasNext())
+							{
+								return null;
+							}
+							
+							iter = part.next().iterator();
+						}
+						
+						return iter.next();
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * An iterator that produces values until its generate method returns null.
+	 */
+	private static abstract class Generator implements Iterator<Value>
+	{
+		private Value next = null;
+		private boolean ready = false;
+		
+		abstract protected Value generate();
+
+		@Override
+		public boolean hasNext()
+		{
+			if (!ready)
+			{
+				next = generate();
+				ready = true;
+			}
+			
+			return next != null;
+		}
+
+		@Override
+		public Value next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			
+			ready = false;
+			return next;
+		}
+	}
+}
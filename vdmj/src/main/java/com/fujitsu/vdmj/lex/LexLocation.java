@@ -47,8 +47,14 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 {
 	private static final long serialVersionUID = 1L;
 
-	/** An ordered collection of all LexLocation objects. */
-	private static List<LexLocation> allLocations = new Vector<LexLocation>();
+	/** An ordered collection of all LexLocation objects, per file. */
+	private static Map<File, List<LexLocation>> fileLocations = new HashMap<File, List<LexLocation>>();
+
+	/** An empty list for files with no locations. */
+	private static final List<LexLocation> NO_LOCATIONS = new Vector<LexLocation>();
+
+	/** True if coverage hits are being counted. */
+	private static boolean coverage = true;
 	
 	/** A unique map of LexLocation objects, for rapid searching. */
 	private static Map<LexLocation, LexLocation> uniqueLocations = new HashMap<LexLocation, LexLocation>();
@@ -104,9 +110,33 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		if (!file.getName().equals("console") &&
 			!file.getName().equals("?"))	// Don't remember junk
 		{
-			allLocations.add(this);
-			uniqueLocations.put(this, this);
+			register(this);
+		}
+	}
+
+	/**
+	 * Locations are held in per-file lists, so that coverage reporting for a file
+	 * only has to walk the locations of that file, rather than every location
+	 * in the specification.
+	 */
+	private static synchronized void register(LexLocation location)
+	{
+		List<LexLocation> list = fileLocations.get(location.file);
+
+		if (list == null)
+		{
+			list = new Vector<LexLocation>();
+			fileLocations.put(location.file, list);
 		}
+
+		list.add(location);
+		uniqueLocations.put(location, location);
+	}
+
+	private static synchronized List<LexLocation> locationsOf(File file)
+	{
+		List<LexLocation> list = fileLocations.get(file);
+		return list == null ? NO_LOCATIONS : list;
 	}
 
 	/**
@@ -174,7 +204,12 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 	 */
 	private Object readResolve() throws ObjectStreamException
 	{
-		LexLocation existing = uniqueLocations.get(this);
+		LexLocation existing = null;
+		
+		synchronized (LexLocation.class)
+		{
+			existing = uniqueLocations.get(this);
+		}
 		
 		if (existing == null)
 		{
@@ -227,39 +262,100 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 
 	public void hit()
 	{
-		if (executable) hits++;
+		if (executable && coverage) hits++;
+	}
+
+	/**
+	 * Remove a hit that will be counted elsewhere, like the root of an apply.
+	 */
+	public void unhit()
+	{
+		if (coverage) hits--;
 	}
 
-	public static void clearLocations()
+	/**
+	 * Coverage can be switched off entirely, which avoids updating the hit
+	 * counts of every location evaluated.
+	 */
+	public static void setCoverage(boolean on)
 	{
-		for (LexLocation loc: allLocations)
+		coverage = on;
+	}
+
+	public static boolean getCoverage()
+	{
+		return coverage;
+	}
+
+	public static synchronized void clearLocations()
+	{
+		for (List<LexLocation> list: fileLocations.values())
 		{
-			loc.hits = 0;
+			for (LexLocation loc: list)
+			{
+				loc.hits = 0;
+			}
 		}
 	}
 
-	public static void resetLocations()
+	public static synchronized void resetLocations()
 	{
-		allLocations = new Vector<LexLocation>();
+		fileLocations = new HashMap<File, List<LexLocation>>();
 		uniqueLocations = new HashMap<LexLocation, LexLocation>();
 		nameSpans =	new HashMap<LexNameToken, LexLocation>();
 	}
 
-	public static void clearAfter(File file, int linecount, int charpos)
+	/**
+	 * Return the locations of a file, in the order they were created, and the name
+	 * spans within the file. These can be restored with restoreLocations after a
+	 * resetLocations, if the AST of the file is being reused.
+	 */
+	public static synchronized List<LexLocation> getLocations(File file)
+	{
+		return new Vector<LexLocation>(locationsOf(file));
+	}
+
+	public static synchronized Map<LexNameToken, LexLocation> getSpans(File file)
+	{
+		Map<LexNameToken, LexLocation> spans = new HashMap<LexNameToken, LexLocation>();
+
+		for (LexNameToken name: nameSpans.keySet())
+		{
+			LexLocation span = nameSpans.get(name);
+
+			if (span.file.equals(file))
+			{
+				spans.put(name, span);
+			}
+		}
+
+		return spans;
+	}
+
+	public static synchronized void restoreLocations(List<LexLocation> locations, Map<LexNameToken, LexLocation> spans)
+	{
+		for (LexLocation location: locations)
+		{
+			register(location);
+		}
+
+		nameSpans.putAll(spans);
+	}
+
+	public static synchronized void clearAfter(File file, int linecount, int charpos)
 	{
 		// Called from the LexTokenReader's pop method, to remove any
 		// locations "popped". We assume any pushes are on the end of
-		// the vector.
+		// the file's vector.
 
-		ListIterator<LexLocation> it =
-			allLocations.listIterator(allLocations.size());
+		List<LexLocation> locations = locationsOf(file);
+		ListIterator<LexLocation> it = locations.listIterator(locations.size());
 
 		while (it.hasPrevious())
 		{
 			LexLocation l = it.previous();
 
-			if (!l.file.equals(file) ||
-				l.startLine < linecount ||
+			if (l.startLine < linecount ||
 				(l.startLine == linecount && l.startPos < charpos))
 			{
 				break;
@@ -272,7 +368,7 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		}
 	}
 
-	public static void addSpan(LexNameToken name, LexToken upto)
+	public static synchronized void addSpan(LexNameToken name, LexToken upto)
 	{
 		LexLocation span = new LexLocation(
 			name.location.file,
@@ -291,12 +387,12 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		nameSpans.put(name, span);
 	}
 	
-	public static LexLocation getSpan(LexNameToken name)
+	public static synchronized LexLocation getSpan(LexNameToken name)
 	{
 		return nameSpans.get(name);
 	}
 	
-	public static LexNameList getSpanNames(File filename)
+	public static synchronized LexNameList getSpanNames(File filename)
 	{
 		LexNameList list = new LexNameList();
 
@@ -313,13 +409,13 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		return list;
 	}
 
-	public static float getSpanPercent(LexNameToken name)
+	public static synchronized float getSpanPercent(LexNameToken name)
 	{
 		int hits = 0;
 		int misses = 0;
 		LexLocation span = nameSpans.get(name);
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(span.file))
 		{
 			if (l.executable && l.within(span))
 			{
@@ -338,14 +434,14 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		return sum == 0 ? 0 : (float)(1000 * hits/sum)/10;		// NN.N%
 	}
 
-	public static long getSpanCalls(LexNameToken name)
+	public static synchronized long getSpanCalls(LexNameToken name)
 	{
 		// The assumption is that the first executable location in
 		// the span for the name is hit as many time as the span is called.
 
 		LexLocation span = nameSpans.get(name);
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(span.file))
 		{
 			if (l.executable && l.within(span))
 			{
@@ -360,9 +456,9 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 	{
 		List<Integer> hits = new Vector<Integer>();
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(file))
 		{
-			if (l.hits > 0 && l.file.equals(file))
+			if (l.hits > 0)
 			{
 				hits.add(l.startLine);
 			}
@@ -375,9 +471,9 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 	{
 		List<Integer> misses = new Vector<Integer>();
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(file))
 		{
-			if (l.hits == 0 && l.file.equals(file))
+			if (l.hits == 0)
 			{
 				misses.add(l.startLine);
 			}
@@ -391,9 +487,9 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		List<Integer> lines = new Vector<Integer>();
 		int last = 0;
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(file))
 		{
-			if (l.executable && l.startLine != last && l.file.equals(file))
+			if (l.executable && l.startLine != last)
 			{
 				lines.add(l.startLine);
 				last = l.startLine;
@@ -408,9 +504,9 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		Map<Integer, List<LexLocation>> map =
 				new HashMap<Integer, List<LexLocation>>();
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(file))
 		{
-			if (l.executable && l.hits > 0 && l.file.equals(file))
+			if (l.executable && l.hits > 0)
 			{
 				List<LexLocation> list = map.get(l.startLine);
 
@@ -432,9 +528,9 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		int hits = 0;
 		int misses = 0;
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(file))
 		{
-			if (l.file.equals(file) && l.executable)
+			if (l.executable)
 			{
 				if (l.hits > 0)
     			{
@@ -456,9 +552,9 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 		Map<Integer, List<LexLocation>> map =
 				new HashMap<Integer, List<LexLocation>>();
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(file))
 		{
-			if (l.executable && l.hits == 0 && l.file.equals(file))
+			if (l.executable && l.hits == 0)
 			{
 				List<LexLocation> list = map.get(l.startLine);
 
@@ -479,9 +575,9 @@ public class LexLocation implements Serializable, Comparable<LexLocation>
 	{
 		List<LexLocation> locations = new Vector<LexLocation>();
 
-		for (LexLocation l: allLocations)
+		for (LexLocation l: locationsOf(file))
 		{
-			if (l.executable && l.file.equals(file))
+			if (l.executable)
 			{
 				locations.add(l);
 			}
@@ -36,6 +36,7 @@ import java.net.URL;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -65,6 +66,12 @@ public class ClassMapper
 	 */
 	private final Stack<Progress> inProgress = new Stack<Progress>();
 	
+	/**
+	 * An identity index of the inProgress stack, giving the lowest Progress entry
+	 * for each source object. This avoids searching the stack for every field.
+	 */
+	private final Map<Object, Progress> progressOf = new IdentityHashMap<Object, Progress>();
+	
 	private boolean dumpedProgress = false;
 
 	private final Map<Long, Object> converted = new HashMap<Long, Object>();
@@ -100,6 +107,7 @@ public class ClassMapper
 	public ClassMapper init()
 	{
 		inProgress.clear();
+		progressOf.clear();
 		converted.clear();
 		dumpedProgress = false;
 		
@@ -183,6 +191,8 @@ public class ClassMapper
 
 		public Constructor<?> constructor;
 		public Method[] setters;
+		public String[] ctorMessages;
+		public String[] setterMessages;
 
 		public MapParams(int lineNo, Class<?> srcClass, Class<?> destClass,
 				List<Field> ctorFields, List<Field> setterFields, Field mappedFrom, boolean unmapped)
@@ -630,6 +640,37 @@ public class ClassMapper
 					}
 				}
 				
+				// Fields are made accessible here, once, rather than for every
+				// object converted, and the progress messages are built in advance.
+				
+				mp.ctorMessages = new String[mp.ctorFields.size()];
+				a = 0;
+				
+				for (Field field: mp.ctorFields)
+				{
+					if (field != SELF)
+					{
+						field.setAccessible(true);
+						mp.ctorMessages[a] = "Field " + field.getName();
+					}
+					
+					a++;
+				}
+				
+				mp.setterMessages = new String[mp.setterFields.size()];
+				a = 0;
+				
+				for (Field field: mp.setterFields)
+				{
+					field.setAccessible(true);
+					mp.setterMessages[a++] = "Setter " + field.getName();
+				}
+				
+				if (mp.mappedFrom != null)
+				{
+					mp.mappedFrom.setAccessible(true);
+				}
+				
 				try
 				{
 					lineNo = mp.lineNo;		// For error reporting :)
@@ -857,7 +898,13 @@ public class ClassMapper
 		
 		try
 		{
-    		inProgress.push(new Progress(source, message));
+    		Progress current = new Progress(source, message);
+    		inProgress.push(current);
+    		
+    		if (!progressOf.containsKey(source))
+    		{
+    			progressOf.put(source, current);
+    		}
     		
     		Class<?> srcClass = source.getClass();
     		MapParams mp = mappings.get(srcClass);
@@ -892,17 +939,18 @@ public class ClassMapper
     				}
     				else
     				{
-						field.setAccessible(true);
     					Object fieldvalue = field.get(source);
     					
     					if (isInProgress(fieldvalue) == null)
     					{
-    						args[a++] = convert(fieldvalue, "Field " + field.getName());
+    						args[a] = convert(fieldvalue, mp.ctorMessages[a]);
     					}
     					else
     					{
-    						args[a++] = null;
+    						args[a] = null;
     					}
+    					
+    					a++;
     				}
     			}
     			
@@ -911,13 +959,12 @@ public class ClassMapper
     			
     			for (Field setter: mp.setterFields)
     			{
-					setter.setAccessible(true);
 					Object fieldvalue = setter.get(source);
 					Object arg = null;
 					
 					if (isInProgress(fieldvalue) == null)
 					{
-						arg = convert(fieldvalue, "Setter " + setter.getName());
+						arg = convert(fieldvalue, mp.setterMessages[s]);
 					}
 					else
 					{
@@ -929,7 +976,6 @@ public class ClassMapper
 
 				if (mp.mappedFrom != null)		// Set this field to "this", if it exists
 				{
-					mp.mappedFrom.setAccessible(true);
 					mp.mappedFrom.set(result, source);
 				}
  
@@ -974,6 +1020,11 @@ public class ClassMapper
 		{
 			Progress progress = inProgress.pop();
 			
+			if (progressOf.get(progress.source) == progress)
+			{
+				progressOf.remove(progress.source);
+			}
+			
 			if (!progress.updates.isEmpty())
 			{
 				for (Pair pair: progress.updates)
@@ -1016,6 +1067,22 @@ public class ClassMapper
 	}
 	
 	
+	/**
+	 * Return a copy of the "converted" map, keyed by the mapped IDs of the source
+	 * objects. This can be saved with the trees, and set again after they are loaded,
+	 * so that later local conversions re-use the objects already converted.
+	 */
+	public Map<Long, Object> getConverted()
+	{
+		return new HashMap<Long, Object>(converted);
+	}
+	
+	public void setConverted(Map<Long, Object> objects)
+	{
+		converted.clear();
+		converted.putAll(objects);
+	}
+
 	/**
 	 * Save the "converted" map, so that we can later remove conversions
 	 * using restore().
@@ -1084,15 +1151,7 @@ public class ClassMapper
 	 */
 	private Progress isInProgress(Object source)
 	{
-		for (Progress update: inProgress)
-		{
-			if (source == update.source)
-			{
-				return update;
-			}
-		}
-		
-		return null;
+		return source == null ? null : progressOf.get(source);
 	}
 	
 	public int getNodeCount()
@@ -25,16 +25,17 @@
 package com.fujitsu.vdmj.mapper;
 
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class MappedObject implements Serializable, Mappable
 {
 	private static final long serialVersionUID = 1L;
-	private static long nextUniqueId = 0;
+	private static final AtomicLong nextUniqueId = new AtomicLong(0);
 	private final long myId;
 	
 	protected MappedObject()
 	{
-		myId = nextUniqueId++;
+		myId = nextUniqueId.getAndIncrement();
 	}
 	
 	public long getMappedId()
@@ -44,6 +45,21 @@ public abstract class MappedObject implements Serializable, Mappable
 	
 	public static long getNextMappedId()
 	{
-		return nextUniqueId;
+		return nextUniqueId.get();
+	}
+	
+	/**
+	 * Make sure that new objects have IDs of at least the value given. This is used
+	 * when objects are loaded that were created by another JVM, so that new objects
+	 * do not have the same IDs.
+	 */
+	public static void reserveMappedIds(long next)
+	{
+		long current = nextUniqueId.get();
+		
+		while (current < next && !nextUniqueId.compareAndSet(current, next))
+		{
+			current = nextUniqueId.get();
+		}
 	}
 }
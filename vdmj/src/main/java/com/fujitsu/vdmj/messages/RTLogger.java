@@ -28,18 +28,20 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintWriter;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.fujitsu.vdmj.scheduler.SystemClock;
 
 public class RTLogger
 {
-	private static boolean enabled = false;
-	private static List<String> events = new LinkedList<String>();
+	private static volatile boolean enabled = false;
+	private static List<String> events = new ArrayList<String>();
 	private static File logfile;
 	private static PrintWriter writer = null;
 	private static String cached = null;
+	private static long cachedThread = -1;
+	private static long cachedTime = -1;
 
 	public static synchronized void enable(boolean on)
 	{
@@ -52,19 +54,34 @@ public class RTLogger
 		enabled = on;
 	}
 	
-	public static synchronized boolean isEnabled()
+	/**
+	 * This is not synchronized, so that callers can cheaply check whether to
+	 * build an event string at all.
+	 */
+	public static boolean isEnabled()
 	{
 		return enabled;
 	}
 
-	public static synchronized void log(String event)
+	public static void log(String event)
+	{
+		log(event, -1);
+	}
+
+	/**
+	 * Thread swap events are logged with their thread id, so that a swap in that
+	 * is immediately followed by a swap out of the same thread at the same time
+	 * can be dropped without having to re-parse the cached event.
+	 */
+	public static synchronized void log(String event, long thread)
 	{
 		if (!enabled)
 		{
 			return;
 		}
 
-		event = event + " time: " + SystemClock.getWallTime();
+		long time = SystemClock.getWallTime();
+		event = event + " time: " + time;
 
 		if (event.startsWith("ThreadSwapIn") ||
 			event.startsWith("DelayedThreadSwapIn"))
@@ -75,31 +92,18 @@ public class RTLogger
 			}
 
 			cached = event;
+			cachedThread = thread;
+			cachedTime = time;
 			return;
 		}
 
 		if (cached != null)
 		{
-			if (event.startsWith("ThreadSwapOut"))
+			if (event.startsWith("ThreadSwapOut") &&
+				thread >= 0 && thread == cachedThread && time == cachedTime)
 			{
-				String[] cparts = cached.split("\\s+");
-				String[] eparts = event.split("\\s+");
-
-				if (cparts[0].equals("DelayedThreadSwapIn") &&
-					cparts[3].equals(eparts[3]) &&	// thread
-					cparts[15].equals(eparts[13]))	// time
-				{
-					cached = null;
-					return;
-				}
-
-				if (cparts[0].equals("ThreadSwapIn") &&
-					cparts[3].equals(eparts[3]) &&	// thread
-					cparts[13].equals(eparts[13]))	// time
-				{
-					cached = null;
-					return;
-				}
+				cached = null;
+				return;
 			}
 
 			doLog(cached);
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package com.fujitsu.vdmj.plugins;
+
+import static com.fujitsu.vdmj.plugins.PluginConsole.verboseln;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.in.INNode;
+import com.fujitsu.vdmj.mapper.ClassMapper;
+import com.fujitsu.vdmj.mapper.MappedObject;
+import com.fujitsu.vdmj.messages.VDMError;
+import com.fujitsu.vdmj.messages.VDMMessage;
+import com.fujitsu.vdmj.util.Utils;
+
+/**
+ * An opt-in cache of the checked TC tree of a specification, and the IN tree mapped
+ * from it, which is enabled by setting vdmj.tc.cache_dir. Entries are keyed by a
+ * SHA-256 hash of the VDMJ version, the settings and properties that affect checking,
+ * and the names and content of the specification files. So any change to these
+ * means that the specification is checked again, and cached under a new key.
+ * 
+ * The files are still parsed, because other plugins use the AST, and the locations
+ * in the cached trees are resolved to those created by the parse when they are
+ * loaded (see LexLocation.readResolve), so that coverage still works. The type
+ * check and the IN mapping are skipped, which is most of the cost of loading a
+ * large specification.
+ * 
+ * Only specifications without errors are cached, and old entries are not removed.
+ * The VDMJ version is only known when running from a jar, so the cache should be
+ * cleared after building VDMJ from source.
+ */
+public class TreeCache
+{
+	private final File file;
+	
+	private Collection<?> tcList = null;
+	private Collection<?> inList = null;
+	private Map<Long, Object> converted = null;
+	private List<VDMMessage> warnings = null;
+	
+	public static boolean isEnabled()
+	{
+		return Properties.tc_cache_dir != null;
+	}
+
+	public TreeCache(List<File> files) throws IOException
+	{
+		this.file = new File(Properties.tc_cache_dir, key(files) + ".cache");
+	}
+	
+	/**
+	 * Load the cached trees, returning true if they were found.
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean load()
+	{
+		if (!file.exists())
+		{
+			return false;
+		}
+		
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			long nextId = in.readLong();
+			tcList = (Collection<?>)in.readObject();
+			inList = (Collection<?>)in.readObject();
+			converted = (Map<Long, Object>)in.readObject();
+			warnings = (List<VDMMessage>)in.readObject();
+			
+			MappedObject.reserveMappedIds(nextId);		// New objects after those loaded
+			verboseln("Loaded checked specification from " + file);
+			return true;
+		}
+		catch (Exception e)
+		{
+			verboseln("Cannot load " + file + ": " + e);
+			tcList = null;
+			inList = null;
+			converted = null;
+			warnings = null;
+			return false;
+		}
+	}
+	
+	/**
+	 * Save a checked TC tree and the warnings from checking it. Nothing is saved if
+	 * there are errors.
+	 */
+	public void save(Collection<?> tc, List<VDMMessage> messages)
+	{
+		for (VDMMessage m: messages)
+		{
+			if (m instanceof VDMError)
+			{
+				return;
+			}
+		}
+		
+		tcList = tc;
+		inList = null;
+		converted = null;
+		warnings = new Vector<VDMMessage>(messages);
+		write();
+	}
+	
+	/**
+	 * Add the IN tree mapped from the TC tree that was saved or loaded, if any.
+	 */
+	public void saveIN(Collection<?> in)
+	{
+		if (tcList != null)
+		{
+			inList = in;
+			converted = ClassMapper.getInstance(INNode.MAPPINGS).getConverted();
+			write();
+		}
+	}
+	
+	private void write()
+	{
+		File temp = null;
+		
+		try
+		{
+			File dir = file.getParentFile();
+			dir.mkdirs();
+			temp = File.createTempFile("tree", ".tmp", dir);
+			
+			try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp))))
+			{
+				out.writeLong(MappedObject.getNextMappedId());
+				out.writeObject(tcList);
+				out.writeObject(inList);
+				out.writeObject(converted);
+				out.writeObject(warnings);
+			}
+			
+			// Other processes may be loading the same specification
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			verboseln("Saved checked specification to " + file);
+		}
+		catch (Exception e)
+		{
+			verboseln("Cannot save " + file + ": " + e);
+			
+			if (temp != null)
+			{
+				temp.delete();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends Collection<?>> T getTC()
+	{
+		return (T)tcList;
+	}
+
+	/**
+	 * Return the cached IN tree, after setting the IN ClassMapper's converted objects
+	 * to those mapped with it, so that local conversions of TC nodes that refer to the
+	 * cached TC tree use its IN objects. If there is no IN tree, return null.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Collection<?>> T restoreIN()
+	{
+		if (inList != null)
+		{
+			ClassMapper.getInstance(INNode.MAPPINGS).init().setConverted(converted);
+		}
+		
+		return (T)inList;
+	}
+	
+	public List<VDMMessage> getWarnings()
+	{
+		return new Vector<VDMMessage>(warnings);
+	}
+
+	private String key(List<File> files) throws IOException
+	{
+		try
+		{
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			StringBuilder sb = new StringBuilder();
+			
+			sb.append(Utils.getVersion());
+			sb.append(Settings.dialect);
+			sb.append(Settings.release);
+			sb.append(Settings.filecharset.name());
+			sb.append(Settings.strict);
+			sb.append(Settings.annotations);
+			sb.append(Settings.prechecks);
+			sb.append(Settings.postchecks);
+			sb.append(Settings.invchecks);
+			sb.append(Settings.dynamictypechecks);
+			sb.append(Settings.measureChecks);
+			sb.append(Settings.exceptions);
+			
+			// Only the properties that affect the trees, not how they are checked
+			Map<Object, Object> values = new TreeMap<Object, Object>(Properties.getValues());
+			
+			for (Entry<Object, Object> entry: values.entrySet())
+			{
+				String name = entry.getKey().toString();
+				
+				if ((name.startsWith("vdmj.parser.") ||
+					 name.startsWith("vdmj.annotations.") ||
+					 name.startsWith("vdmj.mapping.") ||
+					 name.startsWith("vdmj.tc.")) &&
+					!name.equals("vdmj.tc.cache_dir") && !name.equals("vdmj.tc.workers"))
+				{
+					sb.append(name);
+					sb.append('=');
+					sb.append(entry.getValue());
+					sb.append('\n');
+				}
+			}
+			
+			digest.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+			
+			for (File file: files)
+			{
+				digest.update(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+				digest.update(Files.readAllBytes(file.toPath()));
+			}
+			
+			StringBuilder hex = new StringBuilder();
+			
+			for (byte b: digest.digest())
+			{
+				hex.append(String.format("%02x", b));
+			}
+			
+			return hex.toString();
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new IOException(e);
+		}
+	}
+}
@@ -35,6 +35,7 @@ import com.fujitsu.vdmj.lex.LexTokenReader;
 import com.fujitsu.vdmj.messages.InternalException;
 import com.fujitsu.vdmj.messages.VDMMessage;
 import com.fujitsu.vdmj.syntax.ClassReader;
+import com.fujitsu.vdmj.syntax.MultiFileParser;
 
 /**
  * VDM-PP AST plugin
@@ -55,30 +56,42 @@ public class ASTPluginPP extends ASTPlugin
 	{
 		List<VDMMessage> messages = new Vector<VDMMessage>();
 		
-		for (File file: files)
+		MultiFileParser<ASTClassList> parser = new MultiFileParser<ASTClassList>()
 		{
-			ClassReader cr = null;
-			
-			try
+			@Override
+			protected ASTClassList parse(File file, List<VDMMessage> messages)
 			{
-				LexTokenReader ltr = new LexTokenReader(file, Settings.dialect, Settings.filecharset);
-				cr = new ClassReader(ltr);
-				astClassList.addAll(cr.readClasses());
-			}
-			catch (InternalException e)
-			{
-				messages.addAll(errsOf(e));
-			}
-			catch (Throwable e)
-			{
-				messages.addAll(errsOf(e));
-			}
-
-			if (cr != null)
-			{
-				messages.addAll(cr.getErrors());
-				messages.addAll(cr.getWarnings());
+				ASTClassList classes = new ASTClassList();
+				ClassReader cr = null;
+				
+				try
+				{
+					LexTokenReader ltr = new LexTokenReader(file, Settings.dialect, Settings.filecharset);
+					cr = new ClassReader(ltr);
+					classes.addAll(cr.readClasses());
+				}
+				catch (InternalException e)
+				{
+					messages.addAll(errsOf(e));
+				}
+				catch (Throwable e)
+				{
+					messages.addAll(errsOf(e));
+				}
+	
+				if (cr != null)
+				{
+					messages.addAll(cr.getErrors());
+					messages.addAll(cr.getWarnings());
+				}
+				
+				return classes;
 			}
+		};
+		
+		for (ASTClassList classes: parser.parse(files, messages))
+		{
+			astClassList.addAll(classes);
 		}
 
 		return messages;
@@ -39,6 +39,7 @@ import com.fujitsu.vdmj.lex.LexTokenReader;
 import com.fujitsu.vdmj.messages.InternalException;
 import com.fujitsu.vdmj.messages.VDMMessage;
 import com.fujitsu.vdmj.syntax.ModuleReader;
+import com.fujitsu.vdmj.syntax.MultiFileParser;
 
 /**
  * VDM-SL AST plugin
@@ -59,30 +60,42 @@ public class ASTPluginSL extends ASTPlugin
 	{
 		List<VDMMessage> messages = new Vector<VDMMessage>();
 		
-		for (File file: files)
+		MultiFileParser<ASTModuleList> parser = new MultiFileParser<ASTModuleList>()
 		{
-			ModuleReader mr = null;
-			
-			try
+			@Override
+			protected ASTModuleList parse(File file, List<VDMMessage> messages)
 			{
-				LexTokenReader ltr = new LexTokenReader(file, Dialect.VDM_SL, Settings.filecharset);
-				mr = new ModuleReader(ltr);
-				astModuleList.addAll(mr.readModules());
-			}
-			catch (InternalException e)
-			{
-				messages.addAll(errsOf(e));
-			}
-			catch (Throwable e)
-			{
-				messages.addAll(errsOf(e));
-			}
-
-			if (mr != null)
-			{
-				messages.addAll(mr.getErrors());
-				messages.addAll(mr.getWarnings());
+				ASTModuleList modules = new ASTModuleList();
+				ModuleReader mr = null;
+				
+				try
+				{
+					LexTokenReader ltr = new LexTokenReader(file, Dialect.VDM_SL, Settings.filecharset);
+					mr = new ModuleReader(ltr);
+					modules.addAll(mr.readModules());
+				}
+				catch (InternalException e)
+				{
+					messages.addAll(errsOf(e));
+				}
+				catch (Throwable e)
+				{
+					messages.addAll(errsOf(e));
+				}
+	
+				if (mr != null)
+				{
+					messages.addAll(mr.getErrors());
+					messages.addAll(mr.getWarnings());
+				}
+				
+				return modules;
 			}
+		};
+		
+		for (ASTModuleList modules: parser.parse(files, messages))
+		{
+			astModuleList.addAll(modules);
 		}
 
 		return messages;
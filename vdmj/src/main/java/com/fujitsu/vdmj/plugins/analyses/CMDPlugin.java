@@ -51,6 +51,7 @@ import com.fujitsu.vdmj.plugins.commands.FilesCommand;
 import com.fujitsu.vdmj.plugins.commands.InitCommand;
 import com.fujitsu.vdmj.plugins.commands.LatexCommand;
 import com.fujitsu.vdmj.plugins.commands.LogCommand;
+import com.fujitsu.vdmj.plugins.commands.MemoCommand;
 import com.fujitsu.vdmj.plugins.commands.ModulesCommand;
 import com.fujitsu.vdmj.plugins.commands.PluginsCommand;
 import com.fujitsu.vdmj.plugins.commands.PrintCommand;
@@ -337,6 +338,7 @@ abstract public class CMDPlugin extends AnalysisPlugin implements EventListener
 			case "script":		return new ScriptCommand(line);
 			case "assert":		return new AssertCommand(line);
 			case "threads":		return new ThreadsCommand(line);
+			case "memo":		return new MemoCommand(line);
 			case "create":		return new CreateCommand(line);
 			case "break":
 			case "trace":
@@ -367,6 +369,7 @@ abstract public class CMDPlugin extends AnalysisPlugin implements EventListener
 			ScriptCommand.HELP,
 			AssertCommand.HELP,
 			CoverageCommand.HELP,
+			MemoCommand.HELP,
 			LatexCommand.HELP,
 			WordCommand.HELP,
 			SaveCommand.HELP
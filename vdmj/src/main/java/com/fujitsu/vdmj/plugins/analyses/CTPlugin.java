@@ -95,6 +95,7 @@ public class CTPlugin extends AnalysisPlugin implements EventListener
 			case "runalltraces":
 			case "savetrace":
 			case "seedtrace":
+			case "traceworkers":
 			case "filter":
 				return new RuntraceCommand(line);
 
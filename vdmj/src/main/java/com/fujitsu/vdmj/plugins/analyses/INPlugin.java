@@ -49,6 +49,7 @@ import com.fujitsu.vdmj.plugins.events.CheckCompleteEvent;
 import com.fujitsu.vdmj.plugins.events.CheckPrepareEvent;
 import com.fujitsu.vdmj.runtime.ContextException;
 import com.fujitsu.vdmj.runtime.Interpreter;
+import com.fujitsu.vdmj.traces.TraceWorkers;
 
 /**
  * IN analysis plugin
@@ -226,7 +227,9 @@ abstract public class INPlugin extends AnalysisPlugin implements EventListener
 
    			try
    			{
-   				if (interactive)
+   				// Trace workers read their commands from stdin, which the watcher
+   				// would consume if the init is slow.
+   				if (interactive && !TraceWorkers.isWorker())
    				{
 	   				dbg = new ConsoleDebugReader();
 	   				dbg.start();
@@ -37,6 +37,7 @@ import com.fujitsu.vdmj.in.expressions.INExpressionList;
 import com.fujitsu.vdmj.in.statements.INStatementList;
 import com.fujitsu.vdmj.mapper.ClassMapper;
 import com.fujitsu.vdmj.messages.VDMMessage;
+import com.fujitsu.vdmj.plugins.TreeCache;
 import com.fujitsu.vdmj.runtime.ClassInterpreter;
 import com.fujitsu.vdmj.runtime.Interpreter;
 import com.fujitsu.vdmj.tc.definitions.TCClassList;
@@ -75,9 +76,21 @@ public class INPluginPP extends INPlugin
 			{
 				TCPlugin tc = registry.getPlugin("TC");
 				TCClassList checkedClasses = tc.getTC();
-				long before = System.currentTimeMillis();
-				inClassList = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checkedClasses);
-				Utils.mapperStats(before, INNode.MAPPINGS);
+				TreeCache cache = tc.getCache();
+				inClassList = (cache == null) ? null : cache.restoreIN();
+
+				if (inClassList == null)
+				{
+					long before = System.currentTimeMillis();
+					inClassList = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checkedClasses);
+					Utils.mapperStats(before, INNode.MAPPINGS);
+
+					if (cache != null)
+					{
+						cache.saveIN(inClassList);
+					}
+				}
+
 				interpreter = new ClassInterpreter(inClassList, checkedClasses);
 			}
 			catch (Exception e)
@@ -37,6 +37,7 @@ import com.fujitsu.vdmj.in.modules.INModuleList;
 import com.fujitsu.vdmj.in.statements.INStatementList;
 import com.fujitsu.vdmj.mapper.ClassMapper;
 import com.fujitsu.vdmj.messages.VDMMessage;
+import com.fujitsu.vdmj.plugins.TreeCache;
 import com.fujitsu.vdmj.runtime.Interpreter;
 import com.fujitsu.vdmj.runtime.ModuleInterpreter;
 import com.fujitsu.vdmj.tc.modules.TCModuleList;
@@ -75,9 +76,21 @@ public class INPluginSL extends INPlugin
 			{
 				TCPlugin tc = registry.getPlugin("TC");
 				TCModuleList checkedModules = tc.getTC();
-				long before = System.currentTimeMillis();
-				inModuleList = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checkedModules);
-				Utils.mapperStats(before, INNode.MAPPINGS);
+				TreeCache cache = tc.getCache();
+				inModuleList = (cache == null) ? null : cache.restoreIN();
+
+				if (inModuleList == null)
+				{
+					long before = System.currentTimeMillis();
+					inModuleList = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checkedModules);
+					Utils.mapperStats(before, INNode.MAPPINGS);
+
+					if (cache != null)
+					{
+						cache.saveIN(inModuleList);
+					}
+				}
+
 				interpreter = new ModuleInterpreter(inModuleList, checkedModules);
 			}
 			catch (Exception e)
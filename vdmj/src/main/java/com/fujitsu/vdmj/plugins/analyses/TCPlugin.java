@@ -24,6 +24,9 @@
 
 package com.fujitsu.vdmj.plugins.analyses;
 
+import static com.fujitsu.vdmj.plugins.PluginConsole.verboseln;
+
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 
@@ -32,6 +35,7 @@ import com.fujitsu.vdmj.messages.VDMMessage;
 import com.fujitsu.vdmj.plugins.AnalysisEvent;
 import com.fujitsu.vdmj.plugins.AnalysisPlugin;
 import com.fujitsu.vdmj.plugins.EventListener;
+import com.fujitsu.vdmj.plugins.TreeCache;
 import com.fujitsu.vdmj.plugins.events.CheckPrepareEvent;
 import com.fujitsu.vdmj.plugins.events.CheckTypeEvent;
 
@@ -40,6 +44,8 @@ import com.fujitsu.vdmj.plugins.events.CheckTypeEvent;
  */
 abstract public class TCPlugin extends AnalysisPlugin implements EventListener
 {
+	protected TreeCache cache = null;
+
 	@Override
 	public String getName()
 	{
@@ -82,6 +88,7 @@ abstract public class TCPlugin extends AnalysisPlugin implements EventListener
 	{
 		if (event instanceof CheckPrepareEvent)
 		{
+			cache = null;
 			return typeCheckPrepare();
 		}
 		else if (event instanceof CheckTypeEvent)
@@ -99,4 +106,31 @@ abstract public class TCPlugin extends AnalysisPlugin implements EventListener
 	abstract protected List<VDMMessage> typeCheck();
 
 	abstract public <T extends Collection<?>> T getTC();
+
+	/**
+	 * The cache of checked trees for the current specification, or null if the
+	 * vdmj.tc.cache_dir property is not set.
+	 */
+	public TreeCache getCache()
+	{
+		return cache;
+	}
+
+	protected TreeCache openCache()
+	{
+		if (TreeCache.isEnabled())
+		{
+			try
+			{
+				ASTPlugin ast = registry.getPlugin("AST");
+				return new TreeCache(ast.getFiles());
+			}
+			catch (IOException e)
+			{
+				verboseln("Cannot open cache: " + e);
+			}
+		}
+
+		return null;
+	}
 }
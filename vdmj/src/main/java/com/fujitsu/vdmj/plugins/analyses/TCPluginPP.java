@@ -59,6 +59,13 @@ public class TCPluginPP extends TCPlugin
 		ASTPlugin ast = PluginRegistry.getInstance().getPlugin("AST");
 		ASTClassList parsedClasses = ast.getAST();
 		List<VDMMessage> messages = new Vector<VDMMessage>();
+		cache = openCache();
+
+		if (cache != null && cache.load())
+		{
+			tcClassList = cache.getTC();
+			return cache.getWarnings();
+		}
 
 		try
    		{
@@ -68,6 +75,7 @@ public class TCPluginPP extends TCPlugin
 
    			TypeChecker typeChecker = new ClassTypeChecker(tcClassList);
    			typeChecker.typeCheck();
+   			TypeChecker.passStats();
    		}
 		catch (InternalException e)
 		{
@@ -81,6 +89,11 @@ public class TCPluginPP extends TCPlugin
 		messages.addAll(TypeChecker.getErrors());
 		messages.addAll(TypeChecker.getWarnings());
 
+		if (cache != null)
+		{
+			cache.save(tcClassList, messages);
+		}
+
 		return messages;
 	}
 	
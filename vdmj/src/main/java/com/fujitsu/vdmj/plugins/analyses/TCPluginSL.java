@@ -59,6 +59,13 @@ public class TCPluginSL extends TCPlugin
 		ASTPlugin ast = PluginRegistry.getInstance().getPlugin("AST");
 		ASTModuleList parsedModules = ast.getAST();
 		List<VDMMessage> messages = new Vector<VDMMessage>();
+		cache = openCache();
+
+		if (cache != null && cache.load())
+		{
+			tcModuleList = cache.getTC();
+			return cache.getWarnings();
+		}
 
 		try
    		{
@@ -68,6 +75,7 @@ public class TCPluginSL extends TCPlugin
    			tcModuleList.combineDefaults();
    			TypeChecker typeChecker = new ModuleTypeChecker(tcModuleList);
    			typeChecker.typeCheck();
+   			TypeChecker.passStats();
    		}
 		catch (InternalException e)
 		{
@@ -81,6 +89,11 @@ public class TCPluginSL extends TCPlugin
 		messages.addAll(TypeChecker.getErrors());
 		messages.addAll(TypeChecker.getWarnings());
 
+		if (cache != null)
+		{
+			cache.save(tcModuleList, messages);
+		}
+
 		return messages;
 	}
 	
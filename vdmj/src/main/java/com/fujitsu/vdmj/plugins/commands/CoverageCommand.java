@@ -38,7 +38,7 @@ import com.fujitsu.vdmj.runtime.SourceFile;
 
 public class CoverageCommand extends AnalysisCommand
 {
-	private final static String CMD = "coverage clear|write <dir>|merge <dir>|<filenames>";
+	private final static String CMD = "coverage on|off|clear|write <dir>|merge <dir>|<filenames>";
 	private final static String USAGE = "Usage: " + CMD;
 	public  final static String HELP = CMD + " - handle line coverage";
 
@@ -71,6 +71,18 @@ public class CoverageCommand extends AnalysisCommand
 				return null;
 			}
 
+			if (argv.length == 2 && argv[1].equals("on"))
+			{
+				LexLocation.setCoverage(true);
+				return "Coverage is now being recorded";
+			}
+
+			if (argv.length == 2 && argv[1].equals("off"))
+			{
+				LexLocation.setCoverage(false);
+				return "Coverage is no longer being recorded";
+			}
+
 			if (argv.length == 2 && argv[1].equals("clear"))
 			{
 				LexLocation.clearLocations();
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package com.fujitsu.vdmj.plugins.commands;
+
+import static com.fujitsu.vdmj.plugins.PluginConsole.println;
+
+import java.util.List;
+
+import com.fujitsu.vdmj.plugins.AnalysisCommand;
+import com.fujitsu.vdmj.values.FunctionMemo;
+
+public class MemoCommand extends AnalysisCommand
+{
+	private final static String CMD = "memo [reset]";
+	private final static String USAGE = "Usage: " + CMD;
+	public  final static String HELP = CMD + " - list or reset memoized function caches";
+
+	public MemoCommand(String line)
+	{
+		super(line);
+
+		if (!argv[0].equals("memo"))
+		{
+			throw new IllegalArgumentException(USAGE);
+		}
+	}
+
+	@Override
+	public String run(String line)
+	{
+		if (argv.length == 2 && argv[1].equals("reset"))
+		{
+			FunctionMemo.reset();
+			return "Memoized function caches cleared";
+		}
+		else if (argv.length != 1)
+		{
+			return USAGE;
+		}
+
+		List<FunctionMemo> memos = FunctionMemo.getMemos();
+
+		if (memos.isEmpty())
+		{
+			return "No memoized functions have been called";
+		}
+
+		for (FunctionMemo memo: memos)
+		{
+			println(memo.toString());
+		}
+
+		return null;
+	}
+}
@@ -30,6 +30,7 @@ import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 
 import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.debug.ConsoleDebugReader;
 import com.fujitsu.vdmj.debug.ConsoleKeyWatcher;
 import com.fujitsu.vdmj.in.definitions.INClassDefinition;
@@ -52,7 +53,7 @@ import com.fujitsu.vdmj.traces.TraceReductionType;
 
 public class RuntraceCommand extends AnalysisCommand
 {
-	private final static String USAGE = "Usage: runtrace | debugtrace | runalltraces | savetrace | seedtrace | filter";
+	private final static String USAGE = "Usage: runtrace | debugtrace | runalltraces | savetrace | seedtrace | traceworkers | filter";
 	private Interpreter interpreter;
 
 	private static TraceReductionType reductionType = TraceReductionType.NONE;
@@ -69,6 +70,7 @@ public class RuntraceCommand extends AnalysisCommand
 			!argv[0].equals("runalltraces") &&
 			!argv[0].equals("savetrace") &&
 			!argv[0].equals("seedtrace") &&
+			!argv[0].equals("traceworkers") &&
 			!argv[0].equals("filter"))
 		{
 			throw new IllegalArgumentException(USAGE);
@@ -104,6 +106,10 @@ public class RuntraceCommand extends AnalysisCommand
 				doSeedtrace();
 				break;
 				
+			case "traceworkers":
+				doTraceworkers();
+				break;
+				
 			case "filter":
 				doFilter();
 				break;
@@ -363,6 +369,43 @@ public class RuntraceCommand extends AnalysisCommand
 		}
 	}
 	
+	private void doTraceworkers()
+	{
+		if (argv.length == 2)
+		{
+			try
+			{
+				int workers = Integer.parseInt(argv[1]);
+				
+				if (workers < 1)
+				{
+					throw new NumberFormatException("Should be > 0");
+				}
+				
+				Properties.traces_workers = workers;
+			}
+			catch (NumberFormatException e)
+			{
+				println("Usage: traceworkers [<number>]");
+				return;
+			}
+		}
+		else if (argv.length != 1)
+		{
+			println("Usage: traceworkers [<number>]");
+			return;
+		}
+		
+		if (Properties.traces_workers > 1)
+		{
+			println("runtrace uses " + Properties.traces_workers + " worker processes");
+		}
+		else
+		{
+			println("runtrace runs tests in this process");
+		}
+	}
+	
 	private void doFilter()
 	{
 		if (argv.length != 2)
@@ -420,6 +463,7 @@ public class RuntraceCommand extends AnalysisCommand
 			"debugtrace <name> [start test [end test]] - debug CT trace",
 			"savetrace [<file> | off] - save CT trace output",
 			"seedtrace <number> - seed CT trace random generator",
+			"traceworkers [<number>] - run CT traces over worker processes",
 			"runalltraces [<name>] - run all CT traces in class/module name",
 			"filter %age | <reduction type> - reduce CT trace(s)"
 		);
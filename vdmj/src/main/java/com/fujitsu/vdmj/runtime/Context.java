@@ -193,13 +193,19 @@ public class Context extends HashMap<TCNameToken, Value>
 	 * because the map is driven by the names' hashCodes. The equals
 	 * method of LexNameToken makes a TypeComparator check, which is
 	 * what we need. But we try a simple super.get() first.
+	 *
+	 * The hashCode of a name only depends on its module and name, so the
+	 * super.get() will always find a match unless the equality depends on
+	 * the ordering of a TypeComparator check. That can only happen when
+	 * the name sought has a type qualifier, so unqualified names (ie. almost
+	 * all variable lookups) do not have to scan the keySet.
 	 */
 	@Override
 	public Value get(Object name)
 	{
 		Value rv = super.get(name);
 
-		if (rv == null)
+		if (rv == null && isQualified(name))
 		{
     		for (TCNameToken var: keySet())
     		{
@@ -214,6 +220,12 @@ public class Context extends HashMap<TCNameToken, Value>
 		return rv;
 	}
 
+	private boolean isQualified(Object name)
+	{
+		return name instanceof TCNameToken &&
+			((TCNameToken)name).getTypeQualifier() != null;
+	}
+
 	/**
 	 * Get all visible names from this Context, with more visible
 	 * values overriding those below.
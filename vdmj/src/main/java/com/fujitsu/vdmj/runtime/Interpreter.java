@@ -42,6 +42,7 @@ import com.fujitsu.vdmj.ast.expressions.ASTExpression;
 import com.fujitsu.vdmj.ast.lex.LexIdentifierToken;
 import com.fujitsu.vdmj.ast.lex.LexNameToken;
 import com.fujitsu.vdmj.ast.lex.LexToken;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.in.definitions.INClassDefinition;
 import com.fujitsu.vdmj.in.definitions.INNamedTraceDefinition;
 import com.fujitsu.vdmj.in.expressions.INExpression;
@@ -67,7 +68,9 @@ import com.fujitsu.vdmj.tc.types.TCType;
 import com.fujitsu.vdmj.traces.CallSequence;
 import com.fujitsu.vdmj.traces.TraceFilter;
 import com.fujitsu.vdmj.traces.TraceIterator;
+import com.fujitsu.vdmj.traces.TracePrefixTree;
 import com.fujitsu.vdmj.traces.TraceReductionType;
+import com.fujitsu.vdmj.traces.TraceWorkers;
 import com.fujitsu.vdmj.traces.Verdict;
 import com.fujitsu.vdmj.typechecker.Environment;
 import com.fujitsu.vdmj.typechecker.NameScope;
@@ -610,7 +613,14 @@ abstract public class Interpreter
 			writer = Console.out;
 		}
 
-		final int count = tests.count();
+		final long total = tests.count();
+
+		if (total >= Integer.MAX_VALUE)
+		{
+			throw new Exception("Trace " + lexname + " has too many tests (" + total + ")");
+		}
+
+		final int count = (int)total;
 
 		if (endTest > count)
 		{
@@ -650,47 +660,117 @@ abstract public class Interpreter
 		writer.println(" in " + (double)(after-before)/1000 + " secs. ");
 		before = System.currentTimeMillis();
 		
+		// Worker processes can run the tests and return their raw results. These are
+		// then filtered and written below, in test number order, as though they had
+		// been run here.
+		Map<Integer, List<Object>> workerResults = null;
+		
+		if (!debug && Properties.traces_workers > 1 && !TraceWorkers.isWorker())
+		{
+			TraceWorkers workers = new TraceWorkers(Properties.traces_workers);
+			workerResults = workers.run(getSourceFiles(),
+				lexname.getExplicit(true).toString(), startTest, endTest, subset, reductionType, seed);
+		}
+		
 		// Not needed with new traces?
 		// Environment environment = getTraceEnvironment(tracedef.classDefinition);
 
-		while (tests.hasMoreTests())
+		// If the tests selected can be identified by number, only those are generated,
+		// rather than generating every test and discarding the ones excluded.
+		boolean indexed = filter.isIndexed();
+		
+		// If the state can be rolled back, tests can be run in batches that share the
+		// execution of their common prefixes. The filtering of failed stems is then done
+		// as each batch is written, in test number order.
+		boolean sharing = !debug && workerResults == null && canShareTracePrefixes();
+		List<Integer> batchNumbers = new Vector<Integer>();
+		List<CallSequence> batch = new Vector<CallSequence>();
+		
+		try
 		{
-			CallSequence test = tests.getNextTest();
-			
-			if (testNumber < startTest || testNumber > endTest || filter.isRemoved(test, testNumber))
-			{
-				excluded++;
-			}
-			else if (filter.getFilteredBy(test) > 0)
+			if (indexed)
 			{
-				excluded++;
-    			writer.println("Test " + testNumber + " = " + test.getCallString(getTraceContext(tracedef.classDefinition)));
-				writer.println("Test " + testNumber + " FILTERED by test " + filter.getFilteredBy(test));
+				testNumber = nextTraceTest(filter, startTest > 0 ? startTest : 1, endTest);
 			}
-			else
+
+			while (indexed ? testNumber <= endTest : tests.hasMoreTests())
 			{
-				// test.typeCheck(this, environment);	// Not needed with new traces?
+				CallSequence test = indexed ? tests.getTest(testNumber - 1) : tests.getNextTest();
 				
-    			traceInit();	// Initialize completely between every run...
-    			List<Object> result = runOneTrace(tracedef.classDefinition, test, debug);
-    			filter.update(result, test, testNumber);
-
-    			writer.println("Test " + testNumber + " = " + test.getCallString(getTraceContext(tracedef.classDefinition)));
-    			writer.println("Result = " + result);
-    			
-    			if (result.lastIndexOf(Verdict.PASSED) == -1)
-    			{
-    				failed = true;	// Not passed => failed.
-    			}
+				if (testNumber < startTest || testNumber > endTest || filter.isRemoved(test, testNumber))
+				{
+					excluded++;
+				}
+				else if (TraceWorkers.isWorker() && !TraceWorkers.inShard(testNumber))
+				{
+					excluded++;		// Another worker's test
+				}
+				else if (sharing)
+				{
+					batchNumbers.add(testNumber);
+					batch.add(test);
+					
+					if (batch.size() >= Properties.traces_prefix_batch)
+					{
+						failed = runTraceBatch(tracedef, batchNumbers, batch, filter) || failed;
+					}
+				}
+				else if (filter.getFilteredBy(test) > 0)
+				{
+					excluded++;
+					printTraceFiltered(tracedef, test, testNumber, filter.getFilteredBy(test));
+				}
+				else
+				{
+					// test.typeCheck(this, environment);	// Not needed with new traces?
+					List<Object> result = null;
+					
+					if (workerResults != null)
+					{
+						result = workerResults.get(testNumber);
+						
+						if (result == null)
+						{
+							throw new Exception("Trace workers did not run test " + testNumber);
+						}
+					}
+					else
+					{
+		    			traceInit();	// Initialize completely between every run...
+		    			result = runOneTrace(tracedef.classDefinition, test, debug);
+					}
+					
+	    			updateTraceFilter(filter, result, test, testNumber);
+	    			printTraceResult(tracedef, test, testNumber, result);
+	    			
+	    			if (result.lastIndexOf(Verdict.PASSED) == -1)
+	    			{
+	    				failed = true;	// Not passed => failed.
+	    			}
+				}
+
+				if (testNumber >= endTest)
+				{
+					excluded = count - (endTest - startTest + 1);
+					break;
+				}
+
+				testNumber = indexed ? nextTraceTest(filter, testNumber + 1, endTest) : testNumber + 1;
 			}
 
-			if (testNumber >= endTest)
+			if (!batch.isEmpty())
 			{
-				excluded = count - (endTest - startTest + 1);
-				break;
+				failed = runTraceBatch(tracedef, batchNumbers, batch, filter) || failed;
 			}
+		}
+		finally
+		{
+			traceEnd();		// Even if a test throws an exception
+		}
 
-			testNumber++;
+		if (indexed && count > 0)	// The tests not generated
+		{
+			excluded = count - (endTest - startTest + 1);
 		}
 
 		init();
@@ -707,6 +787,133 @@ abstract public class Interpreter
 		return !failed;
 	}
 
+	/**
+	 * Run a batch of trace tests together, sharing their common prefixes, and write
+	 * the results in order. Tests that are already filtered are not run. Returns true
+	 * if any test did not pass. The batch lists passed are cleared.
+	 */
+	private boolean runTraceBatch(INNamedTraceDefinition tracedef,
+		List<Integer> numbers, List<CallSequence> tests, TraceFilter filter) throws Exception
+	{
+		TracePrefixTree tree = new TracePrefixTree();
+		int[] index = new int[tests.size()];
+		boolean failed = false;
+		
+		for (int i = 0; i < tests.size(); i++)
+		{
+			// A test filtered now will still be filtered when the batch is written
+			index[i] = (filter.getFilteredBy(tests.get(i)) > 0) ? -1 : tree.add(tests.get(i));
+		}
+		
+		if (tree.size() > 0)
+		{
+			runPrefixTraces(tracedef.classDefinition, tree);
+		}
+		
+		for (int i = 0; i < tests.size(); i++)
+		{
+			CallSequence test = tests.get(i);
+			int testNumber = numbers.get(i);
+			
+			if (filter.getFilteredBy(test) > 0)
+			{
+				printTraceFiltered(tracedef, test, testNumber, filter.getFilteredBy(test));
+			}
+			else
+			{
+				List<Object> result = tree.getResult(index[i]);
+				updateTraceFilter(filter, result, test, testNumber);
+				printTraceResult(tracedef, test, testNumber, result);
+				
+				if (result.lastIndexOf(Verdict.PASSED) == -1)
+				{
+					failed = true;	// Not passed => failed.
+				}
+			}
+		}
+		
+		numbers.clear();
+		tests.clear();
+		return failed;
+	}
+
+	/**
+	 * Record a test result in the filter, so that later tests with the same failing
+	 * stem are filtered. Workers do not filter, because the failures of the other
+	 * shards are not known. Their raw results are filtered by the parent.
+	 */
+	private void updateTraceFilter(TraceFilter filter, List<Object> result, CallSequence test, int testNumber)
+	{
+		if (!TraceWorkers.isWorker())
+		{
+			filter.update(result, test, testNumber);
+		}
+	}
+
+	private void printTraceFiltered(INNamedTraceDefinition tracedef, CallSequence test, int testNumber, int filteredBy)
+		throws Exception
+	{
+		writer.println("Test " + testNumber + " = " + test.getCallString(getTraceContext(tracedef.classDefinition)));
+		writer.println("Test " + testNumber + " FILTERED by test " + filteredBy);
+	}
+
+	private void printTraceResult(INNamedTraceDefinition tracedef, CallSequence test, int testNumber, List<Object> result)
+		throws Exception
+	{
+		if (TraceWorkers.isWorker())
+		{
+			TraceWorkers.writeResult(writer, testNumber, result);
+		}
+		else
+		{
+			writer.println("Test " + testNumber + " = " + test.getCallString(getTraceContext(tracedef.classDefinition)));
+			writer.println("Result = " + result);
+		}
+	}
+
+	/**
+	 * Called when a runtrace finishes, normally or otherwise, to release anything
+	 * kept between the tests, like a ValueJournal.
+	 */
+	protected void traceEnd()
+	{
+		// Nothing by default
+	}
+
+	/**
+	 * Return true if runPrefixTraces can be used, which needs the state to be rolled
+	 * back to a checkpoint, and so is only possible with a ValueJournal.
+	 */
+	protected boolean canShareTracePrefixes()
+	{
+		return false;
+	}
+
+	/**
+	 * Run the tests in the tree from a freshly initialized state, executing each shared
+	 * prefix once. The results are set in the tree.
+	 */
+	protected void runPrefixTraces(INClassDefinition classdef, TracePrefixTree tests) throws Exception
+	{
+		throw new Exception("Trace prefixes cannot be shared by this interpreter");
+	}
+
+	/**
+	 * Return the next test number, from the one passed, that is included by the filter
+	 * and which this process should run, or a number beyond endTest if there are none.
+	 */
+	private int nextTraceTest(TraceFilter filter, int testNumber, int endTest)
+	{
+		testNumber = filter.getNextIncluded(testNumber);
+		
+		while (TraceWorkers.isWorker() && testNumber <= endTest && !TraceWorkers.inShard(testNumber))
+		{
+			testNumber = filter.getNextIncluded(testNumber + 1);
+		}
+		
+		return testNumber;
+	}
+
 	public abstract List<Object> runOneTrace(INClassDefinition classDefinition, CallSequence test, boolean debug);
 	
 	/**
@@ -24,11 +24,7 @@
 
 package com.fujitsu.vdmj.runtime;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.List;
 import java.util.Set;
 import java.util.Vector;
@@ -53,6 +49,7 @@ import com.fujitsu.vdmj.lex.Token;
 import com.fujitsu.vdmj.mapper.ClassMapper;
 import com.fujitsu.vdmj.messages.VDMErrorsException;
 import com.fujitsu.vdmj.scheduler.CTMainThread;
+import com.fujitsu.vdmj.scheduler.CTPrefixThread;
 import com.fujitsu.vdmj.scheduler.MainThread;
 import com.fujitsu.vdmj.syntax.ExpressionReader;
 import com.fujitsu.vdmj.syntax.ParserException;
@@ -63,11 +60,14 @@ import com.fujitsu.vdmj.tc.lex.TCNameToken;
 import com.fujitsu.vdmj.tc.modules.TCModule;
 import com.fujitsu.vdmj.tc.modules.TCModuleList;
 import com.fujitsu.vdmj.traces.CallSequence;
+import com.fujitsu.vdmj.traces.TracePrefixTree;
 import com.fujitsu.vdmj.typechecker.Environment;
 import com.fujitsu.vdmj.typechecker.ModuleEnvironment;
 import com.fujitsu.vdmj.typechecker.TypeComparator;
 import com.fujitsu.vdmj.values.CPUValue;
+import com.fujitsu.vdmj.values.FunctionMemo;
 import com.fujitsu.vdmj.values.Value;
+import com.fujitsu.vdmj.values.ValueJournal;
 
 /**
  * The VDM-SL module interpreter.
@@ -211,6 +211,7 @@ public class ModuleInterpreter extends Interpreter
 	@Override
 	public void init()
 	{
+		ValueJournal.stop();
 		scheduler.init();
 		CPUValue.init(scheduler);
 		initialContext = executableModules.creatInitialContext();
@@ -226,24 +227,19 @@ public class ModuleInterpreter extends Interpreter
 			scheduler.init();
 			CPUValue.init(scheduler);
 			
-			if (savedInitialContext == null)
+			if (!ValueJournal.isActive())
 			{
 				initialContext = executableModules.creatInitialContext();
 				executableModules.initialize(initialContext);
-				
-				savedInitialContext = new ByteArrayOutputStream();
-				ObjectOutputStream oos = new ObjectOutputStream(savedInitialContext);
-				oos.writeObject(initialContext);
-				oos.close();
+				ValueJournal.start();	// Record changes made by each test
 			}
 			else
 			{
-				ByteArrayInputStream is = new ByteArrayInputStream(savedInitialContext.toByteArray());
-				ObjectInputStream ois = new ObjectInputStream(is);
-				initialContext = (RootContext)ois.readObject();
+				ValueJournal.rollback();	// Undo changes made by the last test
 			}
 			
 			INAnnotation.init(initialContext);
+			FunctionMemo.reset();
 		}
 		else
 		{
@@ -427,6 +423,31 @@ public class ModuleInterpreter extends Interpreter
 		return main.getList();
 	}
 
+	@Override
+	protected void traceEnd()
+	{
+		ValueJournal.stop();	// The state is left as the last test left it
+	}
+
+	@Override
+	protected boolean canShareTracePrefixes()
+	{
+		return Properties.traces_save_state && Properties.traces_prefix_batch > 0;
+	}
+
+	@Override
+	protected void runPrefixTraces(INClassDefinition classdef, TracePrefixTree tests) throws Exception
+	{
+		traceInit();	// Starts or rolls back the ValueJournal
+		Context ctxt = getTraceContext(classdef);
+		ctxt.setThreadState(CPUValue.vCPU);
+		clearBreakpointHits();
+
+		CTPrefixThread main = new CTPrefixThread(tests, ctxt);
+		main.start();
+		scheduler.start(main);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> T getIN()
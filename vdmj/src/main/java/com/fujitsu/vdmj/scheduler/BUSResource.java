@@ -111,6 +111,12 @@ public class BUSResource extends Resource
 		}
 	}
 
+	@Override
+	public boolean isTimestepping()
+	{
+		return busThread != null && busThread.getRunState() == RunState.TIMESTEP;
+	}
+
 	@Override
 	public long getMinimumTimestep()
 	{
@@ -84,7 +84,7 @@ public class CPUResource extends Resource
 		{
 			SchedulableThread best = policy.getThread();
 
-			if (swappedIn != best)
+			if (swappedIn != best && RTLogger.isEnabled())
 			{
 				if (swappedIn != null)
 				{
@@ -92,7 +92,7 @@ public class CPUResource extends Resource
 	    				"ThreadSwapOut -> id: " + swappedIn.getId() +
 	    				objRefString(swappedIn.getObject()) +
 	    				" cpunm: " + cpuNumber +
-	    				" overhead: " + 0);
+	    				" overhead: " + 0, swappedIn.getId());
 				}
 
 				long delay = SystemClock.getWallTime() - best.getSwapInBy();
@@ -104,7 +104,7 @@ public class CPUResource extends Resource
 		        		objRefString(best.getObject()) +
 		        		" delay: " + delay +
 		        		" cpunm: " + cpuNumber +
-		        		" overhead: " + 0);
+		        		" overhead: " + 0, best.getId());
 				}
 				else
 				{
@@ -112,7 +112,7 @@ public class CPUResource extends Resource
     					"ThreadSwapIn -> id: " + best.getId() +
     					objRefString(best.getObject()) +
     					" cpunm: " + cpuNumber +
-    					" overhead: " + 0);
+    					" overhead: " + 0, best.getId());
 				}
 			}
 
@@ -126,7 +126,7 @@ public class CPUResource extends Resource
         				"ThreadSwapOut -> id: " + swappedIn.getId() +
         				objRefString(swappedIn.getObject()) +
         				" cpunm: " + cpuNumber +
-        				" overhead: " + 0);
+        				" overhead: " + 0, swappedIn.getId());
 
         			RTLogger.log(
     					"ThreadKill -> id: " + swappedIn.getId() +
@@ -148,6 +148,12 @@ public class CPUResource extends Resource
 		}
 	}
 
+	@Override
+	public boolean isTimestepping()
+	{
+		return swappedIn != null && swappedIn.getRunState() == RunState.TIMESTEP;
+	}
+
 	@Override
 	public long getMinimumTimestep()
 	{
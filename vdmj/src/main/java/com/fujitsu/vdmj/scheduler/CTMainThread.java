@@ -103,48 +103,7 @@ public class CTMainThread extends MainThread
 				DebugLink.getInstance().stopped(e.ctxt, e.location, e);
 			}
 
-			// These exceptions are inconclusive if they occur
-			// in a call directly from the test because it could
-			// be a test error, but if the test call has made
-			// further call(s), then they are real failures.
-
-			switch (e.number)
-			{
-				case 4055:	// precondition fails for functions
-
-					if (e.ctxt.outer != null && e.ctxt.outer.outer == ctxt)
-					{
-						result.add(Verdict.INCONCLUSIVE);
-					}
-					else
-					{
-						result.add(Verdict.FAILED);
-					}
-					break;
-
-				case 4071:	// precondition fails for operations
-
-					if (e.ctxt.outer == ctxt)
-					{
-						result.add(Verdict.INCONCLUSIVE);
-					}
-					else
-					{
-						result.add(Verdict.FAILED);
-					}
-					break;
-
-				default:
-					if (e.ctxt == ctxt)
-					{
-						result.add(Verdict.INCONCLUSIVE);
-					}
-					else
-					{
-						result.add(Verdict.FAILED);
-					}
-					break;
-			}
+			result.add(getVerdict(e, ctxt));
 		}
 		catch (Throwable e)
 		{
@@ -171,6 +130,52 @@ public class CTMainThread extends MainThread
 		}
 	}
 
+	/**
+	 * The verdict for an exception raised by a test statement evaluated in ctxt.
+	 */
+	public static Verdict getVerdict(ContextException e, Context ctxt)
+	{
+		// These exceptions are inconclusive if they occur
+		// in a call directly from the test because it could
+		// be a test error, but if the test call has made
+		// further call(s), then they are real failures.
+
+		switch (e.number)
+		{
+			case 4055:	// precondition fails for functions
+
+				if (e.ctxt.outer != null && e.ctxt.outer.outer == ctxt)
+				{
+					return Verdict.INCONCLUSIVE;
+				}
+				else
+				{
+					return Verdict.FAILED;
+				}
+
+			case 4071:	// precondition fails for operations
+
+				if (e.ctxt.outer == ctxt)
+				{
+					return Verdict.INCONCLUSIVE;
+				}
+				else
+				{
+					return Verdict.FAILED;
+				}
+
+			default:
+				if (e.ctxt == ctxt)
+				{
+					return Verdict.INCONCLUSIVE;
+				}
+				else
+				{
+					return Verdict.FAILED;
+				}
+		}
+	}
+
 	@Override
 	protected void handleSignal(Signal sig, Context lctxt, LexLocation location)
 	{
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package com.fujitsu.vdmj.scheduler;
+
+import java.util.List;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.in.statements.INStatement;
+import com.fujitsu.vdmj.in.traces.INTraceVariableStatement;
+import com.fujitsu.vdmj.runtime.Context;
+import com.fujitsu.vdmj.runtime.ContextException;
+import com.fujitsu.vdmj.traces.TracePrefixTree;
+import com.fujitsu.vdmj.traces.Verdict;
+import com.fujitsu.vdmj.values.Value;
+import com.fujitsu.vdmj.values.ValueJournal;
+
+/**
+ * A class representing the main VDM thread for a batch of trace tests, held in a
+ * TracePrefixTree. The tree is walked depth first, so each statement in a shared
+ * prefix is executed once, and the state is rolled back to a ValueJournal mark
+ * before each branch is taken. Each test's result is the same as CTMainThread
+ * would produce, with the values converted to strings when the test ends, since
+ * the state is rolled back afterwards.
+ */
+public class CTPrefixThread extends MainThread
+{
+	private static final long serialVersionUID = 1L;
+	private final TracePrefixTree tests;
+
+	public CTPrefixThread(TracePrefixTree tests, Context ctxt)
+	{
+		super(null, ctxt);
+		this.tests = tests;
+
+		setName("CTPrefixThread");
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return (int)getId();
+	}
+
+	@Override
+	public void body()
+	{
+		run(tests.getRoot(), new Vector<Value>());
+	}
+
+	private void run(TracePrefixTree.Node node, List<Value> values)
+	{
+		for (TracePrefixTree.Node child: node.children.values())
+		{
+			int mark = ValueJournal.mark();
+			INStatement statement = child.statement;
+
+			if (statement instanceof INTraceVariableStatement)
+			{
+				// Just update the context, restoring any value hidden afterwards
+				INTraceVariableStatement tvs = (INTraceVariableStatement)statement;
+				Value hidden = ctxt.get(tvs.var.name);
+				statement.eval(ctxt);
+
+				if (!child.ending.isEmpty())
+				{
+					tests.setResult(child, passed(values));
+				}
+
+				run(child, values);
+
+				if (hidden == null)
+				{
+					ctxt.remove(tvs.var.name);
+				}
+				else
+				{
+					ctxt.put(tvs.var.name, hidden);
+				}
+			}
+			else
+			{
+				try
+				{
+					values.add(statement.eval(ctxt));
+				}
+				catch (ContextException e)
+				{
+					tests.setResults(child, failed(values, e.getMessage(), CTMainThread.getVerdict(e, ctxt)));
+					ValueJournal.rollback(mark);
+					continue;
+				}
+				catch (Throwable e)
+				{
+					Object problem = (getException() != null) ? getException() : e.getMessage();
+					tests.setResults(child, failed(values, problem, Verdict.FAILED));
+					ValueJournal.rollback(mark);
+					exception = null;
+					continue;
+				}
+
+				if (!child.ending.isEmpty())
+				{
+					tests.setResult(child, passed(values));
+				}
+
+				run(child, values);
+				values.remove(values.size() - 1);
+			}
+
+			ValueJournal.rollback(mark);
+		}
+	}
+
+	private List<Object> passed(List<Value> values)
+	{
+		List<Object> result = new Vector<Object>();
+
+		for (Value value: values)
+		{
+			result.add(value.toString());
+		}
+
+		result.add(Verdict.PASSED);
+		return result;
+	}
+
+	private List<Object> failed(List<Value> values, Object problem, Verdict verdict)
+	{
+		List<Object> result = new Vector<Object>();
+
+		for (Value value: values)
+		{
+			result.add(value.toString());
+		}
+
+		result.add(problem);
+		result.add(verdict);
+		return result;
+	}
+
+	@Override
+	public void setException(Exception e)
+	{
+		// Don't print out the error for CT
+		exception = e;
+	}
+}
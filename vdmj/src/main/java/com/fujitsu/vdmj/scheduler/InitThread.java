@@ -45,6 +45,7 @@ import com.fujitsu.vdmj.runtime.StateContext;
 import com.fujitsu.vdmj.tc.lex.TCIdentifierToken;
 import com.fujitsu.vdmj.tc.lex.TCNameToken;
 import com.fujitsu.vdmj.values.CPUValue;
+import com.fujitsu.vdmj.values.FunctionMemo;
 import com.fujitsu.vdmj.values.TransactionValue;
 
 /**
@@ -229,6 +230,7 @@ public class InitThread extends SchedulableThread
 		}
 
 		INAnnotation.init(globalContext);
+		FunctionMemo.reset();
 
 		Settings.exceptions = exceptions;
 	}
@@ -348,6 +350,7 @@ public class InitThread extends SchedulableThread
 		}
 
 		INAnnotation.init(globalContext);
+		FunctionMemo.reset();
 
 		Settings.exceptions = exceptions;
 	}
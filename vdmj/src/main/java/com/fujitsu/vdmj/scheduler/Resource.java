@@ -103,6 +103,14 @@ abstract public class Resource implements Serializable
 
 	abstract public long getMinimumTimestep();
 
+	// True if the resource cannot schedule anything until its current thread's
+	// timestep has passed. See ResourceScheduler.
+
+	public boolean isTimestepping()
+	{
+		return false;
+	}
+
 	public void advance()
 	{
 		policy.advance();
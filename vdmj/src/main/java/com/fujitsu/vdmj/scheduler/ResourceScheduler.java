@@ -25,10 +25,18 @@
 package com.fujitsu.vdmj.scheduler;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
 
 import com.fujitsu.vdmj.RemoteSimulation;
+import com.fujitsu.vdmj.config.Properties;
 
 public class ResourceScheduler implements Serializable
 {
@@ -75,6 +83,50 @@ public class ResourceScheduler implements Serializable
 		mainThread = main;
 		stopping = false;
 
+		if (Properties.scheduler_event_queue)
+		{
+			runQueued(main);
+		}
+		else
+		{
+			runAll(main);
+		}
+
+		stopping = true;
+
+		if (main.getRunState() != RunState.COMPLETE && main.getException() == null)
+		{
+    		for (Resource resource: resources)
+    		{
+    			if (resource.hasActive())
+    			{
+					SchedulableThread.signalAll(Signal.DEADLOCKED);
+					main.setException(new Exception("DEADLOCK detected"));
+
+					while (main.isAlive())
+					{
+						try
+                        {
+	                        Thread.sleep(100);
+                        }
+                        catch (InterruptedException e)
+                        {
+	                        // ?
+                        }
+					}
+
+    				break;
+    			}
+    		}
+		}
+	}
+
+	/**
+	 * Reschedule every resource on every cycle, and advance them all after each
+	 * time step.
+	 */
+	private void runAll(MainThread main)
+	{
 		boolean idle = true;
 		long nextSimulationStop = Long.MAX_VALUE;
 		RemoteSimulation simulation = RemoteSimulation.getInstance();		
@@ -124,33 +176,156 @@ public class ResourceScheduler implements Serializable
 			}
 		}
 		while (!idle && main.getRunState() != RunState.COMPLETE && main.getException() == null);
+	}
 
-		stopping = true;
+	/**
+	 * A resource whose thread is in a timestep cannot schedule anything until that
+	 * timestep has passed. So rather than rescheduling and advancing such resources
+	 * on every cycle, which wakes their thread only to have it wait again, they are
+	 * held in a queue ordered by their absolute wake time, and are only touched
+	 * again once the clock reaches that time. The other resources are held in an
+	 * active map, keyed by their registration order, so each cycle only visits the
+	 * active resources, in the same order as runAll.
+	 */
+	private void runQueued(MainThread main)
+	{
+		boolean idle = true;
+		long nextSimulationStop = Long.MAX_VALUE;
+		RemoteSimulation simulation = RemoteSimulation.getInstance();
+		PriorityQueue<Wakeup> queue = new PriorityQueue<Wakeup>();
+		Map<Resource, Integer> order = new IdentityHashMap<Resource, Integer>();
+		TreeMap<Integer, Resource> active = new TreeMap<Integer, Resource>();
 
-		if (main.getRunState() != RunState.COMPLETE && main.getException() == null)
+		if (simulation != null)
 		{
-    		for (Resource resource: resources)
-    		{
-    			if (resource.hasActive())
-    			{
-					SchedulableThread.signalAll(Signal.DEADLOCKED);
-					main.setException(new Exception("DEADLOCK detected"));
+			nextSimulationStop = simulation.step(SystemClock.getWallTime());
+		}
 
-					while (main.isAlive())
+		do
+		{
+			long minstep = Long.MAX_VALUE;
+			long now = SystemClock.getWallTime();
+			idle = true;
+
+			if (order.size() != resources.size())	// Registered since the last cycle
+			{
+				reorder(order, active, queue);
+			}
+
+			Iterator<Resource> iter = active.values().iterator();
+
+			while (iter.hasNext())
+			{
+				Resource resource = iter.next();
+
+				if (resource.reschedule())
+				{
+					idle = false;
+				}
+				else
+				{
+					long d = resource.getMinimumTimestep();
+
+					if (d >= 0 && d < Long.MAX_VALUE && resource.isTimestepping())
 					{
-						try
-                        {
-	                        Thread.sleep(100);
-                        }
-                        catch (InterruptedException e)
-                        {
-	                        // ?
-                        }
+						queue.add(new Wakeup(resource, now + d));
+						iter.remove();
 					}
 
-    				break;
-    			}
-    		}
+					if (d < minstep)
+					{
+						minstep = d;
+					}
+				}
+			}
+
+			if (idle && minstep >= 0 && !queue.isEmpty())
+			{
+				long d = queue.peek().time - now;
+
+				if (d < minstep)
+				{
+					minstep = d;
+				}
+			}
+
+			if (idle && minstep >= 0 && minstep < Long.MAX_VALUE)
+			{
+				SystemClock.advance(minstep);
+				now = SystemClock.getWallTime();
+
+				if (simulation != null && now >= nextSimulationStop)
+				{
+					nextSimulationStop = simulation.step(now);
+				}
+
+				while (!queue.isEmpty() && queue.peek().time <= now)
+				{
+					Resource resource = queue.poll().resource;
+					Integer index = order.get(resource);
+
+					if (index != null)		// Not unregistered since
+					{
+						active.put(index, resource);
+					}
+				}
+
+				for (Resource resource: active.values())
+				{
+					resource.advance();
+				}
+
+				idle = false;
+			}
+		}
+		while (!idle && main.getRunState() != RunState.COMPLETE && main.getException() == null);
+	}
+
+	/**
+	 * Rebuild the registration order of the resources, and the active map of those
+	 * that are not waiting in the queue.
+	 */
+	private void reorder(Map<Resource, Integer> order, Map<Integer, Resource> active, PriorityQueue<Wakeup> queue)
+	{
+		Set<Resource> sleeping = Collections.newSetFromMap(new IdentityHashMap<Resource, Boolean>());
+
+		for (Wakeup wakeup: queue)
+		{
+			sleeping.add(wakeup.resource);
+		}
+
+		order.clear();
+		active.clear();
+		int index = 0;
+
+		for (Resource resource: resources)
+		{
+			order.put(resource, index);
+
+			if (!sleeping.contains(resource))
+			{
+				active.put(index, resource);
+			}
+
+			index++;
+		}
+	}
+
+	private static class Wakeup implements Comparable<Wakeup>
+	{
+		public final Resource resource;
+		public final long time;
+
+		public Wakeup(Resource resource, long time)
+		{
+			this.resource = resource;
+			this.time = time;
+		}
+
+		@Override
+		public int compareTo(Wakeup other)
+		{
+			return Long.compare(time, other.time);
 		}
 	}
 
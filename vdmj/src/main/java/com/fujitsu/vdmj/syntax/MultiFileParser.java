@@ -0,0 +1,110 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package com.fujitsu.vdmj.syntax;
+
+import java.io.File;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.messages.VDMMessage;
+
+/**
+ * A class to parse a list of files, in parallel if the parser_workers property
+ * is more than one. The results and messages are returned in file order, so
+ * they are the same as a sequential parse.
+ */
+abstract public class MultiFileParser<T>
+{
+	/**
+	 * Parse one file, adding any errors and warnings to the messages passed. This
+	 * may be called concurrently for different files, so it should catch any
+	 * exceptions and add them to the messages.
+	 */
+	abstract protected T parse(File file, List<VDMMessage> messages);
+
+	public List<T> parse(List<File> files, List<VDMMessage> messages)
+	{
+		List<T> results = new Vector<T>();
+		
+		if (Properties.parser_workers <= 1 || files.size() < 2)
+		{
+			for (File file: files)
+			{
+				results.add(parse(file, messages));
+			}
+			
+			return results;
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(Properties.parser_workers, files.size()));
+		List<Future<T>> futures = new Vector<Future<T>>();
+		List<List<VDMMessage>> fileMessages = new Vector<List<VDMMessage>>();
+		
+		try
+		{
+			for (final File file: files)
+			{
+				final List<VDMMessage> list = new Vector<VDMMessage>();
+				fileMessages.add(list);
+				
+				futures.add(executor.submit(new Callable<T>()
+				{
+					@Override
+					public T call() throws Exception
+					{
+						return parse(file, list);
+					}
+				}));
+			}
+			
+			for (int i = 0; i < futures.size(); i++)
+			{
+				results.add(futures.get(i).get());
+				messages.addAll(fileMessages.get(i));
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+		catch (ExecutionException e)
+		{
+			throw new RuntimeException(e.getCause());	// parse should catch everything
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		
+		return results;
+	}
+}
@@ -88,7 +88,7 @@ public abstract class SyntaxReader
 	private static final int MAX = 100;
 
 	/** A list of class names from the vdmj.annotations resource file */
-	private static List<String> annotationClasses = null;
+	private static volatile List<String> annotationClasses = null;
 
 	/**
 	 * Create a reader with the given lexical analyser and VDM++ flag.
@@ -351,21 +351,29 @@ public abstract class SyntaxReader
 	
 	/**
 	 * Read any annotations from the collected comments, and clear them. Note that we
-	 * don't parse annotations while inside the annotation parser.
+	 * don't parse annotations while inside the annotation parser. This is per-thread,
+	 * because files may be parsed in parallel.
 	 */
-	private static int readingAnnotations = 0;
+	private static final ThreadLocal<Integer> readingAnnotations = new ThreadLocal<Integer>()
+	{
+		@Override
+		protected Integer initialValue()
+		{
+			return 0;
+		}
+	};
 
 	protected ASTAnnotationList readAnnotations(LexCommentList comments) throws LexException, ParserException
 	{
 		ASTAnnotationList annotations = new ASTAnnotationList();
 
-		if (!Settings.annotations || readingAnnotations > 0)
+		if (!Settings.annotations || readingAnnotations.get() > 0)
 		{
 			return annotations;		// ignore nested annotations
 		}
 		else
 		{
-			readingAnnotations++;
+			readingAnnotations.set(readingAnnotations.get() + 1);
 		}
 		
 		for (int i=0; i<comments.size(); i++)
@@ -387,7 +395,7 @@ public abstract class SyntaxReader
 			}
 		}
 		
-		readingAnnotations--;
+		readingAnnotations.set(readingAnnotations.get() - 1);
 		return annotations;
 	}
 	
@@ -788,13 +796,8 @@ public abstract class SyntaxReader
 		return reader.toString();
 	}
 
-	protected ASTAnnotation loadAnnotation(LexIdentifierToken name)
-		throws ParserException, LexException
+	private static synchronized void loadAnnotationClasses()
 	{
-		String classpath = Properties.annotations_packages;
-		String[] packages = classpath.split(";|:");
-		String astName = "AST" + name + "Annotation";
-		
 		if (annotationClasses == null)
 		{
 			try
@@ -806,6 +809,16 @@ public abstract class SyntaxReader
 				// ignore
 			}
 		}
+	}
+	
+	protected ASTAnnotation loadAnnotation(LexIdentifierToken name)
+		throws ParserException, LexException
+	{
+		String classpath = Properties.annotations_packages;
+		String[] packages = classpath.split(";|:");
+		String astName = "AST" + name + "Annotation";
+		
+		loadAnnotationClasses();
 		
 		/*
 		 * The original method to load annotations uses the annotation_packages property.
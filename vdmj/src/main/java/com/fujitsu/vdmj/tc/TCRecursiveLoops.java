@@ -84,7 +84,7 @@ public class TCRecursiveLoops extends TCNode
 		applymap = new HashMap<TCDefinition, List<Apply>>();
 	}
 	
-	public void addApplyExp(TCDefinition parent, TCApplyExpression apply, TCDefinition calling)
+	public synchronized void addApplyExp(TCDefinition parent, TCApplyExpression apply, TCDefinition calling)
 	{
 		if (calling instanceof TCExplicitFunctionDefinition ||
 			calling instanceof TCImplicitFunctionDefinition)
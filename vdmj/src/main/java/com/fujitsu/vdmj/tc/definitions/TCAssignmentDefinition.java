@@ -24,6 +24,10 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
 import com.fujitsu.vdmj.tc.definitions.visitors.TCDefinitionVisitor;
 import com.fujitsu.vdmj.tc.expressions.TCExpression;
 import com.fujitsu.vdmj.tc.lex.TCNameToken;
@@ -75,6 +79,18 @@ public class TCAssignmentDefinition extends TCDefinition
 		return "assignment";
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		return Arrays.asList(name.getName());
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return new Vector<String>();	// Never finds types
+	}
+
 	@Override
 	public TCDefinitionList getDefinitions()
 	{
@@ -756,6 +756,13 @@ public class TCClassDefinition extends TCDefinition
 		return def;
 	}
 
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return null;	// Searches the class definitions and inherited definitions
+	}
+
 	/**
 	 * Find a list of definitions whose names match that passed (overloads) 
 	 */
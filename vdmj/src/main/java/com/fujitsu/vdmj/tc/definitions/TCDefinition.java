@@ -24,6 +24,7 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fujitsu.vdmj.ast.lex.LexCommentList;
@@ -278,6 +279,17 @@ public abstract class TCDefinition extends TCNode implements Comparable<TCDefini
 		return null;
 	}
 
+	/**
+	 * Return the simple names that findName could match for this definition, or
+	 * null if these cannot be determined in advance. Definitions that return null
+	 * are always searched. This is used to index long TCDefinitionLists, so any
+	 * subclass that overrides findName must override this too.
+	 */
+	public List<String> getIndexNames()
+	{
+		return null;
+	}
+
 	/**
 	 * Set the "used" flag.
 	 */
@@ -311,6 +323,16 @@ public abstract class TCDefinition extends TCNode implements Comparable<TCDefini
 		return null;
 	}
 
+	/**
+	 * Return the simple names that findType could match for this definition, or
+	 * null if these cannot be determined in advance, as for getIndexNames.
+	 * Definitions that never find types should return an empty list.
+	 */
+	public List<String> getTypeIndexNames()
+	{
+		return null;
+	}
+
 	/**
 	 * Check whether this definition has ever been used. This method is called
 	 * when a definition goes out of scope. If the "used" flag has not been set,
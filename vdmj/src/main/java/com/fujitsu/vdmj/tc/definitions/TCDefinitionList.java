@@ -24,6 +24,11 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
 import com.fujitsu.vdmj.ast.definitions.ASTDefinition;
 import com.fujitsu.vdmj.ast.definitions.ASTDefinitionList;
 import com.fujitsu.vdmj.tc.TCMappedList;
@@ -37,6 +42,82 @@ import com.fujitsu.vdmj.typechecker.NameScope;
  */
 public class TCDefinitionList extends TCMappedList<ASTDefinition, TCDefinition>
 {
+	/**
+	 * Lists of at least this size are indexed by name for findName and findType.
+	 */
+	private static final int INDEX_SIZE = 16;
+	
+	/**
+	 * A name index of the list, which is valid until the list is next modified.
+	 */
+	private class Index
+	{
+		public final int modCount;
+		public final Map<String, List<Integer>> names;
+		public final List<Integer> unindexed;
+		public final Map<String, List<Integer>> typeNames;
+		public final List<Integer> typeUnindexed;
+		
+		public Index()
+		{
+			this.modCount = TCDefinitionList.this.modCount;
+			this.names = new HashMap<String, List<Integer>>();
+			this.unindexed = new Vector<Integer>();
+			this.typeNames = new HashMap<String, List<Integer>>();
+			this.typeUnindexed = new Vector<Integer>();
+			
+			for (int i = 0; i < size(); i++)
+			{
+				TCDefinition d = get(i);
+				List<String> dnames = d.getIndexNames();
+				
+				if (dnames == null)
+				{
+					unindexed.add(i);
+				}
+				else
+				{
+					for (String name: dnames)
+					{
+						add(names, name, i);
+					}
+				}
+				
+				List<String> tnames = d.getTypeIndexNames();
+				
+				if (tnames == null)
+				{
+					typeUnindexed.add(i);
+				}
+				else
+				{
+					for (String name: tnames)
+					{
+						add(typeNames, name, i);
+					}
+				}
+			}
+		}
+		
+		private void add(Map<String, List<Integer>> map, String name, int i)
+		{
+			List<Integer> list = map.get(name);
+			
+			if (list == null)
+			{
+				list = new Vector<Integer>();
+				map.put(name, list);
+			}
+			
+			if (list.isEmpty() || list.get(list.size() - 1) != i)
+			{
+				list.add(i);
+			}
+		}
+	}
+	
+	private transient Index index = null;
+
 	public TCDefinitionList(ASTDefinitionList from) throws Exception
 	{
 		super(from);
@@ -103,9 +184,26 @@ public class TCDefinitionList extends TCMappedList<ASTDefinition, TCDefinition>
 
 	public TCDefinition findName(TCNameToken name, NameScope scope)
 	{
-		for (TCDefinition d: this)
+		if (size() < INDEX_SIZE)
+		{
+			for (TCDefinition d: this)
+			{
+				TCDefinition def = d.findName(name, scope);
+	
+				if (def != null)
+				{
+					return def;
+				}
+			}
+	
+			return null;
+		}
+		
+		Index ix = getIndex();
+		
+		for (int i: candidates(ix.names.get(name.getName()), ix.unindexed))
 		{
-			TCDefinition def = d.findName(name, scope);
+			TCDefinition def = get(i).findName(name, scope);
 
 			if (def != null)
 			{
@@ -118,9 +216,26 @@ public class TCDefinitionList extends TCMappedList<ASTDefinition, TCDefinition>
 
 	public TCDefinition findType(TCNameToken name, String fromModule)
 	{
-		for (TCDefinition d: this)
+		if (size() < INDEX_SIZE)
 		{
-			TCDefinition def = d.findType(name, fromModule);
+			for (TCDefinition d: this)
+			{
+				TCDefinition def = d.findType(name, fromModule);
+	
+				if (def != null)
+				{
+					return def;
+				}
+			}
+	
+			return null;
+		}
+		
+		Index ix = getIndex();
+		
+		for (int i: candidates(ix.typeNames.get(name.getName()), ix.typeUnindexed))
+		{
+			TCDefinition def = get(i).findType(name, fromModule);
 
 			if (def != null)
 			{
@@ -130,6 +245,67 @@ public class TCDefinitionList extends TCMappedList<ASTDefinition, TCDefinition>
 
 		return null;
 	}
+	
+	/**
+	 * Merge the positions indexed by a name with those that are not indexed, so
+	 * that the definitions are searched in list order.
+	 */
+	private List<Integer> candidates(List<Integer> named, List<Integer> unindexed)
+	{
+		if (named == null)
+		{
+			return unindexed;
+		}
+		else if (unindexed.isEmpty())
+		{
+			return named;
+		}
+		
+		List<Integer> merged = new Vector<Integer>(named.size() + unindexed.size());
+		int n = 0;
+		int u = 0;
+		
+		while (n < named.size() || u < unindexed.size())
+		{
+			if (u == unindexed.size() || (n < named.size() && named.get(n) < unindexed.get(u)))
+			{
+				merged.add(named.get(n++));
+			}
+			else
+			{
+				merged.add(unindexed.get(u++));
+			}
+		}
+		
+		return merged;
+	}
+	
+	private Index getIndex()
+	{
+		Index ix = index;
+		
+		if (ix == null || ix.modCount != modCount)
+		{
+			ix = new Index();
+			index = ix;
+		}
+		
+		return ix;
+	}
+	
+	@Override
+	public synchronized TCDefinition set(int i, TCDefinition def)
+	{
+		index = null;
+		return super.set(i, def);
+	}
+	
+	@Override
+	public synchronized void setElementAt(TCDefinition def, int i)
+	{
+		index = null;
+		super.setElementAt(def, i);
+	}
 
 	public TCStateDefinition findStateDefinition()
 	{
@@ -24,8 +24,11 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
+import java.util.Vector;
 
 import com.fujitsu.vdmj.lex.Token;
 import com.fujitsu.vdmj.tc.annotations.TCAnnotationList;
@@ -615,6 +618,24 @@ public class TCExplicitFunctionDefinition extends TCDefinition
 		return null;
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		if (measureExp instanceof TCVariableExpression)
+		{
+			return null;	// A named measure function can be found via measureDef
+		}
+		
+		String n = name.getName();
+		return Arrays.asList(n, "pre_" + n, "post_" + n, "measure_" + n, "pre_measure_" + n, "post_measure_" + n);
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return new Vector<String>();	// Never finds types
+	}
+
 	@Override
 	public TCDefinitionList getDefinitions()
 	{
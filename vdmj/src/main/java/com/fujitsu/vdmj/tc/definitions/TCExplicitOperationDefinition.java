@@ -24,7 +24,10 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Vector;
 
 import com.fujitsu.vdmj.Release;
 import com.fujitsu.vdmj.Settings;
@@ -410,6 +413,19 @@ public class TCExplicitOperationDefinition extends TCDefinition
 		return null;
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		String n = name.getName();
+		return Arrays.asList(n, "pre_" + n, "post_" + n);
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return new Vector<String>();	// Never finds types
+	}
+
 	@Override
 	public TCDefinitionList getDefinitions()
 	{
@@ -24,6 +24,10 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
 import com.fujitsu.vdmj.lex.Token;
 import com.fujitsu.vdmj.tc.annotations.TCAnnotationList;
 import com.fujitsu.vdmj.tc.definitions.visitors.TCDefinitionVisitor;
@@ -508,6 +512,24 @@ public class TCImplicitFunctionDefinition extends TCDefinition
 		return null;
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		if (measureExp instanceof TCVariableExpression)
+		{
+			return null;	// A named measure function can be found via measureDef
+		}
+		
+		String n = name.getName();
+		return Arrays.asList(n, "pre_" + n, "post_" + n, "measure_" + n, "pre_measure_" + n, "post_measure_" + n);
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return new Vector<String>();	// Never finds types
+	}
+
 	@Override
 	public TCDefinitionList getDefinitions()
 	{
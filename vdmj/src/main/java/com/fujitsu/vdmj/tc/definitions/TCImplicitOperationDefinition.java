@@ -24,6 +24,10 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
 import com.fujitsu.vdmj.Release;
 import com.fujitsu.vdmj.Settings;
 import com.fujitsu.vdmj.lex.Dialect;
@@ -522,6 +526,19 @@ public class TCImplicitOperationDefinition extends TCDefinition
 		return null;
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		String n = name.getName();
+		return Arrays.asList(n, "pre_" + n, "post_" + n);
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return new Vector<String>();	// Never finds types
+	}
+
 	@Override
 	public TCDefinitionList getDefinitions()
 	{
@@ -24,6 +24,7 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fujitsu.vdmj.lex.LexLocation;
@@ -167,6 +168,18 @@ public class TCImportedDefinition extends TCDefinition
 		return d;
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		return def.getIndexNames();
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return def.getTypeIndexNames();
+	}
+
 	@Override
 	public boolean isFunction()
 	{
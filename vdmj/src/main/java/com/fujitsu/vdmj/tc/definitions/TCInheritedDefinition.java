@@ -24,6 +24,9 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.fujitsu.vdmj.tc.definitions.visitors.TCDefinitionVisitor;
 import com.fujitsu.vdmj.tc.lex.TCNameToken;
 import com.fujitsu.vdmj.tc.types.TCType;
@@ -147,6 +150,12 @@ public class TCInheritedDefinition extends TCDefinition
 		return null;
 	}
 
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return Arrays.asList(name.getName());
+	}
+
 	@Override
 	public boolean isFunction()
 	{
@@ -24,6 +24,9 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.fujitsu.vdmj.lex.Token;
 import com.fujitsu.vdmj.tc.definitions.visitors.TCDefinitionVisitor;
 import com.fujitsu.vdmj.tc.lex.TCNameToken;
@@ -111,6 +114,12 @@ public class TCQualifiedDefinition extends TCDefinition
 		return super.findName(sought, scope);	// NB. Not delegated!
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		return Arrays.asList(name.getName());
+	}
+
 	@Override
 	public void markUsed()
 	{
@@ -123,6 +132,12 @@ public class TCQualifiedDefinition extends TCDefinition
 		return def.findType(sought, fromModule);
 	}
 
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return def.getTypeIndexNames();
+	}
+
 	@Override
 	public void unusedCheck()
 	{
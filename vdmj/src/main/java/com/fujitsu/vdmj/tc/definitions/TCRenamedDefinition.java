@@ -24,6 +24,10 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
 import com.fujitsu.vdmj.tc.definitions.visitors.TCDefinitionVisitor;
 import com.fujitsu.vdmj.tc.lex.TCNameToken;
 import com.fujitsu.vdmj.tc.types.TCType;
@@ -111,6 +115,27 @@ public class TCRenamedDefinition extends TCDefinition
 		}
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		return Arrays.asList(name.getName());
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		List<String> names = def.getTypeIndexNames();	// May find the original
+		
+		if (names == null)
+		{
+			return null;
+		}
+		
+		names = new Vector<String>(names);
+		names.add(name.getName());
+		return names;
+	}
+
 	@Override
 	public TCDefinition findType(TCNameToken sought, String fromModule)
 	{
@@ -24,6 +24,10 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
 import com.fujitsu.vdmj.lex.LexLocation;
 import com.fujitsu.vdmj.tc.definitions.visitors.TCDefinitionVisitor;
 import com.fujitsu.vdmj.tc.expressions.TCExpression;
@@ -246,6 +250,27 @@ public class TCStateDefinition extends TCDefinition
 		return null;
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		List<String> names = new Vector<String>();
+		names.add("inv_" + name.getName());
+		names.add("init_" + name.getName());
+		
+		for (TCDefinition d: statedefs)
+		{
+			names.add(d.name.getName());
+		}
+		
+		return names;
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return Arrays.asList(name.getName());
+	}
+
 	@Override
 	public TCType getType()
 	{
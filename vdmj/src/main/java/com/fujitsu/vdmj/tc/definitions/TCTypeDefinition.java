@@ -24,6 +24,10 @@
 
 package com.fujitsu.vdmj.tc.definitions;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
 import com.fujitsu.vdmj.ast.expressions.ASTExpression;
 import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.lex.Dialect;
@@ -398,6 +402,33 @@ public class TCTypeDefinition extends TCDefinition
 		return null;
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		String n = name.getName();
+		return Arrays.asList("inv_" + n, "eq_" + n, "ord_" + n, "min_" + n, "max_" + n);
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		List<String> names = new Vector<String>();
+		names.add(name.getName());
+		
+		if (type instanceof TCNamedType)
+		{
+			TCNamedType nt = (TCNamedType)type;
+
+			for (TCType compose: nt.type.getComposeTypes())
+			{
+				TCRecordType rtype = (TCRecordType)compose;
+				names.add(rtype.name.getName());
+			}
+		}
+		
+		return names;
+	}
+
 	@Override
 	public TCDefinition findType(TCNameToken sought, String fromModule)
 	{
@@ -25,6 +25,8 @@
 package com.fujitsu.vdmj.tc.definitions;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.Vector;
 
 import com.fujitsu.vdmj.lex.Token;
 import com.fujitsu.vdmj.tc.annotations.TCAnnotationList;
@@ -296,6 +298,25 @@ public class TCValueDefinition extends TCDefinition
 		return defs.findName(sought, scope);
 	}
 
+	@Override
+	public List<String> getIndexNames()
+	{
+		List<String> names = new Vector<String>();
+		
+		for (TCNameToken var: pattern.getVariableNames())
+		{
+			names.add(var.getName());
+		}
+		
+		return names;
+	}
+
+	@Override
+	public List<String> getTypeIndexNames()
+	{
+		return new Vector<String>();	// Never finds types
+	}
+
 	@Override
 	public TCType getType()
 	{
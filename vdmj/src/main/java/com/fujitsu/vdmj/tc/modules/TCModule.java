@@ -25,7 +25,9 @@
 package com.fujitsu.vdmj.tc.modules;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
 
 import com.fujitsu.vdmj.ast.lex.LexCommentList;
@@ -249,10 +251,32 @@ public class TCModule extends TCNode
 		List<String> done = new Vector<String>();
 
 		TCDefinitionList singles = defs.singleDefinitions();
+		Map<String, TCDefinitionList> byName = new HashMap<String, TCDefinitionList>();
+		
+		for (TCDefinition def: singles)
+		{
+			if (def.name != null)
+			{
+				TCDefinitionList list = byName.get(def.name.getName());
+				
+				if (list == null)
+				{
+					list = new TCDefinitionList();
+					byName.put(def.name.getName(), list);
+				}
+				
+				list.add(def);
+			}
+		}
 
 		for (TCDefinition def1: singles)
 		{
-			for (TCDefinition def2: singles)
+			if (def1.name == null)
+			{
+				continue;
+			}
+			
+			for (TCDefinition def2: byName.get(def1.name.getName()))
 			{
 				if (def1 != def2 &&
 					def1.name != null && def2.name != null &&
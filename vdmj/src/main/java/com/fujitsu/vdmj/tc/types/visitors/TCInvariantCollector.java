@@ -0,0 +1,83 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package com.fujitsu.vdmj.tc.types.visitors;
+
+import java.util.List;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.tc.types.TCInvariantType;
+import com.fujitsu.vdmj.tc.types.TCNamedType;
+import com.fujitsu.vdmj.tc.types.TCRecordType;
+import com.fujitsu.vdmj.tc.types.TCType;
+
+/**
+ * This visitor produces a list of the named and record types contained in the
+ * TCType being visited that have an invariant, equality or order clause. Values
+ * of these types cannot be created without evaluating the clause functions.
+ */
+public class TCInvariantCollector extends TCLeafTypeVisitor<TCInvariantType, List<TCInvariantType>, Object>
+{
+	public TCInvariantCollector()
+	{
+		// No visitorSet
+	}
+
+	@Override
+	public List<TCInvariantType> caseNamedType(TCNamedType node, Object arg)
+	{
+		List<TCInvariantType> all = super.caseNamedType(node, arg);
+		add(node, all);
+		return all;
+	}
+
+	@Override
+	public List<TCInvariantType> caseRecordType(TCRecordType node, Object arg)
+	{
+		List<TCInvariantType> all = super.caseRecordType(node, arg);
+		add(node, all);
+		return all;
+	}
+
+	@Override
+	public List<TCInvariantType> caseType(TCType node, Object arg)
+	{
+		return newCollection();
+	}
+
+	@Override
+	protected List<TCInvariantType> newCollection()
+	{
+		return new Vector<TCInvariantType>();
+	}
+
+	private void add(TCInvariantType node, List<TCInvariantType> all)
+	{
+		if (node.invdef != null || node.eqdef != null || node.orddef != null)
+		{
+			all.add(node);
+		}
+	}
+}
@@ -65,6 +65,14 @@ public class AlternativeIterator extends TraceIterator
 		return test;
 	}
 
+	@Override
+	public CallSequence getTest(long index)
+	{
+		CallSequence test = getVariables();
+		test.addAll(alternatives.getTestAlternative(index));
+		return test;
+	}
+
 	@Override
 	public boolean hasMoreTests()
 	{
@@ -72,7 +80,7 @@ public class AlternativeIterator extends TraceIterator
 	}
 
 	@Override
-	public int count()
+	public long count()
 	{
 		return alternatives.countAlternative();
 	}
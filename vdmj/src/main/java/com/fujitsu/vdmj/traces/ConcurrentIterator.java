@@ -24,20 +24,17 @@
 
 package com.fujitsu.vdmj.traces;
 
-import com.fujitsu.vdmj.util.Selector;
-
 
 public class ConcurrentIterator extends TraceIterator
 {
 	private final TraceIteratorList nodes;
-	
-	private PermuteArray permutations = null;	// Of the node orderings
-	private int[] permutation = null;			// The current ordering
-	private Selector selector = null;			// Of the alternatives from each node
+	private final long count;
+	private long nextTest = 0;
 
 	public ConcurrentIterator(TraceIteratorList nodes)
 	{
 		this.nodes = nodes;
+		this.count = multiply(nodes.countSequence(), factorial(nodes.size()));
 	}
 
 	@Override
@@ -61,57 +58,39 @@ public class ConcurrentIterator extends TraceIterator
 	@Override
 	public CallSequence getNextTest()
 	{
-		int nodesSize = nodes.size();
-		
-		if (permutations == null)	// First time in
+		return getTest(nextTest++);
+	}
+
+	@Override
+	public CallSequence getTest(long index)
+	{
+		if (index < 0 || index >= count)
 		{
-			permutations = new PermuteArray(nodes.size());
-			selector = null;
+			throw new RuntimeException("Test index " + index + " out of range");
 		}
 		
-		if ((selector == null || !selector.hasNext()) &&	// Start next perm
-			permutations.hasNext())
-		{
-			permutation = permutations.next();
-			selector = null;
-		}
+		// The tests are every selection of one test from each node, for each
+		// permutation of the node orderings in turn. The selection is a mixed radix
+		// number, with the first node varying fastest.
+		
+		int nodesSize = nodes.size();
+		long selections = nodes.countSequence();
+		int[] permutation = PermuteArray.getPermutation(nodesSize, index / selections);
+		long select = index % selections;
+		CallSequence[] subsequences = new CallSequence[nodesSize];
 		
-		if (selector == null)		// First for a given permutation
+		for (int node=0; node<nodesSize; node++)
 		{
-			int[] c = new int[nodesSize];
-			
-			for (int i=0; i<nodesSize; i++)
-			{
-				c[i] = nodes.get(i).count();
-			}
-			
-			selector = new Selector(c);
+			long count = nodes.get(node).count();
+			subsequences[node] = nodes.get(node).getTest(select % count);
+			select = select / count;
 		}
 
 		CallSequence test = getVariables();
-		
-		if (selector.hasNext())
+
+		for (int i=0; i<nodesSize; i++)		// Add in permutation order
 		{
-			int[] select = selector.next();
-			
-			// The select array contains a set of numbers, being the elements of
-			// the expansion of each node that must be concatenated.
-			
-			CallSequence[] subsequences = new CallSequence[nodesSize];
-			nodes.reset();
-			
-			for (int node=0; node<nodesSize; node++)
-			{
-				for (int i=0; i<=select[node]; i++)		// Drive each iterator to the nth
-				{
-					subsequences[node] = nodes.get(node).getNextTest();
-				}
-			}
-			
-			for (int i=0; i<nodesSize; i++)		// Add in permutation order
-			{
-				test.addAll(subsequences[permutation[i]]);
-			}
+			test.addAll(subsequences[permutation[i]]);
 		}
 		
 		return test;
@@ -120,25 +99,31 @@ public class ConcurrentIterator extends TraceIterator
 	@Override
 	public boolean hasMoreTests()
 	{
-		return permutations == null || permutations.hasNext() ||
-			(selector != null && selector.hasNext());
+		return nextTest < count;
 	}
 
 	@Override
-	public int count()
+	public long count()
 	{
-		return nodes.countSequence() * factorial(nodes.size());
+		return count;
 	}
 
-	private int factorial(int size)
+	private long factorial(int size)
 	{
-		return (size == 1) ? 1 : size * factorial(size - 1);
+		long result = 1;
+		
+		for (int i=2; i<=size; i++)
+		{
+			result = multiply(result, i);
+		}
+		
+		return result;
 	}
 
 	@Override
 	public void reset()
 	{
 		nodes.reset();
-		permutations = null;
+		nextTest = 0;
 	}
 }
@@ -27,6 +27,8 @@
 package com.fujitsu.vdmj.traces;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
 
 public class PermuteArray
 {
@@ -158,6 +160,46 @@ public class PermuteArray
 		return a;
 	}
 	
+	//--------------------------------------------------------
+	// Generate the permutation with the given index, counting
+	// from zero in the order that next() produces them, which
+	// is lexicographic. The index is decoded as a factorial
+	// base number, so no earlier permutations are generated.
+	//--------------------------------------------------------
+
+	public static int[] getPermutation(int n, long index)
+	{
+		List<Integer> unused = new Vector<Integer>();
+		
+		for (int i = 0; i < n; i++)
+		{
+			unused.add(i);
+		}
+		
+		int[] result = new int[n];
+		
+		for (int i = 0; i < n; i++)
+		{
+			int left = n - 1 - i;
+			long radix = 1;		// The factorial of left, if that fits in a long
+			
+			for (int j = 2; j <= left && radix > 0; j++)
+			{
+				radix = (radix > Long.MAX_VALUE / j) ? 0 : radix * j;
+			}
+			
+			int digit = (radix == 0) ? 0 : (int)(index / radix);	// Too big => zero
+			result[i] = unused.remove(digit);
+			
+			if (radix > 0)
+			{
+				index = index % radix;
+			}
+		}
+		
+		return result;
+	}
+	
 	public static void main(String[] args)
 	{
 		PermuteArray p = new PermuteArray(4);
@@ -24,11 +24,8 @@
 
 package com.fujitsu.vdmj.traces;
 
-import java.util.Arrays;
-
 import com.fujitsu.vdmj.in.statements.INSkipStatement;
 import com.fujitsu.vdmj.lex.LexLocation;
-import com.fujitsu.vdmj.util.Selector;
 
 public class RepeatIterator extends TraceIterator
 {
@@ -37,9 +34,9 @@ public class RepeatIterator extends TraceIterator
 	private final int from;
 	private final int to;
 	
-	private int repeatCount;
-	private Integer repeatValue;
-	private Selector permutor;
+	private final long repeatCount;
+	private final long count;
+	private long nextTest;
 	
 	public RepeatIterator(TraceIterator repeat, long from, long to)
 	{
@@ -47,8 +44,16 @@ public class RepeatIterator extends TraceIterator
 		this.from = (int)from;
 		this.to = (int)to;
 		
-		repeatValue = this.from;
 		repeatCount = repeat.count();
+		nextTest = 0;
+		long n = 0;
+		
+		for (int rval=this.from; rval <= this.to; rval++)
+		{
+			n = add(n, power(rval));
+		}
+		
+		count = n;
 	}
 
 	@Override
@@ -63,82 +68,74 @@ public class RepeatIterator extends TraceIterator
 	@Override
 	public CallSequence getNextTest()
 	{
-		if (permutor == null)	// Start new permutor for repeatValue
-		{
-			int[] c = new int[repeatValue];
-			Arrays.fill(c, repeatCount);
-			permutor = new Selector(c);
-		}
-		
-		CallSequence test = getVariables();
+		return getTest(nextTest++);
+	}
+
+	@Override
+	public CallSequence getTest(long index)
+	{
+		long remaining = index;
 		
-		if (permutor.hasNext())
+		for (int rval=from; rval <= to; rval++)
 		{
-			int[] select = permutor.next();
-			
-			// The select array contains a set of numbers, being the elements of
-			// the expansion of "repeat" that must be concatenated.
-			
-			CallSequence[] subsequences = new CallSequence[repeatCount];
-			repeat.reset();
-			
-			for (int i=0; i<repeatCount; i++)
-			{
-				subsequences[i] = repeat.getNextTest();
-			}
+			long block = power(rval);	// Tests with rval repeats
 			
-			for (int i=0; i<repeatValue; i++)	// ie. {n} additions
-			{
-				test.addAll(subsequences[select[i]]);
-			}
-		}
-
-		if (!permutor.hasNext())		// Exhausted permutor for repeatValue
-		{
-			permutor = null;
-
-			if (repeatValue == 0)		// ie. "?" or zero times
+			if (remaining < block)
 			{
-				test.add(SKIP);
+				CallSequence test = getVariables();
+				
+				if (rval == 0)		// ie. "?" or zero times
+				{
+					test.add(SKIP);
+				}
+				
+				// The index within the block is a number in base repeatCount, with
+				// rval digits. Each digit selects the element of the expansion of
+				// "repeat" for one of the {n} additions, the first varying fastest.
+				
+				for (int i=0; i<rval; i++)
+				{
+					test.addAll(repeat.getTest(remaining % repeatCount));
+					remaining = remaining / repeatCount;
+				}
+				
+				return test;
 			}
 			
-			if (repeatValue < to)
-			{
-				repeatValue++;
-			}
-			else
-			{
-				repeatValue = null;		// Indicates no more tests
-			}
+			remaining = remaining - block;
 		}
 		
-		return test;
+		throw new RuntimeException("Test index " + index + " out of range");
 	}
 
 	@Override
 	public boolean hasMoreTests()
 	{
-		return repeatValue != null;		// Cleared by getNextTest
+		return nextTest < count;
 	}
 
 	@Override
-	public int count()
+	public long count()
 	{
-		int n = 0;
-		
-		for (int rval=from; rval <= to; rval++)
-		{
-			n = (int) (n + Math.pow(repeatCount, rval));
-		}
-		
-		return n;
+		return count;
 	}
 
 	@Override
 	public void reset()
 	{
 		repeat.reset();
-		repeatValue = from;
-		permutor = null;
+		nextTest = 0;
+	}
+	
+	private long power(int rval)
+	{
+		long n = 1;
+		
+		for (int i=0; i<rval; i++)
+		{
+			n = multiply(n, repeatCount);
+		}
+		
+		return n;
 	}
 }
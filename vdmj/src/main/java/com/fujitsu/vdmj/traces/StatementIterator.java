@@ -52,6 +52,19 @@ public class StatementIterator extends TraceIterator
 		return test;
 	}
 
+	@Override
+	public CallSequence getTest(long index)
+	{
+		if (index != 0)
+		{
+			throw new RuntimeException("Test index " + index + " out of range");
+		}
+
+		CallSequence test = getVariables();
+		test.add(statement);
+		return test;
+	}
+
 	@Override
 	public boolean hasMoreTests()
 	{
@@ -59,7 +72,7 @@ public class StatementIterator extends TraceIterator
 	}
 
 	@Override
-	public int count()
+	public long count()
 	{
 		return 1;
 	}
@@ -24,12 +24,17 @@
 
 package com.fujitsu.vdmj.traces;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.Vector;
 
+import com.fujitsu.vdmj.in.traces.INTraceVariableStatement;
+
 /**
  * A class to filter whether tests are performed, by various criteria.
  */
@@ -40,13 +45,12 @@ public class TraceFilter
 	private final TraceReductionType reductionType;
 	private final Random prng;
 	
-	private List<CallSequence> failedTests = new Vector<CallSequence>();
-	private List<Integer> failedStems = new Vector<Integer>();
-	private List<Integer> failedNumbers = new Vector<Integer>();
+	private StemNode failedStems = new StemNode();
+	private int failedCount = 0;
 	private Set<String> shapes = new HashSet<String>();
 	private int extras = 0;
 	
-	private Set<Integer> included = new HashSet<Integer>();
+	private TreeSet<Integer> included = new TreeSet<Integer>();
 	
 	public TraceFilter(int count, float subset, TraceReductionType reductionType, long seed)
 	{
@@ -73,26 +77,91 @@ public class TraceFilter
 		}
 	}
 
+	/**
+	 * The stems of the failed tests are held in a trie, keyed by the statements of
+	 * the stem, so that a test is only compared with the failed stems that share
+	 * its prefix. A test is filtered by the earliest failure whose stem it matches,
+	 * as defined by CallSequence.compareStem.
+	 */
+	private static class StemNode
+	{
+		public final Map<String, StemNode> children = new HashMap<String, StemNode>();
+		public final List<Failure> failures = new Vector<Failure>();
+	}
+	
+	private static class Failure
+	{
+		public final int order;		// Of the update calls
+		public final int number;	// The failed test number
+		public final int size;		// The size of the failed test
+		
+		public Failure(int order, int number, int size)
+		{
+			this.order = order;
+			this.number = number;
+			this.size = size;
+		}
+	}
+
 	public int getFilteredBy(CallSequence test)
 	{
-		for (int i=0; i<failedTests.size(); i++)
+		StemNode node = failedStems;
+		Failure first = null;
+		int i = 0;
+		
+		while (node != null)
 		{
-			if (failedTests.get(i).compareStem(test, failedStems.get(i)))
+			for (Failure failure: node.failures)
 			{
-				return failedNumbers.get(i);
+				if (test.size() >= failure.size && (first == null || failure.order < first.order))
+				{
+					first = failure;
+					break;	// Later ones at this node have a higher order
+				}
 			}
+			
+			node = (i < test.size()) ? node.children.get(test.get(i++).toString()) : null;
 		}
 		
-		return 0;
+		return (first == null) ? 0 : first.number;
 	}
 
 	public void update(List<Object> result, CallSequence test, int n)
 	{
 		if (result.get(result.size()-1) != Verdict.PASSED)
 		{
-			failedTests.add(test);
-			failedStems.add(result.size() - 1);
-			failedNumbers.add(n);
+			// The stem is the statements up to the failure, with any variable statements
+			// between them. See CallSequence.compareStem.
+			
+			int upto = result.size() - 1;
+			StemNode node = failedStems;
+			int i = 0;
+			
+			for (int count=0; count<upto; i++)
+			{
+				if (i >= test.size())
+				{
+					return;		// Can never match
+				}
+				
+				String key = test.get(i).toString();
+				StemNode next = node.children.get(key);
+				
+				if (next == null)
+				{
+					next = new StemNode();
+					node.children.put(key, next);
+				}
+				
+				node = next;
+				
+				if (!(test.get(i) instanceof INTraceVariableStatement))
+				{
+					count++;
+				}
+			}
+			
+			node.failures.add(new Failure(failedCount++, n, test.size()));
 		}
 	}
 
@@ -158,6 +227,33 @@ public class TraceFilter
 		return false;
 	}
 	
+	/**
+	 * True if the tests selected can be decided by their number alone, so that only
+	 * those tests need to be generated, using getNextIncluded and TraceIterator.getTest.
+	 * Shape reductions have to see every test.
+	 */
+	public boolean isIndexed()
+	{
+		return reductionType == TraceReductionType.NONE || reductionType == TraceReductionType.RANDOM;
+	}
+
+	/**
+	 * Return the first test number, from the one passed, that is not removed by the
+	 * reduction, or Integer.MAX_VALUE if there is none. Only valid if isIndexed.
+	 */
+	public int getNextIncluded(int number)
+	{
+		if (reductionType == TraceReductionType.RANDOM && included.size() > 0)
+		{
+			Integer next = included.ceiling(number);
+			return (next == null) ? Integer.MAX_VALUE : next;
+		}
+		else
+		{
+			return number;
+		}
+	}
+	
 	public int getFilteredCount()
 	{
 		if (subset < 1.0 && reductionType == TraceReductionType.RANDOM)
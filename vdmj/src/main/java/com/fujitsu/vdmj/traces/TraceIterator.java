@@ -57,7 +57,41 @@ public abstract class TraceIterator
 
 	abstract public CallSequence getNextTest();
 
-	abstract public int count();
+	/**
+	 * Return the test with the given index, counting from zero in the order that
+	 * getNextTest produces them. The index is decoded directly, so the tests before
+	 * it are not generated, and the state of the iteration is not affected.
+	 */
+	abstract public CallSequence getTest(long index);
+
+	/**
+	 * The number of tests, which is limited to Long.MAX_VALUE rather than overflowing.
+	 */
+	abstract public long count();
 	
 	abstract public void reset();
+
+	protected static long add(long a, long b)
+	{
+		try
+		{
+			return Math.addExact(a, b);
+		}
+		catch (ArithmeticException e)
+		{
+			return Long.MAX_VALUE;
+		}
+	}
+
+	protected static long multiply(long a, long b)
+	{
+		try
+		{
+			return Math.multiplyExact(a, b);
+		}
+		catch (ArithmeticException e)
+		{
+			return Long.MAX_VALUE;
+		}
+	}
 }
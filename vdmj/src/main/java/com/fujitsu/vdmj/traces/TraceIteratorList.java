@@ -48,25 +48,25 @@ public class TraceIteratorList extends Vector<TraceIterator>
 		lastAlternative = null;
 	}
 	
-	public int countSequence()
+	public long countSequence()
 	{
-		int result = 1;
+		long result = 1;
 		
 		for (TraceIterator iter: this)
 		{
-			result = result * iter.count();
+			result = TraceIterator.multiply(result, iter.count());
 		}
 		
 		return result;
 	}
 
-	public int countAlternative()
+	public long countAlternative()
 	{
-		int result = 0;
+		long result = 0;
 		
 		for (TraceIterator iter: this)
 		{
-			result = result + iter.count();
+			result = TraceIterator.add(result, iter.count());
 		}
 		
 		return result;
@@ -160,6 +160,48 @@ public class TraceIteratorList extends Vector<TraceIterator>
 		throw new RuntimeException("Called getNextTest() when !hasMoreTests()");
 	}
 	
+	/**
+	 * Add together one subsequence from each iterator, for the test with the given
+	 * index. This is the order of getNextTestSequence, where the first iterator varies
+	 * fastest, so the index is a mixed radix number with one digit per iterator.
+	 */
+	public CallSequence getTestSequence(long index)
+	{
+		CallSequence seq = new CallSequence();
+		
+		for (TraceIterator iter: this)
+		{
+			long count = iter.count();
+			seq.addAll(iter.getTest(index % count));
+			index = index / count;
+		}
+		
+		return seq;
+	}
+
+	/**
+	 * Return the subsequence for the test with the given index, being the tests of
+	 * each iterator in turn.
+	 */
+	public CallSequence getTestAlternative(long index)
+	{
+		long remaining = index;
+		
+		for (TraceIterator iter: this)
+		{
+			long count = iter.count();
+			
+			if (remaining < count)
+			{
+				return iter.getTest(remaining);
+			}
+			
+			remaining = remaining - count;
+		}
+		
+		throw new RuntimeException("Test index " + index + " out of range");
+	}
+	
 	/**
 	 * Get the simplest alternative iterator representing the list.
 	 */
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package com.fujitsu.vdmj.traces;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.in.statements.INStatement;
+
+/**
+ * A prefix tree of trace tests, keyed by the statements of each test. Tests that
+ * share a prefix share the nodes for it, so a run of the tree can execute each
+ * shared prefix once, rolling the state back to where the tests diverge. The
+ * tests are keyed by statement strings, as for CallSequence.compareStem.
+ */
+public class TracePrefixTree
+{
+	public static class Node
+	{
+		public final INStatement statement;
+		public final Map<String, Node> children = new LinkedHashMap<String, Node>();
+		public final List<Integer> ending = new Vector<Integer>();	// Tests that end here
+
+		public Node(INStatement statement)
+		{
+			this.statement = statement;
+		}
+	}
+
+	private final Node root = new Node(null);
+	private final List<List<Object>> results = new Vector<List<Object>>();
+
+	/**
+	 * Add a test to the tree, returning its index for getResult.
+	 */
+	public int add(CallSequence test)
+	{
+		Node node = root;
+
+		for (INStatement statement: test)
+		{
+			String key = statement.toString();
+			Node next = node.children.get(key);
+
+			if (next == null)
+			{
+				next = new Node(statement);
+				node.children.put(key, next);
+			}
+
+			node = next;
+		}
+
+		node.ending.add(results.size());
+		results.add(null);
+		return results.size() - 1;
+	}
+
+	public Node getRoot()
+	{
+		return root;
+	}
+
+	public int size()
+	{
+		return results.size();
+	}
+
+	/**
+	 * Set the result of the tests that end at the node passed.
+	 */
+	public void setResult(Node node, List<Object> result)
+	{
+		for (int test: node.ending)
+		{
+			results.set(test, result);
+		}
+	}
+
+	/**
+	 * Set the result of every test that passes through the node, which is used
+	 * when the node's statement fails.
+	 */
+	public void setResults(Node node, List<Object> result)
+	{
+		setResult(node, result);
+
+		for (Node child: node.children.values())
+		{
+			setResults(child, result);
+		}
+	}
+
+	public List<Object> getResult(int test)
+	{
+		return results.get(test);
+	}
+}
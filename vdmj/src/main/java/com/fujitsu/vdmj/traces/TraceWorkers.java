@@ -0,0 +1,314 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package com.fujitsu.vdmj.traces;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.messages.ConsoleWriter;
+
+/**
+ * A class to run the tests of a trace in a number of worker processes. Each worker
+ * is a separate VDMJ that loads the same specification and runs every Nth test of
+ * the trace (see the vdmj.traces.shard_* properties), writing its results to stdout,
+ * which is captured in a temporary file. Workers do not filter tests whose stems
+ * have failed, because the failure may be in another worker's shard. Their raw
+ * results are returned by test number, and the filtering is done by the caller,
+ * in test number order. Separate processes are used because the interpreter state
+ * is global to a JVM.
+ */
+public class TraceWorkers
+{
+	private static final String TAG = "#TEST";
+
+	private final int workers;
+
+	public TraceWorkers(int workers)
+	{
+		this.workers = workers;
+	}
+	
+	/**
+	 * Returns true if this process is a worker, running one shard of a trace.
+	 */
+	public static boolean isWorker()
+	{
+		return Properties.traces_shard_count > 0;
+	}
+	
+	/**
+	 * Returns true if this worker should run the given test number.
+	 */
+	public static boolean inShard(int testNumber)
+	{
+		return (testNumber - 1) % Properties.traces_shard_count == Properties.traces_shard_index;
+	}
+
+	/**
+	 * Write one test result from a worker, in a form that can be read by readResults.
+	 * Tab separated fields are used, escaped, since results contain commas and spaces.
+	 */
+	public static void writeResult(ConsoleWriter writer, int testNumber, List<Object> result)
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(TAG);
+		sb.append('\t');
+		sb.append(testNumber);
+		
+		for (Object r: result)
+		{
+			sb.append('\t');
+			sb.append(escape(String.valueOf(r)));
+		}
+
+		writer.println(sb.toString());
+	}
+
+	/**
+	 * Run the tests in a trace over the worker processes, and return the merged raw
+	 * results, keyed by test number. As for runtrace, a start test of zero means the
+	 * first test, with any reduction applied, up to the end test.
+	 */
+	public Map<Integer, List<Object>> run(Iterable<File> files, String tracename,
+		int startTest, int endTest, float subset, TraceReductionType reductionType, long seed)
+		throws Exception
+	{
+		File dir = Files.createTempDirectory("vdmj-traces").toFile();
+		Process[] processes = new Process[workers];
+		Map<Integer, List<Object>> merged = new HashMap<Integer, List<Object>>();
+		
+		try
+		{
+			for (int w = 0; w < workers; w++)
+			{
+				ProcessBuilder pb = new ProcessBuilder(command(w, files));
+				pb.redirectErrorStream(true);
+				pb.redirectOutput(new File(dir, "worker" + w + ".txt"));
+				processes[w] = pb.start();
+				
+				try (Writer stdin = new PrintWriter(processes[w].getOutputStream()))
+				{
+					stdin.write("seedtrace " + seed + "\n");
+					
+					if (subset < 1.0)
+					{
+						stdin.write("filter " + subset * 100 + "\n");
+					}
+					
+					if (reductionType != TraceReductionType.NONE)
+					{
+						stdin.write("filter " + reductionType + "\n");
+					}
+					
+					// A start of zero runs from the first test to the end test, keeping
+					// any reduction, which is suppressed if a start is given.
+					stdin.write("runtrace " + tracename + " " + startTest + " " + endTest + "\n");
+				}
+			}
+			
+			for (int w = 0; w < workers; w++)
+			{
+				if (processes[w].waitFor() != 0)
+				{
+					throw new Exception("Trace worker " + w + " failed, see " + new File(dir, "worker" + w + ".txt"));
+				}
+				
+				readResults(new File(dir, "worker" + w + ".txt"), merged);
+			}
+		}
+		finally
+		{
+			for (Process p: processes)
+			{
+				if (p != null && p.isAlive())
+				{
+					p.destroyForcibly();
+				}
+			}
+		}
+		
+		for (int w = 0; w < workers; w++)
+		{
+			new File(dir, "worker" + w + ".txt").delete();
+		}
+		
+		dir.delete();
+		return merged;
+	}
+
+	private List<String> command(int shard, Iterable<File> files)
+	{
+		List<String> cmd = new Vector<String>();
+		cmd.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		
+		cmd.add("-cp");
+		cmd.add(System.getProperty("java.class.path"));
+		
+		// Workers use the current property values, which may have been changed since
+		// they were read, as well as any other vdmj System properties.
+		Map<String, String> properties = new TreeMap<String, String>();
+		
+		for (Entry<Object, Object> entry: System.getProperties().entrySet())
+		{
+			String key = entry.getKey().toString();
+			
+			if (key.startsWith("vdmj."))
+			{
+				properties.put(key, entry.getValue().toString());
+			}
+		}
+		
+		for (Entry<Object, Object> entry: Properties.getValues().entrySet())
+		{
+			properties.put(entry.getKey().toString(), entry.getValue().toString());
+		}
+		
+		properties.put("vdmj.traces.workers", "1");
+		properties.put("vdmj.traces.shard_count", Integer.toString(workers));
+		properties.put("vdmj.traces.shard_index", Integer.toString(shard));
+		
+		for (Entry<String, String> entry: properties.entrySet())
+		{
+			cmd.add("-D" + entry.getKey() + "=" + entry.getValue());
+		}
+		
+		cmd.add("VDMJ");
+		cmd.add(Settings.dialect.getArgstring());
+		cmd.add("-r");
+		cmd.add(Settings.release.toString());
+		cmd.add("-c");
+		cmd.add(Settings.filecharset.name());
+		cmd.add("-q");
+		cmd.add("-w");
+		
+		if (Settings.annotations)	cmd.add("-annotations");
+		if (Settings.strict)		cmd.add("-strict");
+		if (!Settings.prechecks)	cmd.add("-pre");
+		if (!Settings.postchecks)	cmd.add("-post");
+		if (!Settings.invchecks)	cmd.add("-inv");
+		if (!Settings.dynamictypechecks) cmd.add("-dtc");
+
+		cmd.add("-i");
+		
+		for (File file: files)
+		{
+			cmd.add(file.getPath());
+		}
+		
+		return cmd;
+	}
+
+	private void readResults(File file, Map<Integer, List<Object>> merged) throws IOException
+	{
+		if (!file.exists())
+		{
+			return;		// Worker had no tests
+		}
+
+		try (BufferedReader reader = new BufferedReader(new FileReader(file)))
+		{
+			String line = reader.readLine();
+			
+			while (line != null)
+			{
+				int tag = line.indexOf(TAG + "\t");	// May follow a prompt or other output
+				
+				if (tag >= 0)
+				{
+					String[] fields = line.substring(tag).split("\t", -1);
+					List<Object> result = new Vector<Object>();
+					
+					for (int i = 2; i < fields.length; i++)
+					{
+						result.add(unescapeResult(fields[i]));
+					}
+					
+					merged.put(Integer.parseInt(fields[1]), result);
+				}
+				
+				line = reader.readLine();
+			}
+		}
+	}
+
+	private static String escape(String s)
+	{
+		return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String unescape(String s)
+	{
+		StringBuilder sb = new StringBuilder();
+		
+		for (int i = 0; i < s.length(); i++)
+		{
+			char c = s.charAt(i);
+			
+			if (c == '\\' && i < s.length() - 1)
+			{
+				switch (s.charAt(++i))
+				{
+					case 't':	sb.append('\t'); break;
+					case 'n':	sb.append('\n'); break;
+					case 'r':	sb.append('\r'); break;
+					default:	sb.append(s.charAt(i)); break;
+				}
+			}
+			else
+			{
+				sb.append(c);
+			}
+		}
+		
+		return sb.toString();
+	}
+
+	private static Object unescapeResult(String s)
+	{
+		for (Verdict v: Verdict.values())
+		{
+			if (v.name().equals(s))
+			{
+				return v;	// Verdicts are returned as such, as in runOneTrace
+			}
+		}
+		
+		return unescape(s);
+	}
+}
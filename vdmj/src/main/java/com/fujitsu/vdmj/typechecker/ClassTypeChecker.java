@@ -127,6 +127,8 @@ public class ClassTypeChecker extends TypeChecker
 
 		for (Pass pass: Pass.values())
 		{
+			long start = System.currentTimeMillis();
+
         	for (TCClassDefinition c: classes)
     		{
 				PrivateClassEnvironment self = new PrivateClassEnvironment(c, allClasses);
@@ -158,6 +160,8 @@ public class ClassTypeChecker extends TypeChecker
 					c.annotations.tcAfter(c, self);
 				}
     		}
+        	
+        	passTime(pass, start);
 		}
 		
 		// Look for recursive loops
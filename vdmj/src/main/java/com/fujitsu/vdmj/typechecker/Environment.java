@@ -24,6 +24,9 @@
 
 package com.fujitsu.vdmj.typechecker;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.fujitsu.vdmj.Settings;
 import com.fujitsu.vdmj.lex.Dialect;
 import com.fujitsu.vdmj.lex.LexLocation;
@@ -75,12 +78,30 @@ abstract public class Environment
 	protected void dupHideCheck(TCDefinitionList list, NameScope scope)
 	{
 		TCNameList allnames = list.getVariableNames();
+		
+		// Names that are equal have equal hashCodes, so we only compare names in
+		// the same bucket, rather than every pair in the list.
+		
+		Map<Integer, TCNameList> buckets = new HashMap<Integer, TCNameList>();
+		
+		for (TCNameToken name: allnames)
+		{
+			TCNameList bucket = buckets.get(name.hashCode());
+			
+			if (bucket == null)
+			{
+				bucket = new TCNameList();
+				buckets.put(name.hashCode(), bucket);
+			}
+			
+			bucket.add(name);
+		}
 
 		for (TCNameToken n1: allnames)
 		{
 			TCNameList done = new TCNameList();
 
-			for (TCNameToken n2: allnames)
+			for (TCNameToken n2: buckets.get(n1.hashCode()))
 			{
 				if (n1 != n2 && n1.equals(n2) && !done.contains(n1))
 				{
@@ -24,14 +24,26 @@
 
 package com.fujitsu.vdmj.typechecker;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import com.fujitsu.vdmj.Release;
 import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.tc.TCRecursiveLoops;
 import com.fujitsu.vdmj.tc.annotations.TCAnnotation;
 import com.fujitsu.vdmj.tc.definitions.TCDefinition;
 import com.fujitsu.vdmj.tc.definitions.TCDefinitionList;
 import com.fujitsu.vdmj.tc.modules.TCModule;
 import com.fujitsu.vdmj.tc.modules.TCModuleList;
+import com.fujitsu.vdmj.util.DependencyOrder;
 
 /**
  * A class to coordinate all module type checking processing.
@@ -191,46 +203,28 @@ public class ModuleTypeChecker extends TypeChecker
 		TCRecursiveLoops.getInstance().reset();
 
 		// Proceed to type check all definitions, considering types, values
-		// and remaining definitions, in that order.
+		// and remaining definitions, in that order. Annotations can see the
+		// global messages, so we only check in parallel without them.
+		
+		boolean parallel = Properties.tc_workers > 1 && modules.size() > 1 &&
+			TCAnnotation.getInstances(TCAnnotation.class).isEmpty();
+		
+		List<List<Integer>> predecessors = parallel ? getPredecessors() : null;
 
 		for (Pass pass: Pass.values())
 		{
-			for (TCModule m: modules)
-			{
-				TypeComparator.setCurrentModule(m.name.getName());
-				ModuleEnvironment e = new ModuleEnvironment(m);
-
-				if (pass == Pass.DEFS && m.annotations != null)
-				{
-					m.annotations.tcBefore(m, e);
-				}
+			long start = System.currentTimeMillis();
 
-				for (TCDefinition d: m.defs)
-				{
-					if (d.pass == pass)
-					{
-						try
-						{
-							d.typeCheck(e, NameScope.NAMES);
-						}
-						catch (TypeCheckException te)
-						{
-							report(3430, te.getMessage(), te.location);
-							
-		    				if (te.extras != null)
-		    				{
-		    					for (TypeCheckException ex: te.extras)
-		    					{
-		    						report(3430, ex.getMessage(), ex.location);
-		    					}
-		    				}
-						}
-					}
-				}
-				
-				if (pass == Pass.DEFS && m.annotations != null)
+			if (parallel)
+			{
+				typeCheckParallel(pass, predecessors);
+			}
+			else
+			{
+				for (TCModule m: modules)
 				{
-					m.annotations.tcAfter(m, e);
+					TypeComparator.setCurrentModule(m.name.getName());
+					typeCheckPass(m, pass);
 				}
 			}
 			
@@ -250,6 +244,8 @@ public class ModuleTypeChecker extends TypeChecker
 					m.processImports(modules);		// Re-populate importDefs
 				}
 			}
+			
+			passTime(pass, start);
 		}
 		
 		// Prepare to look for recursive loops
@@ -299,4 +295,182 @@ public class ModuleTypeChecker extends TypeChecker
     	// Check for inter-definition cyclic dependencies before initialization
     	cyclicDependencyCheck(alldefs);
 	}
+	
+	/**
+	 * Type check the definitions of one module for one pass.
+	 */
+	private void typeCheckPass(TCModule m, Pass pass)
+	{
+		ModuleEnvironment e = new ModuleEnvironment(m);
+
+		if (pass == Pass.DEFS && m.annotations != null)
+		{
+			m.annotations.tcBefore(m, e);
+		}
+
+		for (TCDefinition d: m.defs)
+		{
+			if (d.pass == pass)
+			{
+				try
+				{
+					d.typeCheck(e, NameScope.NAMES);
+				}
+				catch (TypeCheckException te)
+				{
+					report(3430, te.getMessage(), te.location);
+					
+    				if (te.extras != null)
+    				{
+    					for (TypeCheckException ex: te.extras)
+    					{
+    						report(3430, ex.getMessage(), ex.location);
+    					}
+    				}
+				}
+			}
+		}
+		
+		if (pass == Pass.DEFS && m.annotations != null)
+		{
+			m.annotations.tcAfter(m, e);
+		}
+	}
+	
+	/**
+	 * Calculate the modules that each module must wait for in a parallel pass. A
+	 * sequential pass checks modules in list order, so where two modules are linked
+	 * by an import (in either direction) the later one waits for the earlier one. The
+	 * modules are then guaranteed to see each other in the same state as they would
+	 * in a sequential pass.
+	 */
+	private List<List<Integer>> getPredecessors()
+	{
+		DependencyOrder order = new DependencyOrder();
+		order.moduleOrder(modules);
+		
+		Map<String, Integer> index = new HashMap<String, Integer>();
+		List<List<Integer>> predecessors = new Vector<List<Integer>>();
+		
+		for (int i = 0; i < modules.size(); i++)
+		{
+			String name = modules.get(i).name.getName();
+			
+			if (!index.containsKey(name))
+			{
+				index.put(name, i);
+			}
+			
+			predecessors.add(new Vector<Integer>());
+		}
+		
+		for (int j = 0; j < modules.size(); j++)
+		{
+			for (String name: order.getDependencies(modules.get(j).name.getName()))
+			{
+				Integer i = index.get(name);
+				
+				if (i == null || i == j)
+				{
+					continue;	// Import of an unknown module
+				}
+				else if (i < j)
+				{
+					predecessors.get(j).add(i);
+				}
+				else
+				{
+					predecessors.get(i).add(j);
+				}
+			}
+		}
+		
+		return predecessors;
+	}
+	
+	/**
+	 * Type check all of the modules for one pass, using a pool of tc_workers threads.
+	 * Each module collects its messages in a buffer, and these are merged in module
+	 * order, so that the messages are the same as those from a sequential pass.
+	 */
+	private void typeCheckParallel(final Pass pass, final List<List<Integer>> predecessors)
+	{
+		final List<Future<?>> futures = new Vector<Future<?>>();
+		final List<MessageBuffer> buffers = new Vector<MessageBuffer>();
+		ExecutorService executor = Executors.newFixedThreadPool(Properties.tc_workers);
+
+		try
+		{
+			// The pool starts tasks in the order submitted, and each task only waits
+			// for earlier tasks, so the earliest unfinished task can always proceed.
+
+			for (int i = 0; i < modules.size(); i++)
+			{
+				final TCModule m = modules.get(i);
+				final MessageBuffer messages = new MessageBuffer();
+				final List<Integer> waitFor = predecessors.get(i);
+				buffers.add(messages);
+				
+				futures.add(executor.submit(new Callable<Object>()
+				{
+					@Override
+					public Object call() throws Exception
+					{
+						for (int p: waitFor)
+						{
+							futures.get(p).get();
+						}
+						
+						try
+						{
+							setMessageBuffer(messages);
+							TypeComparator.setThreadModule(m.name.getName());
+							typeCheckPass(m, pass);
+							return null;
+						}
+						finally
+						{
+							TypeComparator.setThreadModule(null);
+							setMessageBuffer(null);
+						}
+					}
+				}));
+			}
+			
+			for (int i = 0; i < modules.size(); i++)
+			{
+				try
+				{
+					futures.get(i).get();
+					mergeMessageBuffer(buffers.get(i));
+				}
+				catch (ExecutionException e)
+				{
+					mergeMessageBuffer(buffers.get(i));
+					Throwable cause = e.getCause();
+					
+					if (cause instanceof RuntimeException)
+					{
+						throw (RuntimeException)cause;
+					}
+					else if (cause instanceof Error)
+					{
+						throw (Error)cause;
+					}
+					else
+					{
+						throw new RuntimeException(cause);
+					}
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			throw new RuntimeException(e);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
 }
@@ -24,6 +24,7 @@
 
 package com.fujitsu.vdmj.typechecker;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,15 +52,110 @@ import com.fujitsu.vdmj.tc.lex.TCNameToken;
 
 abstract public class TypeChecker
 {
-	private static List<VDMError> errors = new Vector<VDMError>();
-	private static List<VDMWarning> warnings = new Vector<VDMWarning>();
-	private static VDMMessage lastMessage = null;
-	private static boolean suspended = false;
-	private static int MAX = Properties.tc_max_errors;
+	/**
+	 * The errors and warnings raised by a type check. There is one global set, but
+	 * a thread can collect its messages in a separate buffer, which is merged into
+	 * the global set later. A buffer keeps a journal of the messages and details
+	 * raised, which are replayed by the merge. This allows modules to be checked in
+	 * parallel while the messages are reported exactly as a sequential check.
+	 */
+	protected static class MessageBuffer
+	{
+		private final List<VDMError> errors = new Vector<VDMError>();
+		private final List<VDMWarning> warnings = new Vector<VDMWarning>();
+		private final List<Object> journal;
+		private final int max;
+		private VDMMessage lastMessage = null;
+		private boolean suspended = false;
+		
+		public MessageBuffer()
+		{
+			this.journal = new Vector<Object>();
+			this.max = Integer.MAX_VALUE;
+		}
+		
+		private MessageBuffer(int max)
+		{
+			this.journal = null;
+			this.max = max;
+		}
+		
+		private void addError(VDMError error)
+		{
+			if (journal != null)
+			{
+				journal.add(error);
+			}
+			
+			if (!errors.contains(error))
+			{
+				if (errors.size() < max)
+				{
+					errors.add(error);
+					lastMessage = error;
+		
+		    		if (errors.size() == max)
+		    		{
+		    			errors.add(new VDMError(10, "Too many type checking errors", error.location));
+		    			// throw new InternalException(10, "Too many type checking errors");
+		    		}
+				}
+			}
+			else
+			{
+				lastMessage = null;
+			}
+		}
+		
+		private void addWarning(VDMWarning warning)
+		{
+			if (journal != null)
+			{
+				journal.add(warning);
+			}
+			
+			if (!warnings.contains(warning))
+			{
+				if (warnings.size() < max)
+				{
+					warnings.add(warning);
+					lastMessage = warning;
+	
+					if (warnings.size() == max)
+		    		{
+		    			warnings.add(new VDMWarning(10, "Too many type checking warnings", warning.location));
+		    			// throw new InternalException(10, "Too many type checking errors");
+		    		}
+				}
+			}
+			else
+			{
+				lastMessage = null;
+			}
+		}
+		
+		private void addDetail(String detail)
+		{
+			if (journal != null)
+			{
+				journal.add(detail);	// Added to the message by the merge
+			}
+			else if (lastMessage != null)
+			{
+				lastMessage.add(detail);
+			}
+		}
+	}
+	
+	private static final MessageBuffer global = new MessageBuffer(Properties.tc_max_errors);
+	private static final ThreadLocal<MessageBuffer> buffer = new ThreadLocal<MessageBuffer>();
+	private static Map<Pass, Long> passTimes = new EnumMap<Pass, Long>(Pass.class);
 	
 	public TypeChecker()
 	{
 		clearErrors();
+		TypeComparator.clearCache();
+		passTimes.clear();
 	}
 
 	abstract public void typeCheck();
@@ -181,64 +277,71 @@ abstract public class TypeChecker
 		return false;
 	}
 
-	public static void report(int number, String problem, LexLocation location)
+	private static MessageBuffer current()
 	{
-		if (suspended) return;	
-		VDMError error = new VDMError(number, problem, location);
+		MessageBuffer local = buffer.get();
+		return local != null ? local : global;
+	}
 
-		if (!errors.contains(error))
+	/**
+	 * Direct the messages raised by this thread to the buffer passed, or back to
+	 * the global set if the buffer is null.
+	 */
+	protected static void setMessageBuffer(MessageBuffer local)
+	{
+		if (local == null)
 		{
-			if (errors.size() < MAX)
-			{
-				errors.add(error);
-				lastMessage = error;
-	
-	    		if (errors.size() == MAX)
-	    		{
-	    			errors.add(new VDMError(10, "Too many type checking errors", location));
-	    			// throw new InternalException(10, "Too many type checking errors");
-	    		}
-			}
+			buffer.remove();
 		}
 		else
 		{
-			lastMessage = null;
+			buffer.set(local);
 		}
 	}
 
-	public static void warning(int number, String problem, LexLocation location)
+	/**
+	 * Add the messages in a buffer to the global set, as though they had been
+	 * raised in that order by this thread.
+	 */
+	protected static void mergeMessageBuffer(MessageBuffer local)
 	{
-		if (suspended) return;
-		VDMWarning warning = new VDMWarning(number, problem, location);
-
-		if (!warnings.contains(warning))
+		for (Object item: local.journal)
 		{
-			if (warnings.size() < MAX)
+			if (item instanceof VDMError)
 			{
-				warnings.add(warning);
-				lastMessage = warning;
-
-				if (warnings.size() == MAX)
-	    		{
-	    			warnings.add(new VDMWarning(10, "Too many type checking warnings", location));
-	    			// throw new InternalException(10, "Too many type checking errors");
-	    		}
+				global.addError((VDMError)item);
+			}
+			else if (item instanceof VDMWarning)
+			{
+				global.addWarning((VDMWarning)item);
+			}
+			else
+			{
+				global.addDetail((String)item);
 			}
-		}
-		else
-		{
-			lastMessage = null;
 		}
 	}
 
+	public static void report(int number, String problem, LexLocation location)
+	{
+		MessageBuffer messages = current();
+		if (messages.suspended) return;	
+		messages.addError(new VDMError(number, problem, location));
+	}
+
+	public static void warning(int number, String problem, LexLocation location)
+	{
+		MessageBuffer messages = current();
+		if (messages.suspended) return;
+		messages.addWarning(new VDMWarning(number, problem, location));
+	}
+
 	public static void detail(String tag, Object obj)
 	{
-		if (suspended) return;
+		MessageBuffer messages = current();
+		if (messages.suspended) return;
 
-		if (lastMessage != null)
-		{
-			lastMessage.add(tag + ": " + obj);
-		}
+		messages.addDetail(tag + ": " + obj);
 	}
 
 	public static void detail2(String tag1, Object obj1, String tag2, Object obj2)
@@ -249,33 +352,34 @@ abstract public class TypeChecker
 
 	public static void clearErrors()
 	{
-		errors.clear();
-		warnings.clear();
+		MessageBuffer messages = current();
+		messages.errors.clear();
+		messages.warnings.clear();
 	}
 
 	public static int getErrorCount()
 	{
-		return errors.size();
+		return current().errors.size();
 	}
 
 	public static int getWarningCount()
 	{
-		return warnings.size();
+		return current().warnings.size();
 	}
 
 	public static List<VDMError> getErrors()
 	{
-		return errors;
+		return current().errors;
 	}
 
 	public static List<VDMWarning> getWarnings()
 	{
-		return warnings;
+		return current().warnings;
 	}
 
 	public static void printErrors(ConsoleWriter out)
 	{
-		for (VDMError e: errors)
+		for (VDMError e: getErrors())
 		{
 			out.println(e.toString());
 		}
@@ -283,14 +387,41 @@ abstract public class TypeChecker
 
 	public static void printWarnings(ConsoleWriter out)
 	{
-		for (VDMWarning w: warnings)
+		for (VDMWarning w: getWarnings())
 		{
 			out.println(w.toString());
 		}
 	}
 
+	/**
+	 * Record the time taken by one type checking pass, in milliseconds.
+	 */
+	protected static void passTime(Pass pass, long start)
+	{
+		passTimes.put(pass, System.currentTimeMillis() - start);
+	}
+
+	public static Map<Pass, Long> getPassTimes()
+	{
+		return passTimes;
+	}
+
+	/**
+	 * Print the times of each type checking pass, if verbose.
+	 */
+	public static void passStats()
+	{
+		if (Settings.verbose)
+		{
+			for (Pass pass: passTimes.keySet())
+			{
+				Console.out.println("Type checked " + pass + " pass in " + (double)passTimes.get(pass)/1000 + " secs");
+			}
+		}
+	}
+
 	public static void suspend(boolean suspend)
 	{
-		suspended  = suspend;
+		current().suspended = suspend;
 	}
 }
@@ -24,8 +24,11 @@
 
 package com.fujitsu.vdmj.typechecker;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.Vector;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fujitsu.vdmj.Settings;
 import com.fujitsu.vdmj.lex.Dialect;
@@ -68,12 +71,77 @@ import com.fujitsu.vdmj.tc.types.visitors.TCParameterCollector;
 public class TypeComparator
 {
 	/**
-	 * A vector of type pairs that have already been compared. This is to
-	 * allow recursive type definitions to be compared without infinite
-	 * regress.
+	 * The per-thread state of a comparison. The done map holds the type pairs
+	 * that have already been compared in the current call. This is to allow
+	 * recursive type definitions to be compared without infinite regress. The
+	 * module, if set, overrides the currentModule for this thread.
 	 */
 
-	private static Vector<TypePair> done = new Vector<TypePair>(256);
+	private static class State
+	{
+		public final Map<TypePair, TypePair> done = new HashMap<TypePair, TypePair>(256);
+		public String module = null;
+	}
+
+	private static final ThreadLocal<State> state = new ThreadLocal<State>()
+	{
+		@Override
+		protected State initialValue()
+		{
+			return new State();
+		}
+	};
+
+	/**
+	 * A cache of the results of top level comparisons, keyed on the identity of
+	 * the two types, the kind of comparison and the current module. This is shared
+	 * by all threads, and is cleared when a new type check starts, or when it
+	 * reaches CACHE_SIZE entries.
+	 */
+
+	private static enum Mode { COMPATIBLE, PARAMONLY, SUBTYPE, INVIGNORE }
+
+	private static class CacheKey
+	{
+		private final TCType a;
+		private final TCType b;
+		private final Mode mode;
+		private final String module;
+
+		public CacheKey(TCType a, TCType b, Mode mode, String module)
+		{
+			this.a = a;
+			this.b = b;
+			this.mode = mode;
+			this.module = module;
+		}
+
+		@Override
+		public boolean equals(Object other)
+		{
+			if (other instanceof CacheKey)
+			{
+				CacheKey key = (CacheKey)other;
+				return a == key.a && b == key.b && mode == key.mode && Objects.equals(module, key.module);
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return (System.identityHashCode(a) * 31 + System.identityHashCode(b)) * 31 + mode.ordinal();
+		}
+	}
+
+	private static final int CACHE_SIZE = 100000;
+	private static final Map<CacheKey, Boolean> cache = new ConcurrentHashMap<CacheKey, Boolean>();
+
+	public static void clearCache()
+	{
+		cache.clear();
+	}
 
 	/**
 	 * A result value for comparison of types. The "Maybe" value is needed so
@@ -116,7 +184,7 @@ public class TypeComparator
 		@Override
 		public int hashCode()
 		{
-			return a.hashCode() + b.hashCode();
+			return System.identityHashCode(a) * 31 + System.identityHashCode(b);
 		}
 	}
 	
@@ -126,16 +194,26 @@ public class TypeComparator
 	 * type exports.
 	 */
 	
-	private static String currentModule = null;
+	private static volatile String currentModule = null;
 
 	public static void setCurrentModule(String module)
 	{
 		currentModule = module;
 	}
 	
+	/**
+	 * Set the current module for this thread only, overriding the global setting,
+	 * or clear the override if the module is null.
+	 */
+	public static void setThreadModule(String module)
+	{
+		state.get().module = module;
+	}
+	
 	public static String getCurrentModule()
 	{
-		return currentModule;
+		String module = state.get().module;
+		return module != null ? module : currentModule;
 	}
 	
 	/**
@@ -147,32 +225,40 @@ public class TypeComparator
 	 * @param from
 	 * @return True if types "a" and "b" are compatible.
 	 */
-	public synchronized static boolean compatible(TCType to, TCType from)
+	public static boolean compatible(TCType to, TCType from)
 	{
-		done.clear();
-		return searchCompatible(to, from, false) == Result.Yes;
+		return compatible(to, from, false);
 	}
 
-	public synchronized static boolean compatible(String module, TCType to, TCType from)
+	public static boolean compatible(String module, TCType to, TCType from)
 	{
-		String old = currentModule;
+		State s = state.get();
+		String old = s.module;
 		
 		try
 		{
-			setCurrentModule(module);
-			done.clear();
-			return searchCompatible(to, from, false) == Result.Yes;
+			s.module = module;
+			return compatible(to, from, false);
 		}
 		finally
 		{
-			setCurrentModule(old);
+			s.module = old;
 		}
 	}
 
-	public synchronized static boolean compatible(TCType to, TCType from, boolean paramOnly)
+	public static boolean compatible(TCType to, TCType from, boolean paramOnly)
 	{
-		done.clear();
-		return searchCompatible(to, from, paramOnly) == Result.Yes;
+		CacheKey key = new CacheKey(to, from, paramOnly ? Mode.PARAMONLY : Mode.COMPATIBLE, getCurrentModule());
+		Boolean result = cache.get(key);
+		
+		if (result == null)
+		{
+			state.get().done.clear();
+			result = searchCompatible(to, from, paramOnly) == Result.Yes;
+			cacheResult(key, result);
+		}
+		
+		return result;
 	}
 
 	/**
@@ -183,9 +269,9 @@ public class TypeComparator
 	 * @return True if all types compatible.
 	 */
 
-	public synchronized static boolean compatible(TCTypeList to, TCTypeList from)
+	public static boolean compatible(TCTypeList to, TCTypeList from)
 	{
-		done.clear();
+		state.get().done.clear();
 		return allCompatible(to, from, false) == Result.Yes;
 	}
 
@@ -220,9 +306,9 @@ public class TypeComparator
 	}
 
 	/**
-	 * Search the {@link #done} vector for an existing comparison of two
+	 * Search the done map for an existing comparison of two
 	 * types before either returning the previous result, or making a new
-	 * comparison and adding that result to the vector.
+	 * comparison and adding that result to the map.
 	 *
 	 * @param to
 	 * @param from
@@ -231,16 +317,17 @@ public class TypeComparator
 
 	private static Result searchCompatible(TCType to, TCType from, boolean paramOnly)
 	{
+		Map<TypePair, TypePair> done = state.get().done;
 		TypePair pair = new TypePair(to, from);
-		int i = done.indexOf(pair);
+		TypePair previous = done.get(pair);
 
-		if (i >= 0)
+		if (previous != null)
 		{
-			return done.get(i).result;		// May be "Maybe".
+			return previous.result;		// May be "Maybe".
 		}
 		else
 		{
-			done.add(pair);
+			done.put(pair, pair);
 		}
 
 		// The pair.result is "Maybe" until this call returns.
@@ -353,7 +440,7 @@ public class TypeComparator
     		{
     			TCInvariantType ito =(TCInvariantType)to;
     			
-	    		if (to instanceof TCNamedType && !ito.isOpaque(currentModule))
+	    		if (to instanceof TCNamedType && !ito.isOpaque(getCurrentModule()))
 	    		{
 	    			to = ((TCNamedType)to).type;
 	    			continue;
@@ -364,7 +451,7 @@ public class TypeComparator
     		{
     			TCInvariantType ifrom =(TCInvariantType)from;
     			
-	    		if (from instanceof TCNamedType && !ifrom.isOpaque(currentModule))
+	    		if (from instanceof TCNamedType && !ifrom.isOpaque(getCurrentModule()))
 	    		{
 	    			from = ((TCNamedType)from).type;
 	    			continue;
@@ -631,15 +718,34 @@ public class TypeComparator
 	 * @return True if sub is a subtype of sup.
 	 */
 
-	public synchronized static boolean isSubType(TCType sub, TCType sup)
+	public static boolean isSubType(TCType sub, TCType sup)
 	{
 		return isSubType(sub, sup, false);	// By default, invariants fail a match 
 	}
 
-	public synchronized static boolean isSubType(TCType sub, TCType sup, boolean invignore)
+	public static boolean isSubType(TCType sub, TCType sup, boolean invignore)
 	{
-		done.clear();
-		return searchSubType(sub, sup, invignore) == Result.Yes;
+		CacheKey key = new CacheKey(sub, sup, invignore ? Mode.INVIGNORE : Mode.SUBTYPE, getCurrentModule());
+		Boolean result = cache.get(key);
+		
+		if (result == null)
+		{
+			state.get().done.clear();
+			result = searchSubType(sub, sup, invignore) == Result.Yes;
+			cacheResult(key, result);
+		}
+		
+		return result;
+	}
+
+	private static void cacheResult(CacheKey key, Boolean result)
+	{
+		if (cache.size() >= CACHE_SIZE)
+		{
+			cache.clear();
+		}
+		
+		cache.put(key, result);
 	}
 
 	/**
@@ -673,9 +779,9 @@ public class TypeComparator
 	}
 
 	/**
-	 * Search the {@link #done} vector for an existing subtype comparison of two
+	 * Search the done map for an existing subtype comparison of two
 	 * types before either returning the previous result, or making a new
-	 * comparison and adding that result to the vector.
+	 * comparison and adding that result to the map.
 	 *
 	 * @param sub
 	 * @param sup
@@ -685,16 +791,17 @@ public class TypeComparator
 
 	private static Result searchSubType(TCType sub, TCType sup, boolean invignore)
 	{
+		Map<TypePair, TypePair> done = state.get().done;
 		TypePair pair = new TypePair(sub, sup);
-		int i = done.indexOf(pair);
+		TypePair previous = done.get(pair);
 
-		if (i >= 0)
+		if (previous != null)
 		{
-			return done.get(i).result;		// May be "Maybe".
+			return previous.result;		// May be "Maybe".
 		}
 		else
 		{
-			done.add(pair);
+			done.put(pair, pair);
 		}
 
 		// The pair.result is "Maybe" until this call returns.
@@ -1273,12 +1380,13 @@ public class TypeComparator
 	/**
 	 * Return the narrowest of two types/type lists.
 	 */
-	public static synchronized TCTypeList narrowest(TCTypeList t1, TCTypeList t2)
+	public static TCTypeList narrowest(TCTypeList t1, TCTypeList t2)
 	{
+		state.get().done.clear();
 		return allSubTypes(t1, t2, false) == Result.Yes ? t1 : t2;
 	}
 	
-	public static synchronized TCType narrowest(TCType t1, TCType t2)
+	public static TCType narrowest(TCType t1, TCType t2)
 	{
 		return isSubType(t1, t2) ? t1 : t2;
 	}
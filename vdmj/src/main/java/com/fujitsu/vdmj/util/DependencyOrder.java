@@ -163,6 +163,15 @@ public class DependencyOrder
 		fw.close();
 	}
     
+    /**
+     * Return the names that the name passed depends on directly, which may be empty.
+     */
+    public Set<String> getDependencies(String name)
+    {
+    	Set<String> set = uses.get(name);
+    	return set == null ? new HashSet<String>() : set;
+    }
+    
     public List<String> getStartpoints()
     {
 		/*
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package com.fujitsu.vdmj.values;
+
+import java.math.BigInteger;
+
+import com.fujitsu.vdmj.runtime.Context;
+import com.fujitsu.vdmj.runtime.ValueException;
+import com.fujitsu.vdmj.tc.types.TCNaturalOneType;
+import com.fujitsu.vdmj.tc.types.TCNaturalType;
+import com.fujitsu.vdmj.tc.types.TCType;
+import com.fujitsu.vdmj.tc.types.TCTypeSet;
+
+/**
+ * An integer value that is too large to be held in a long. These are only created
+ * when vdmj.in.bigint_arithmetic is set, and then only when the result of an integer
+ * operation overflows. Results that fit in a long are always demoted back to the
+ * normal IntegerValue classes by NumericValue.valueOf.
+ */
+public class BigIntegerValue extends IntegerValue
+{
+	private static final long serialVersionUID = 1L;
+	public final BigInteger bigVal;
+
+	public BigIntegerValue(BigInteger value)
+	{
+		super(value);
+		bigVal = value;
+	}
+
+	@Override
+	public BigInteger bigintValue()
+	{
+		return bigVal;
+	}
+
+	@Override
+	public int compareTo(Value other)
+	{
+		other = other.deref();
+
+		if (other instanceof IntegerValue)
+		{
+			IntegerValue io = (IntegerValue)other;
+			return bigVal.compareTo(io.bigintValue());
+		}
+
+		return super.compareTo(other);
+	}
+
+	@Override
+	public boolean equals(Object other)
+	{
+		if (other instanceof Value)
+		{
+			Value val = ((Value)other).deref();
+
+			if (val instanceof IntegerValue)
+			{
+				IntegerValue io = (IntegerValue)val;
+				return bigVal.equals(io.bigintValue());
+			}
+		}
+
+		return super.equals(other);
+	}
+
+	@Override
+	public String toString()
+	{
+		return bigVal.toString();
+	}
+
+	@Override
+	public long intValue(Context ctxt) throws ValueException
+	{
+		return tooLarge(ctxt);
+	}
+
+	@Override
+	public long nat1Value(Context ctxt) throws ValueException
+	{
+		if (bigVal.signum() < 1)
+		{
+			abort(4058, "Value " + bigVal + " is not a nat1", ctxt);
+		}
+
+		return tooLarge(ctxt);
+	}
+
+	@Override
+	public long natValue(Context ctxt) throws ValueException
+	{
+		if (bigVal.signum() < 0)
+		{
+			abort(4059, "Value " + bigVal + " is not a nat", ctxt);
+		}
+
+		return tooLarge(ctxt);
+	}
+
+	private long tooLarge(Context ctxt) throws ValueException
+	{
+		abort(4180, "Value " + bigVal + " is too large for this operation", ctxt);
+		return 0;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return hashOf(value);	// Can be equal to RealValues
+	}
+
+	@Override
+	public String kind()
+	{
+		return bigVal.signum() > 0 ? "nat1" : "int";
+	}
+
+	@Override
+	protected Value convertValueTo(TCType to, Context ctxt, TCTypeSet done) throws ValueException
+	{
+		if (to instanceof TCNaturalOneType)
+		{
+			return (bigVal.signum() > 0) ? this :
+				abort(4064, "Value " + bigVal + " is not a nat1", ctxt);
+		}
+		else if (to instanceof TCNaturalType)
+		{
+			return (bigVal.signum() >= 0) ? this :
+				abort(4065, "Value " + bigVal + " is not a nat", ctxt);
+		}
+		else
+		{
+			return super.convertValueTo(to, ctxt, done);
+		}
+	}
+
+	@Override
+	public Object clone()
+	{
+		return new BigIntegerValue(bigVal);
+	}
+}
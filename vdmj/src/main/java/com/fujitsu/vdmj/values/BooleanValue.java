@@ -36,11 +36,23 @@ public class BooleanValue extends Value
 	private static final long serialVersionUID = 1L;
 	public final boolean value;
 
+	private static final BooleanValue TRUE = new BooleanValue(true);
+	private static final BooleanValue FALSE = new BooleanValue(false);
+
 	public BooleanValue(boolean value)
 	{
 		this.value = value;
 	}
 
+	/**
+	 * Return a shared true or false value. These are immutable, so there is
+	 * no need to allocate a new one for every boolean result.
+	 */
+	public static BooleanValue valueOf(boolean value)
+	{
+		return value ? TRUE : FALSE;
+	}
+
 	@Override
 	public boolean boolValue(Context ctxt)
 	{
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package com.fujitsu.vdmj.values;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.lex.LexLocation;
+
+/**
+ * A bounded LRU cache of the results of a function, keyed by its argument values.
+ * Memos are held in a registry keyed by the location of the function definition,
+ * so that all FunctionValues for the same definition (including those copied or
+ * deserialized) share one cache. The registry is cleared when the interpreter is
+ * initialized.
+ */
+public class FunctionMemo
+{
+	private static final Map<LexLocation, FunctionMemo> memos = new LinkedHashMap<LexLocation, FunctionMemo>();
+
+	public final String name;
+	public final LexLocation location;
+
+	private final Map<ValueList, Value> cache;
+	private long hits = 0;
+	private long misses = 0;
+
+	private FunctionMemo(String name, LexLocation location)
+	{
+		this.name = name;
+		this.location = location;
+		this.cache = new LinkedHashMap<ValueList, Value>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ValueList, Value> eldest)
+			{
+				return size() > Properties.in_memo_cache_size;
+			}
+		};
+	}
+
+	public static synchronized FunctionMemo forFunction(String name, LexLocation location)
+	{
+		FunctionMemo memo = memos.get(location);
+
+		if (memo == null)
+		{
+			memo = new FunctionMemo(name, location);
+			memos.put(location, memo);
+		}
+
+		return memo;
+	}
+
+	public static synchronized List<FunctionMemo> getMemos()
+	{
+		return new Vector<FunctionMemo>(memos.values());
+	}
+
+	public static synchronized void reset()
+	{
+		for (FunctionMemo memo: memos.values())
+		{
+			memo.clear();
+		}
+	}
+
+	public synchronized Value get(ValueList args)
+	{
+		Value rv = cache.get(args);
+
+		if (rv == null)
+		{
+			misses++;
+		}
+		else
+		{
+			hits++;
+		}
+
+		return rv;
+	}
+
+	public synchronized void put(ValueList args, Value result)
+	{
+		cache.put(args, result);
+	}
+
+	public synchronized void clear()
+	{
+		cache.clear();
+		hits = 0;
+		misses = 0;
+	}
+
+	@Override
+	public synchronized String toString()
+	{
+		return String.format("%s %s: %d hits, %d misses, %d cached",
+			name, location, hits, misses, cache.size());
+	}
+}
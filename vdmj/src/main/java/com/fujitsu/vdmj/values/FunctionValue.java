@@ -33,6 +33,9 @@ import java.util.Set;
 import java.util.Stack;
 
 import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.in.annotations.INAnnotation;
+import com.fujitsu.vdmj.in.annotations.INAnnotationList;
 import com.fujitsu.vdmj.in.definitions.INClassDefinition;
 import com.fujitsu.vdmj.in.definitions.INExplicitFunctionDefinition;
 import com.fujitsu.vdmj.in.definitions.INImplicitFunctionDefinition;
@@ -87,6 +90,9 @@ public class FunctionValue extends Value
 	private boolean isStatic = false;
 	public boolean uninstantiated = false;
 
+	private boolean memoize = false;
+	private transient FunctionMemo memo = null;
+
 	/**
 	 * Private constructor used by clone and curry.
 	 * @param typeValues 
@@ -167,6 +173,7 @@ public class FunctionValue extends Value
 		this.classdef = def.classDefinition;
 		this.uninstantiated = (def.typeParams != null);
 		this.isStatic = def.accessSpecifier.isStatic;
+		this.memoize = isMemoized(def.annotations);
 
 		if (Settings.measureChecks && measure != null)
 		{
@@ -212,6 +219,7 @@ public class FunctionValue extends Value
 		this.classdef = def.classDefinition;
 		this.uninstantiated = (def.typeParams != null);
 		this.isStatic = def.accessSpecifier.isStatic;
+		this.memoize = isMemoized(def.annotations);
 
 		if (Settings.measureChecks && measure != null)
 		{
@@ -281,6 +289,71 @@ public class FunctionValue extends Value
 		return type.toString();
 	}
 
+	/**
+	 * Functions are memoized if the vdmj.in.memoize_functions property is set, or if
+	 * they have an annotation that requests it, like @Memoize. Polymorphic functions
+	 * are not memoized, because the results depend on the type parameters too. Calls
+	 * to closures with free variables, like local functions in a let, are not cached
+	 * either (see eval), because the memo is shared by every closure of a definition.
+	 */
+	private boolean isMemoized(INAnnotationList annotations)
+	{
+		if (uninstantiated)
+		{
+			return false;
+		}
+		else if (Properties.in_memoize_functions)
+		{
+			return true;
+		}
+		else if (annotations != null)
+		{
+			for (INAnnotation annotation: annotations)
+			{
+				if (annotation.inMemoize())
+				{
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * The memo key is the constant values of the arguments, so that later updates to
+	 * any state passed cannot affect the cache. Objects are compared by reference, but
+	 * the function may read their state, so calls with object arguments are not cached.
+	 */
+	private ValueList memoKey(ValueList argValues)
+	{
+		ValueList key = new ValueList(argValues.size());
+
+		for (Value arg: argValues)
+		{
+			Value c = arg.getConstant();
+
+			if (c.deref() instanceof ObjectValue)
+			{
+				return null;
+			}
+
+			key.add(c);
+		}
+
+		return key;
+	}
+
+	private FunctionMemo getMemo()
+	{
+		if (memo == null)
+		{
+			memo = FunctionMemo.forFunction(name, location);
+		}
+
+		return memo;
+	}
+
 	public void setSelf(FunctionValue from)
 	{
 		this.self = from.self;
@@ -385,6 +458,23 @@ public class FunctionValue extends Value
 			abort(3033, "Polymorphic function has not been instantiated: " + name, ctxt);
 		}
 
+		ValueList memoKey = null;
+
+		if (memoize && freeVariables == null && paramPatternList.size() == 1 && ctxt.prepost == 0)
+		{
+			memoKey = memoKey(argValues);
+
+			if (memoKey != null)
+			{
+				Value cached = getMemo().get(memoKey);
+
+				if (cached != null)
+				{
+					return cached;
+				}
+			}
+		}
+
 		INPatternList paramPatterns = paramPatternList.get(0);
 		RootContext evalContext = newContext(from, toTitle(), ctxt, sctxt);
 
@@ -590,6 +680,11 @@ public class FunctionValue extends Value
 				callingThreads.remove(tid);
 			}
 
+			if (memoKey != null)
+			{
+				getMemo().put(memoKey, rv);
+			}
+
 			return rv;
 		}
 		else	// This is a curried function
@@ -812,9 +907,12 @@ public class FunctionValue extends Value
 	@Override
 	public Object clone()
 	{
-		return new FunctionValue(location, name, type, typeValues,
+		FunctionValue rv = new FunctionValue(location, name, type, typeValues,
 			paramPatternList, body, precondition, postcondition, measure,
 			freeVariables, measureValues, classdef);
+
+		rv.memoize = memoize;
+		return rv;
 	}
 	
 	/**
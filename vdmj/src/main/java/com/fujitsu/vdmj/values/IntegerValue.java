@@ -24,6 +24,8 @@
 
 package com.fujitsu.vdmj.values;
 
+import java.math.BigInteger;
+
 import com.fujitsu.vdmj.messages.InternalException;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
@@ -43,6 +45,12 @@ public class IntegerValue extends RationalValue
 		longVal = value;
 	}
 
+	protected IntegerValue(BigInteger value)
+	{
+		super(value);
+		longVal = value.longValue();
+	}
+
 	@Override
 	public int compareTo(Value other)
 	{
@@ -50,6 +58,11 @@ public class IntegerValue extends RationalValue
 		
 		if (other instanceof IntegerValue)
 		{
+			if (other instanceof BigIntegerValue)
+			{
+				return -other.compareTo(this);
+			}
+
 			IntegerValue io = (IntegerValue)other;
 			return (longVal < io.longVal ? -1 : (longVal == io.longVal ? 0 : 1));
 		}
@@ -64,11 +77,19 @@ public class IntegerValue extends RationalValue
 	}
 
 	@Override
-	public long intValue(Context ctxt)
+	public long intValue(Context ctxt) throws ValueException
 	{
 		return longVal;
 	}
 
+	/**
+	 * The value as a BigInteger, used by bigint arithmetic.
+	 */
+	public BigInteger bigintValue()
+	{
+		return BigInteger.valueOf(longVal);
+	}
+
 	@Override
 	public long nat1Value(Context ctxt) throws ValueException
 	{
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+package com.fujitsu.vdmj.values;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A list of values that are generated on demand. Values are taken from the source
+ * as they are first iterated over and retained, so that later iterations re-use
+ * the ones already generated, and only continue the source if they go further.
+ * A source that is never iterated to the end is never completely generated.
+ * 
+ * The source is generated while holding the list's lock, by whichever thread
+ * reaches it first, so it must not evaluate anything (like type invariants).
+ */
+public class LazyValueList implements Iterable<Value>
+{
+	private final ValueList values;
+	private final Iterable<Value> source;
+	private Iterator<Value> generator = null;
+	private boolean complete = false;
+
+	public LazyValueList(Iterable<Value> source)
+	{
+		this.values = new ValueList();
+		this.source = source;
+	}
+
+	/**
+	 * Get the value at the index given, generating values up to that point if
+	 * necessary, or return null if there are fewer values.
+	 */
+	private synchronized Value get(int index)
+	{
+		while (index >= values.size() && !complete)
+		{
+			if (generator == null)
+			{
+				generator = source.iterator();
+			}
+			
+			if (generator.hasNext())
+			{
+				values.add(generator.next());
+			}
+			else
+			{
+				complete = true;
+				generator = null;
+			}
+		}
+		
+		return index < values.size() ? values.get(index) : null;
+	}
+
+	@Override
+	public Iterator<Value> iterator()
+	{
+		return new Iterator<Value>()
+		{
+			private int index = 0;
+
+			@Override
+			public boolean hasNext()
+			{
+				return get(index) != null;
+			}
+
+			@Override
+			public Value next()
+			{
+				Value value = get(index);
+				
+				if (value == null)
+				{
+					throw new NoSuchElementException();
+				}
+				
+				index++;
+				return value;
+			}
+		};
+	}
+}
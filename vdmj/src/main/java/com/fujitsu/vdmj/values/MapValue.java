@@ -70,15 +70,34 @@ public class MapValue extends Value
 	@Override
 	public Value getConstant()
 	{
-		ValueMap nm = new ValueMap();
+		// Most maps passed here are already constant, so we avoid copying
+		// the map unless some range value is actually changed.
+
+		ValueMap nm = null;
 
 		for (Value k: values.keySet())
 		{
-			Value v = values.get(k).getConstant();
-			nm.put(k, v);
+			Value r = values.get(k);
+			Value v = r.getConstant();
+
+			if (nm == null && v != r)
+			{
+				nm = new ValueMap();
+
+				for (Value j: values.keySet())		// Copy unchanged so far
+				{
+					if (j == k) break;
+					nm.put(j, values.get(j));
+				}
+			}
+
+			if (nm != null)
+			{
+				nm.put(k, v);
+			}
 		}
 
-		return new MapValue(nm);
+		return (nm == null) ? this : new MapValue(nm);
 	}
 
 	public Value lookup(Value arg, Context ctxt) throws ValueException
@@ -34,6 +34,15 @@ import com.fujitsu.vdmj.values.visitors.ValueVisitor;
 public class NilValue extends Value
 {
 	private static final long serialVersionUID = 1L;
+	private static final NilValue NIL = new NilValue();
+
+	/**
+	 * Return a shared nil value, rather than allocating a new one.
+	 */
+	public static NilValue valueOf()
+	{
+		return NIL;
+	}
 
 	@Override
 	public String toString()
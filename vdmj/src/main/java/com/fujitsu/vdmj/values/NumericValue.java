@@ -24,6 +24,9 @@
 
 package com.fujitsu.vdmj.values;
 
+import java.math.BigInteger;
+
+import com.fujitsu.vdmj.messages.InternalException;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
 import com.fujitsu.vdmj.tc.types.TCIntegerType;
@@ -38,6 +41,37 @@ import com.fujitsu.vdmj.values.visitors.ValueVisitor;
 public abstract class NumericValue extends Value
 {
 	private static final long serialVersionUID = 1L;
+
+	/**
+	 * A cache of the small integer values that loop counters, indexes and sizes
+	 * produce constantly. Numeric values are immutable, so these can be shared
+	 * freely. The cache is in a holder class so that it is only built on first use,
+	 * after all of the NumericValue subclasses have been initialized.
+	 */
+	private static class SmallIntegers
+	{
+		private static final long MIN = -128;
+		private static final long MAX = 1024;
+		private static final NumericValue[] CACHE = new NumericValue[(int)(MAX - MIN + 1)];
+
+		static
+		{
+			try
+			{
+				for (long i = MIN; i <= MAX; i++)
+				{
+					CACHE[(int)(i - MIN)] =
+						(i > 0) ? new NaturalOneValue(i) :
+						(i == 0) ? new NaturalValue(i) : new IntegerValue(i);
+				}
+			}
+			catch (Exception e)
+			{
+				throw new InternalException(0, "Cannot create small integer cache");
+			}
+		}
+	}
+
 	public final double value;
 
 	public NumericValue(double value)
@@ -72,6 +106,11 @@ public abstract class NumericValue extends Value
 
 	public static NumericValue valueOf(long iv, Context ctxt) throws ValueException
 	{
+		if (iv >= SmallIntegers.MIN && iv <= SmallIntegers.MAX)
+		{
+			return SmallIntegers.CACHE[(int)(iv - SmallIntegers.MIN)];
+		}
+
 		if (iv > 0)
 		{
 			try
@@ -99,6 +138,46 @@ public abstract class NumericValue extends Value
 		return new IntegerValue(iv);
 	}
 
+	/**
+	 * Create a value from a BigInteger. This demotes the result to the long
+	 * based classes above whenever it fits, so BigIntegerValues only exist for
+	 * values that would otherwise overflow.
+	 */
+	public static NumericValue valueOf(BigInteger iv, Context ctxt) throws ValueException
+	{
+		if (iv.bitLength() < Long.SIZE)
+		{
+			return valueOf(iv.longValue(), ctxt);
+		}
+
+		return new BigIntegerValue(iv);
+	}
+
+	/**
+	 * Get the BigInteger value of an integer Value, which may be a BigIntegerValue.
+	 */
+	public static BigInteger bigintValue(Value v, Context ctxt) throws ValueException
+	{
+		v = v.deref();
+
+		if (v instanceof IntegerValue)
+		{
+			return ((IntegerValue)v).bigintValue();
+		}
+
+		return BigInteger.valueOf(v.intValue(ctxt));
+	}
+
+	/**
+	 * A hashCode for real values that is consistent with IntegerValue.hashCode,
+	 * since integral reals are equal to the corresponding integers.
+	 */
+	protected static int hashOf(double value)
+	{
+		long rounded = (long)value;
+		return (rounded == value) ? (int)rounded : Double.toString(value).hashCode();
+	}
+
 	public static boolean areIntegers(Value l, Value r)
 	{
 		return (l instanceof IntegerValue && r instanceof IntegerValue);
@@ -171,6 +250,12 @@ public abstract class NumericValue extends Value
 			if (val instanceof NumericValue)
 			{
 				NumericValue nov = (NumericValue)val;
+
+				if (nov.value == value && nov instanceof BigIntegerValue)
+				{
+					return nov.equals(this);	// Doubles may be equal
+				}
+
 				return nov.value == value;
 			}
 		}
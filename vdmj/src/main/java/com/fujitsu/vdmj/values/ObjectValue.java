@@ -186,11 +186,12 @@ public class ObjectValue extends Value
 		// rather than using the map's hash, because the hash doesn't
 		// take account of the TypeComparator looseness when comparing
 		// qualified names. Not very efficient... so we try a raw get
-		// first.
+		// first. Unqualified names always hash to their match, so the
+		// iteration is only needed for names with a type qualifier.
 
 		Value rv = members.get(localname);
 
-		if (rv == null)
+		if (rv == null && localname.getTypeQualifier() != null)
 		{
     		for (TCNameToken var: members.keySet())
     		{
@@ -715,7 +715,7 @@ public class OperationValue extends Value
 
 	private void trace(String kind)
 	{
-		if (traceRT)
+		if (traceRT && RTLogger.isEnabled())
 		{
 			Thread ct = Thread.currentThread();
 
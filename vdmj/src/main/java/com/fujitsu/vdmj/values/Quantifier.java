@@ -24,6 +24,7 @@
 
 package com.fujitsu.vdmj.values;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Vector;
 
@@ -31,23 +32,64 @@ import com.fujitsu.vdmj.in.patterns.INPattern;
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.PatternMatchException;
 
+/**
+ * The bindings of one pattern to a collection of values. The values are matched
+ * against the pattern on demand, as bindings are requested, so that a quantifier
+ * that stops early does not match (or even generate) the values it never uses.
+ * Bindings are retained so that they can be revisited by a {@link QuantifierList}
+ * permutation, unless the quantifier is created to be read once, in order.
+ */
 public class Quantifier
 {
 	public final INPattern pattern;
-	public final ValueList values;
+	public final Iterable<Value> values;
 	private List<NameValuePairList> nvlist;
+	private Iterator<Value> iterator;
+	private Context ctxt;
+	private boolean allPossibilities;
+	private boolean retain;
+	private int base;		// The index of the first binding in nvlist
 
-	public Quantifier(INPattern pattern, ValueList values)
+	public Quantifier(INPattern pattern, Iterable<Value> values)
 	{
 		this.pattern = pattern;
 		this.values = values;
-		this.nvlist = new Vector<NameValuePairList>(values.size());
+		this.nvlist = new Vector<NameValuePairList>();
 	}
 
-	public int size(Context ctxt, boolean allPossibilities)
+	/**
+	 * Prepare to produce the bindings. If retain is false, bindings are only
+	 * requested in increasing index order, so earlier ones can be discarded.
+	 */
+	public void init(Context ctxt, boolean allPossibilities, boolean retain)
 	{
-		for (Value value: values)
+		this.ctxt = ctxt;
+		this.allPossibilities = allPossibilities;
+		this.retain = retain;
+		this.iterator = values.iterator();
+		this.nvlist.clear();
+		this.base = 0;
+	}
+
+	/**
+	 * True if there is a binding at the index given, matching more values if
+	 * necessary.
+	 */
+	public boolean has(int index)
+	{
+		if (!retain)
+		{
+			while (base < index && !nvlist.isEmpty())
+			{
+				nvlist.remove(0);
+				base++;
+			}
+		}
+		
+		while (index >= base + nvlist.size() && iterator.hasNext())
 		{
+			Value value = iterator.next();
+			
 			try
 			{
 				if (allPossibilities)
@@ -65,17 +107,17 @@ public class Quantifier
 			}
 		}
 		
-		return nvlist.size();
+		return index < base + nvlist.size();
 	}
 
 	public NameValuePairList get(int index)
 		throws PatternMatchException
 	{
-		if (index >= nvlist.size())		// no values
+		if (!has(index))		// no values
 		{
 			return new NameValuePairList();
 		}
 
-		return nvlist.get(index);
+		return nvlist.get(index - base);
 	}
 }
@@ -33,35 +33,37 @@ import com.fujitsu.vdmj.runtime.PatternMatchException;
 public class QuantifierList extends Vector<Quantifier>
 {
 	private int count;
-	private int[] size;
 	private int[] next;
 	private NameValuePairList result = null;
 	private boolean done = false;
 
+	/**
+	 * Prepare the permutations. The quantifiers produce their bindings on demand,
+	 * so nothing is matched here beyond the first binding of each. The last
+	 * quantifier changes slowest and is never revisited, so it retains nothing.
+	 */
 	public void init(Context ctxt, boolean allPossibilities)
 	{
 		count = size();
-		size = new int[count];
 		next = new int[count];
-		boolean someData = false;
-		boolean oneHasNoData = false;
+		boolean allHaveData = true;
 
 		for (int i=0; i<count; i++)
 		{
-			size[i] = get(i).size(ctxt, allPossibilities);
-			someData = someData || size[i] > 0;
-			oneHasNoData = oneHasNoData || size[i] == 0;
+			Quantifier q = get(i);
+			q.init(ctxt, allPossibilities, i < count - 1);
+			allHaveData = allHaveData && q.has(0);
 			next[i] = 0;
 		}
 
-		done = count == 0 || !someData || oneHasNoData;
+		done = count == 0 || !allHaveData;
 	}
 
 	private void permute()
 	{
 		for (int i=0; i<count; i++)
 		{
-			if (++next[i] < size[i])
+			if (get(i).has(++next[i]))
 			{
 				break;
 			}
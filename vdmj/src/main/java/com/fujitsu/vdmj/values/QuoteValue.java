@@ -26,6 +26,8 @@ package com.fujitsu.vdmj.values;
 
 import java.util.FormattableFlags;
 import java.util.Formatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
@@ -39,11 +41,22 @@ public class QuoteValue extends Value
 	private static final long serialVersionUID = 1L;
 	public final String value;
 
+	private static final Map<String, QuoteValue> cache = new ConcurrentHashMap<String, QuoteValue>();
+
 	public QuoteValue(String value)
 	{
 		this.value = value;
 	}
 
+	/**
+	 * Return a shared quote value. The quotes in a specification are a small
+	 * fixed set, so the cache is not bounded.
+	 */
+	public static QuoteValue valueOf(String value)
+	{
+		return cache.computeIfAbsent(value, QuoteValue::new);
+	}
+
 	@Override
 	public String quoteValue(Context ctxt)
 	{
@@ -24,6 +24,8 @@
 
 package com.fujitsu.vdmj.values;
 
+import java.math.BigInteger;
+
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
 import com.fujitsu.vdmj.tc.types.TCRationalType;
@@ -45,6 +47,11 @@ public class RationalValue extends RealValue
 		super(value);
 	}
 
+	protected RationalValue(BigInteger value)
+	{
+		super(value);
+	}
+
 	@Override
 	public String kind()
 	{
@@ -24,6 +24,8 @@
 
 package com.fujitsu.vdmj.values;
 
+import java.math.BigInteger;
+
 import com.fujitsu.vdmj.runtime.Context;
 import com.fujitsu.vdmj.runtime.ValueException;
 import com.fujitsu.vdmj.tc.types.TCRealType;
@@ -54,6 +56,11 @@ public class RealValue extends NumericValue
 		super(value);
 	}
 
+	protected RealValue(BigInteger value)
+	{
+		super(value.doubleValue());		// May be infinite
+	}
+
 	@Override
 	public int compareTo(Value other)
 	{
@@ -128,7 +135,7 @@ public class RealValue extends NumericValue
 	@Override
 	public int hashCode()
 	{
-		return toString().hashCode();
+		return hashOf(value);
 	}
 
 	@Override
@@ -111,7 +111,7 @@ public class SeqValue extends Value
 	@Override
 	public UpdatableValue getUpdatable(ValueListenerList listeners)
 	{
-		ValueList nseq = new ValueList();
+		ValueList nseq = new ValueList(values.size());
 
 		for (Value k: values)
 		{
@@ -125,7 +125,30 @@ public class SeqValue extends Value
 	@Override
 	public Value getConstant()
 	{
-		return new SeqValue(values.getConstant());
+		// Most sequences passed here are already constant, so we avoid copying
+		// the list unless some member is actually changed.
+
+		ValueList nseq = null;
+		int size = values.size();
+
+		for (int i=0; i<size; i++)
+		{
+			Value k = values.get(i);
+			Value v = k.getConstant();
+
+			if (nseq == null && v != k)
+			{
+				nseq = new ValueList(size);
+				nseq.addAll(values.subList(0, i));
+			}
+
+			if (nseq != null)
+			{
+				nseq.add(v);
+			}
+		}
+
+		return (nseq == null) ? this : new SeqValue(nseq);
 	}
 
 	public Value get(Value arg, Context ctxt) throws ValueException
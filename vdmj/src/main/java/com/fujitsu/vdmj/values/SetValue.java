@@ -81,7 +81,7 @@ public class SetValue extends Value
 	@Override
 	public UpdatableValue getUpdatable(ValueListenerList listeners)
 	{
-		ValueSet nset = new ValueSet();
+		ValueSet nset = new ValueSet(values.size());
 
 		for (Value k: values)
 		{
@@ -95,15 +95,34 @@ public class SetValue extends Value
 	@Override
 	public Value getConstant()
 	{
-		ValueSet nset = new ValueSet();
+		// Most sets passed here are already constant, so we avoid copying
+		// the set unless some member is actually changed.
 
-		for (Value k: values)
+		ValueSet nset = null;
+		int size = values.size();
+
+		for (int i=0; i<size; i++)
 		{
+			Value k = values.get(i);
 			Value v = k.getConstant();
-			nset.addSorted(v, values.isSorted());
+
+			if (nset == null && v != k)
+			{
+				nset = new ValueSet(size);
+
+				for (int j=0; j<i; j++)
+				{
+					nset.addSorted(values.get(j), values.isSorted());
+				}
+			}
+
+			if (nset != null)
+			{
+				nset.addSorted(v, values.isSorted());
+			}
 		}
 
-		return new SetValue(nset, !values.isSorted());
+		return (nset == null) ? this : new SetValue(nset, !values.isSorted());
 	}
 
 	@Override
@@ -47,6 +47,7 @@ public class UpdatableValue extends ReferenceValue
 	private static final long serialVersionUID = 1L;
 	public ValueListenerList listeners;
 	protected final TCType restrictedTo;
+	transient long journalled = ValueJournal.getGeneration();	// See ValueJournal
 
 	public static UpdatableValue factory(Value value, ValueListenerList listeners)
 	{
@@ -163,6 +164,7 @@ public class UpdatableValue extends ReferenceValue
 				updated = (UpdatableValue) updated.convertTo(restrictedTo, ctxt);
     		}
 
+    		ValueJournal.recordSet(this, value);
     		value = updated.value;	// To avoid nested updatables
 		}
 		
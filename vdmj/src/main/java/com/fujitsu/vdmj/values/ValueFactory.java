@@ -41,7 +41,7 @@ public class ValueFactory
 {
 	public static BooleanValue mkBool(boolean b)
 	{
-		return new BooleanValue(b);
+		return BooleanValue.valueOf(b);
 	}
 	
 	public static CharacterValue mkChar(char c)
@@ -81,12 +81,12 @@ public class ValueFactory
 
 	public static NilValue mkNil()
 	{
-		return new NilValue();
+		return NilValue.valueOf();
 	}
 	
 	public static QuoteValue mkQuote(String q)
 	{
-		return new QuoteValue(q);
+		return QuoteValue.valueOf(q);
 	}
 	
 	public static SeqValue mkSeq(Value ...args)
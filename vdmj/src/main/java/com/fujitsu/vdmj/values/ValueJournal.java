@@ -0,0 +1,204 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package com.fujitsu.vdmj.values;
+
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * A journal of the changes made to updatable state, so that the state can be
+ * rolled back to the point at which the journal was started. This is used to
+ * reset the state between trace tests, where the cost of a rollback is then
+ * proportional to the number of changes made by the test, rather than the size
+ * of the whole state.
+ * 
+ * Changes are recorded by UpdatableValue, and by the designators that add new
+ * map keys or sequence elements to updatable values.
+ * 
+ * Only the first change to an UpdatableValue after each mark is recorded, since
+ * that holds the value to restore. Updatables created since the last mark are not
+ * recorded at all, because they cannot be reachable from the state at the mark.
+ * So local variables and loops do not make the journal grow with every update.
+ * Each start, mark and rollback begins a new "generation", and an UpdatableValue
+ * holds the generation in which it was created or last recorded.
+ */
+public class ValueJournal
+{
+	private static volatile List<Entry> journal = null;	// Checked without a lock
+	private static volatile long generation = 0;
+	
+	/**
+	 * One recorded change, which can be undone.
+	 */
+	private static class Entry
+	{
+		private final UpdatableValue updatable;
+		private final Value oldValue;
+		private final ValueMap map;
+		private final Value key;
+		private final ValueList list;
+		
+		public Entry(UpdatableValue updatable, Value oldValue, ValueMap map, Value key, ValueList list)
+		{
+			this.updatable = updatable;
+			this.oldValue = oldValue;
+			this.map = map;
+			this.key = key;
+			this.list = list;
+		}
+		
+		public void undo()
+		{
+			if (updatable != null)
+			{
+				synchronized (updatable)
+				{
+					updatable.value = oldValue;
+				}
+			}
+			else if (map != null)
+			{
+				map.remove(key);
+			}
+			else
+			{
+				list.remove(list.size() - 1);
+			}
+		}
+	}
+	
+	/**
+	 * Start recording changes, discarding any previous journal.
+	 */
+	public static synchronized void start()
+	{
+		journal = new Vector<Entry>();
+		generation++;
+	}
+	
+	/**
+	 * Stop recording changes. The state is not rolled back.
+	 */
+	public static synchronized void stop()
+	{
+		journal = null;
+	}
+	
+	public static synchronized boolean isActive()
+	{
+		return journal != null;
+	}
+	
+	/**
+	 * Undo all of the changes recorded since the journal was started, most
+	 * recent first, and continue recording from that point.
+	 */
+	public static synchronized void rollback()
+	{
+		rollback(0);
+	}
+	
+	/**
+	 * Return a checkpoint, which the state can be rolled back to later.
+	 */
+	public static synchronized int mark()
+	{
+		generation++;
+		return size();
+	}
+	
+	/**
+	 * Undo the changes recorded since the mark passed was taken, most recent
+	 * first, and continue recording from that point.
+	 */
+	public static synchronized void rollback(int mark)
+	{
+		if (journal != null)
+		{
+			for (int i = journal.size() - 1; i >= mark; i--)
+			{
+				journal.get(i).undo();
+				journal.remove(i);
+			}
+		}
+		
+		generation++;
+	}
+	
+	public static long getGeneration()
+	{
+		return generation;
+	}
+
+	public static synchronized int size()
+	{
+		return journal == null ? 0 : journal.size();
+	}
+
+	private static synchronized void add(Entry entry)
+	{
+		if (journal != null)
+		{
+			journal.add(entry);
+		}
+	}
+
+	/**
+	 * Record that an updatable is about to change from its old value, unless it
+	 * has already been recorded, or was created, since the last mark. The caller
+	 * holds the updatable's lock.
+	 */
+	public static void recordSet(UpdatableValue updatable, Value oldValue)
+	{
+		if (journal != null && updatable.journalled != generation)
+		{
+			updatable.journalled = generation;
+			add(new Entry(updatable, oldValue, null, null, null));
+		}
+	}
+
+	/**
+	 * Record that a new key has been added to a map.
+	 */
+	public static void recordPut(ValueMap map, Value key)
+	{
+		if (journal != null)
+		{
+			add(new Entry(null, null, map, key, null));
+		}
+	}
+
+	/**
+	 * Record that a new element has been added to the end of a list.
+	 */
+	public static void recordAdd(ValueList list)
+	{
+		if (journal != null)
+		{
+			add(new Entry(null, null, null, null, list));
+		}
+	}
+}
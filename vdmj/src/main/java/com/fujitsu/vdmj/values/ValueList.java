@@ -24,15 +24,17 @@
 
 package com.fujitsu.vdmj.values;
 
-import java.util.Vector;
+import java.util.ArrayList;
 
 import com.fujitsu.vdmj.util.Utils;
 
 /**
- * A sequential list of values.
+ * A sequential list of values. Note that this is not synchronized. Values are
+ * only shared between threads via UpdatableValues or the scheduler, both of
+ * which synchronize their handover.
  */
 
-public class ValueList extends Vector<Value>
+public class ValueList extends ArrayList<Value>
 {
 	public ValueList()
 	{
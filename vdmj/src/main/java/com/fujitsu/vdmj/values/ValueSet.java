@@ -24,8 +24,10 @@
 
 package com.fujitsu.vdmj.values;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Vector;
 
@@ -39,13 +41,28 @@ import com.fujitsu.vdmj.util.Utils;
 
 /**
  * A set of values. Note that although this class implements a set (no duplicates)
- * it is not based on a java.util.Set&lt;Value&gt;, but rather a Vector&lt;Value&gt;. This is
+ * it is not based on a java.util.Set&lt;Value&gt;, but rather a List&lt;Value&gt;. This is
  * so that the possible orderings of set values can be enumerated when
  * performing quantifiers like "a,b,c in set {{1,2,3}, {4,5,6}}".
+ * 
+ * Membership tests on large sets use a HashSet index of the members, which is
+ * created on demand and discarded whenever the list is modified other than
+ * by the add methods here (detected via the modCount). Like ValueMap, the index
+ * is not used if any member defines an "eq" clause, since their hashCodes are
+ * not consistent with equals.
+ * 
+ * Like ValueList, this is not synchronized. The index is published via a
+ * volatile, since it may be created lazily by any thread reading the set.
  */
-public class ValueSet extends Vector<Value>		// NB based on Vector
+public class ValueSet extends ArrayList<Value>		// NB based on ArrayList
 {
+	/** The size above which contains() uses a hash index */
+	private static final int INDEX_THRESHOLD = 16;
+
 	private boolean isSorted;
+	private transient volatile HashSet<Value> index = null;
+	private transient int indexModCount = 0;
+	private boolean hashable = true;
 
 	public ValueSet()
 	{
@@ -62,7 +79,12 @@ public class ValueSet extends Vector<Value>		// NB based on Vector
 	public ValueSet(ValueSet from)
 	{
 		super(from.size());
-		addAll(from);
+
+		for (Value v: from)
+		{
+			append(v);		// No duplicates in a set
+		}
+
 		isSorted = from.isSorted;
 	}
 
@@ -132,6 +154,22 @@ public class ValueSet extends Vector<Value>		// NB based on Vector
 		return hash;
 	}
 
+	@Override
+	public boolean contains(Object v)
+	{
+		if (size() > INDEX_THRESHOLD && hashable)
+		{
+			HashSet<Value> members = getIndex();
+
+			if (members != null)
+			{
+				return members.contains(v);
+			}
+		}
+
+		return super.contains(v);
+	}
+
 	@Override
 	public boolean add(Value v)
 	{
@@ -142,7 +180,7 @@ public class ValueSet extends Vector<Value>		// NB based on Vector
 		else
 		{
 			isSorted = false;
-			return super.add(v);
+			return append(v);
 		}
 	}
 	
@@ -153,19 +191,87 @@ public class ValueSet extends Vector<Value>		// NB based on Vector
 	public boolean addSorted(Value v)
 	{
 		isSorted = true;
-		return super.add(v);
+		return append(v);
 	}
 
 	public boolean addUnsorted(Value v)
 	{
 		isSorted = false;
-		return super.add(v);
+		return append(v);
 	}
 	
 	public boolean addSorted(Value v, boolean sorted)
 	{
 		isSorted = sorted;
-		return super.add(v);
+		return append(v);
+	}
+
+	/**
+	 * Add an item that is known not to be in the set, keeping any index current.
+	 */
+	private boolean append(Value v)
+	{
+		boolean current = (index != null && indexModCount == modCount);
+		super.add(v);
+
+		if (!isHashable(v))
+		{
+			hashable = false;
+			index = null;
+		}
+		else if (current)
+		{
+			index.add(v);
+			indexModCount = modCount;
+		}
+
+		return true;
+	}
+
+	private HashSet<Value> getIndex()
+	{
+		HashSet<Value> members = index;
+
+		if (members == null || indexModCount != modCount)
+		{
+			int size = size();
+			members = new HashSet<Value>(size);
+
+			for (int i=0; i<size; i++)
+			{
+				Value v = get(i);
+
+				if (!isHashable(v))
+				{
+					hashable = false;
+					index = null;
+					return null;
+				}
+
+				members.add(v);
+			}
+
+			indexModCount = modCount;
+			index = members;
+		}
+
+		return members;
+	}
+
+	private boolean isHashable(Value v)
+	{
+		v = v.deref();
+
+		if (v instanceof InvariantValue)
+		{
+			return ((InvariantValue)v).equality == null;
+		}
+		else if (v instanceof RecordValue)
+		{
+			return ((RecordValue)v).equality == null;
+		}
+
+		return true;
 	}
 
 	@Override
@@ -248,9 +354,9 @@ public class ValueSet extends Vector<Value>		// NB based on Vector
 		{
 			/**
 			 * The KCombinator below produces combinations in order (eg. [1,2] before [1,3]).
-			 * And we loop the combination sizes from large to small, which is also the
-			 * natural ordering for sets. This means we can use addNoSort and (in power itself)
-			 * we can construct the final SetValue without sorting, which is much more efficient.
+			 * This means we can use addSorted for the members of each subset. But the subsets
+			 * are produced by size, from large to small, which is not the natural ordering of
+			 * sets (eg. {1} sorts before {2, 3}), so the set of subsets must still be sorted.
 			 */
 			int size = size();
 			long check = 0;
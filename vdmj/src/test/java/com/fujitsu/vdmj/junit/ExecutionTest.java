@@ -25,24 +25,46 @@
 package com.fujitsu.vdmj.junit;
 
 import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Vector;
 
 import com.fujitsu.vdmj.Release;
 import com.fujitsu.vdmj.Settings;
 import com.fujitsu.vdmj.ast.modules.ASTModuleList;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.in.INNode;
+import com.fujitsu.vdmj.in.definitions.INNamedTraceDefinition;
 import com.fujitsu.vdmj.in.modules.INModuleList;
 import com.fujitsu.vdmj.lex.Dialect;
+import com.fujitsu.vdmj.lex.LexLocation;
 import com.fujitsu.vdmj.lex.LexTokenReader;
 import com.fujitsu.vdmj.mapper.ClassMapper;
 import com.fujitsu.vdmj.messages.Console;
+import com.fujitsu.vdmj.messages.ConsolePrintWriter;
+import com.fujitsu.vdmj.messages.ConsoleWriter;
+import com.fujitsu.vdmj.messages.VDMError;
+import com.fujitsu.vdmj.messages.VDMMessage;
+import com.fujitsu.vdmj.plugins.TreeCache;
 import com.fujitsu.vdmj.plugins.commands.AssertCommand;
+import com.fujitsu.vdmj.plugins.commands.MemoCommand;
+import com.fujitsu.vdmj.runtime.Context;
+import com.fujitsu.vdmj.runtime.ContextException;
+import com.fujitsu.vdmj.runtime.Interpreter;
 import com.fujitsu.vdmj.runtime.ModuleInterpreter;
 import com.fujitsu.vdmj.syntax.ModuleReader;
 import com.fujitsu.vdmj.tc.TCNode;
+import com.fujitsu.vdmj.tc.lex.TCNameToken;
 import com.fujitsu.vdmj.tc.modules.TCModuleList;
+import com.fujitsu.vdmj.traces.TraceIterator;
+import com.fujitsu.vdmj.traces.TraceReductionType;
 import com.fujitsu.vdmj.typechecker.ModuleTypeChecker;
 import com.fujitsu.vdmj.typechecker.TypeChecker;
+import com.fujitsu.vdmj.values.ValueJournal;
 
 import junit.framework.TestCase;
 
@@ -62,14 +84,19 @@ public class ExecutionTest extends TestCase
 		super.tearDown();
 	}
 
-	private void process(String resource, String aresource) throws Exception
+	private ModuleInterpreter process(String resource, String aresource) throws Exception
+	{
+		TCModuleList checked = check(resource);
+		INModuleList runnable = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checked);
+		return runAssertions(new ModuleInterpreter(runnable, checked), aresource);
+	}
+
+	private TCModuleList check(String resource) throws Exception
 	{
 		Console.out.println("Processing " + resource + "...");
 
 		URL rurl = getClass().getResource("/exectest/" + resource);
 		String file = rurl.getPath();
-		URL aurl = getClass().getResource("/exectest/" + aresource);
-		String assertions = aurl.getPath();
 
 		long before = System.currentTimeMillis();
 		LexTokenReader ltr = new LexTokenReader(new File(file), Dialect.VDM_SL);
@@ -94,12 +121,19 @@ public class ExecutionTest extends TestCase
 		Console.out.println("There were " + TypeChecker.getWarningCount() + " warnings");
 		TypeChecker.printErrors(Console.out);
 		assertEquals("Type check errors", 0, TypeChecker.getErrorCount());
+		return checked;
+	}
+
+	private ModuleInterpreter runAssertions(ModuleInterpreter interpreter, String aresource) throws Exception
+	{
+		URL aurl = getClass().getResource("/exectest/" + aresource);
+		String assertions = aurl.getPath();
 
-		INModuleList runnable = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checked);
-		ModuleInterpreter interpreter = new ModuleInterpreter(runnable, checked);
 		interpreter.init();
 		AssertCommand cmd = new AssertCommand("assert " + assertions);
-		assertEquals("Execution errors", true, !cmd.errors());
+		assertEquals("Execution errors", null, cmd.run("assert " + assertions));
+		assertEquals("Execution errors", false, cmd.errors());
+		return interpreter;
 	}
 
 	private void interpret(String resource) throws Exception
@@ -110,7 +144,8 @@ public class ExecutionTest extends TestCase
 		ModuleInterpreter interpreter = new ModuleInterpreter(new INModuleList(), new TCModuleList());
 		interpreter.init();
 		AssertCommand cmd = new AssertCommand("assert " + file);
-		assertEquals("Execution errors", true, !cmd.errors());
+		assertEquals("Execution errors", null, cmd.run("assert " + file));
+		assertEquals("Execution errors", false, cmd.errors());
 	}
 
 	public void testExpressions() throws Exception
@@ -118,6 +153,19 @@ public class ExecutionTest extends TestCase
 		interpret("basic.tests");
 	}
 
+	public void testBigIntegers() throws Exception
+	{
+		try
+		{
+			Properties.in_bigint_arithmetic = true;
+			interpret("bigint.tests");
+		}
+		finally
+		{
+			Properties.in_bigint_arithmetic = false;
+		}
+	}
+
 	public void testMADJ21() throws Exception
 	{
 		process("MADJ-21.vdm", "MADJ-21.tests");
@@ -142,4 +190,317 @@ public class ExecutionTest extends TestCase
 	{
 		process("flat.vdm", "flat.tests");
 	}
+
+	public void testTypeBinds() throws Exception
+	{
+		long stream = Properties.in_typebind_stream;
+		Settings.release = Release.VDM_10;
+
+		try
+		{
+			Properties.in_typebind_stream = Long.MAX_VALUE;
+			process("typebind.vdm", "typebind.tests");
+			Properties.in_typebind_stream = 0;
+			process("typebind.vdm", "typebind.tests");
+		}
+		finally
+		{
+			Properties.in_typebind_stream = stream;
+		}
+	}
+
+	public void testTraceIndexes() throws Exception
+	{
+		Settings.release = Release.VDM_10;
+		ModuleInterpreter interpreter = process("traces.vdm", "traces.tests");
+		URL url = getClass().getResource("/exectest/traces.order");
+		List<String> order = Files.readAllLines(Paths.get(url.toURI()));
+
+		for (String trace: new String[] { "T1", "T2", "T3", "T4", "T5", "T6", "T7", "T8" })
+		{
+			INNamedTraceDefinition tracedef =
+				interpreter.findTraceDefinition(new TCNameToken(LexLocation.ANY, "A", trace));
+			Context ctxt = interpreter.getTraceContext(tracedef.classDefinition);
+			TraceIterator tests = tracedef.getIterator(ctxt);
+			long index = 0;
+
+			for (String line: order)
+			{
+				if (line.startsWith(trace + ": "))
+				{
+					String expected = line.substring(trace.length() + 2);
+					assertTrue(trace + " test " + index, tests.hasMoreTests());
+					assertEquals(trace + " test " + index, expected, tests.getNextTest().getCallString(ctxt));
+					assertEquals(trace + " test " + index, expected, tests.getTest(index++).getCallString(ctxt));
+				}
+			}
+
+			assertFalse(trace + " extra tests", tests.hasMoreTests());
+			assertEquals(trace + " count", tests.count(), index);
+		}
+	}
+
+	public void testTracePrefixes() throws Exception
+	{
+		boolean saveState = Properties.traces_save_state;
+		int prefixBatch = Properties.traces_prefix_batch;
+		Settings.release = Release.VDM_10;
+
+		try
+		{
+			ModuleInterpreter interpreter = process("traces.vdm", "traces.tests");
+			Properties.traces_save_state = true;
+
+			for (String trace: new String[] { "T1", "T2", "T3", "T4", "T5", "T6", "T7", "T8" })
+			{
+				Properties.traces_prefix_batch = 0;
+				String expected = runtrace(interpreter, trace);
+				Properties.traces_prefix_batch = 5;
+				assertEquals(trace, expected, runtrace(interpreter, trace));
+			}
+		}
+		finally
+		{
+			Properties.traces_save_state = saveState;
+			Properties.traces_prefix_batch = prefixBatch;
+			Interpreter.setTraceOutput(null);
+		}
+	}
+
+	public void testTraceState() throws Exception
+	{
+		boolean saveState = Properties.traces_save_state;
+		int prefixBatch = Properties.traces_prefix_batch;
+		Settings.release = Release.VDM_10;
+
+		try
+		{
+			ModuleInterpreter interpreter = process("traces.vdm", "traces.tests");
+
+			// Each test initializes the state completely
+			Properties.traces_save_state = false;
+			String expected = runtrace(interpreter, "T7");
+			assertTrue(expected, expected.contains("Test 5 = op4(1); op4(1)\nResult = [1, 1, PASSED]"));
+			assertTrue(expected, expected.contains("Test 63 = op5(1); op5(1); op5(1)\nResult = [1, 2, 3, PASSED]"));
+			assertTrue(expected, expected.contains("Test 84 = op6(10); op6(10); op6(10)\nResult = [20, 30, 40, PASSED]"));
+
+			// Each test rolls back the changes made by the last
+			Properties.traces_save_state = true;
+			Properties.traces_prefix_batch = 0;
+			assertEquals(expected, runtrace(interpreter, "T7"));
+			assertFalse("Journal stopped", ValueJournal.isActive());
+			Properties.traces_prefix_batch = 5;
+			assertEquals(expected, runtrace(interpreter, "T7"));
+			assertFalse("Journal stopped", ValueJournal.isActive());
+
+			// Only the first change to x is recorded, and not the local l
+			interpreter.init();
+			ValueJournal.start();
+			assertEquals(2000, interpreter.execute("op6(1000)").intValue(null));
+			assertEquals(1, ValueJournal.size());
+			assertEquals(1, interpreter.execute("op4(7)").intValue(null));
+			assertEquals(1, interpreter.execute("op5(7)").intValue(null));
+			ValueJournal.rollback();
+			assertEquals(0, interpreter.execute("op2()").intValue(null));
+			assertEquals(true, interpreter.execute("op4(1) = 1 and op5(1) = 1").boolValue(null));
+			ValueJournal.stop();
+		}
+		finally
+		{
+			Properties.traces_save_state = saveState;
+			Properties.traces_prefix_batch = prefixBatch;
+			Interpreter.setTraceOutput(null);
+			ValueJournal.stop();
+		}
+	}
+
+	public void testTraceWorkers() throws Exception
+	{
+		int workers = Properties.traces_workers;
+		int powersetLimit = Properties.in_powerset_limit;
+		Settings.release = Release.VDM_10;
+
+		try
+		{
+			ModuleInterpreter interpreter = process("traces.vdm", "traces.tests");
+
+			// Failed stems are filtered across the shards, in test order
+			Properties.traces_workers = 1;
+			String expected = runtrace(interpreter, "T5", 3, 100, 0.5F, TraceReductionType.RANDOM);
+			assertTrue(expected, expected.contains("FAILED"));
+			assertTrue(expected, expected.contains("FILTERED"));
+			assertTrue(expected, expected.contains("Excluded"));
+
+			Properties.traces_workers = 3;
+			assertEquals(expected, runtrace(interpreter, "T5", 3, 100, 0.5F, TraceReductionType.RANDOM));
+
+			// A start of zero keeps the reduction, up to the end test
+			Properties.traces_workers = 1;
+			expected = runtrace(interpreter, "T5", 0, 60, 0.5F, TraceReductionType.RANDOM);
+			assertTrue(expected, expected.split("\nTest [0-9]+ = ").length < 60);
+			assertTrue(expected, expected.contains("Excluded"));
+			assertFalse(expected, expected.contains("Test 61 "));
+
+			Properties.traces_workers = 3;
+			assertEquals(expected, runtrace(interpreter, "T5", 0, 60, 0.5F, TraceReductionType.RANDOM));
+
+			// Workers use the current property values, not those they read
+			Properties.in_powerset_limit = 4;
+			Properties.traces_workers = 1;
+			expected = runtrace(interpreter, "T8", 0, 0, 1.0F, TraceReductionType.NONE);
+			assertTrue(expected, expected.contains("Cannot evaluate power set of size 5"));
+
+			Properties.traces_workers = 2;
+			assertEquals(expected, runtrace(interpreter, "T8", 0, 0, 1.0F, TraceReductionType.NONE));
+		}
+		finally
+		{
+			Properties.traces_workers = workers;
+			Properties.in_powerset_limit = powersetLimit;
+			Interpreter.setTraceOutput(null);
+		}
+	}
+
+	private String runtrace(ModuleInterpreter interpreter, String trace) throws Exception
+	{
+		return runtrace(interpreter, trace, 0, 0, 1.0F, TraceReductionType.NONE);
+	}
+
+	private String runtrace(ModuleInterpreter interpreter, String trace, int startTest, int endTest,
+		float subset, TraceReductionType reductionType) throws Exception
+	{
+		StringWriter out = new StringWriter();
+		Interpreter.setTraceOutput(new ConsolePrintWriter(new PrintWriter(out)));
+		interpreter.runtrace(trace, startTest, endTest, false, subset, reductionType, 1234);
+		StringBuilder sb = new StringBuilder();
+
+		for (String line: out.toString().split("\n"))
+		{
+			if (!line.contains(" secs."))	// Remove timings
+			{
+				sb.append(line);
+				sb.append("\n");
+			}
+		}
+
+		return sb.toString();
+	}
+
+	public void testParallelBinds() throws Exception
+	{
+		int workers = Properties.in_workers;
+		int batch = Properties.in_parallel_batch;
+		Settings.release = Release.VDM_10;
+
+		try
+		{
+			Properties.in_workers = 1;
+			process("parallel.vdm", "parallel.tests");
+			Properties.in_workers = 4;
+			Properties.in_parallel_batch = 8;
+			ModuleInterpreter interpreter = process("parallel.vdm", "parallel.tests");
+
+			try
+			{
+				// The error at 60 is reported, rather than the false at 80
+				interpreter.execute("forall i in set {1,...,100} & check(i)");
+				fail("Expected sequence index error");
+			}
+			catch (ContextException e)
+			{
+				assertEquals(4083, e.number);
+			}
+		}
+		finally
+		{
+			Properties.in_workers = workers;
+			Properties.in_parallel_batch = batch;
+		}
+	}
+
+	public void testMemoize() throws Exception
+	{
+		boolean memoize = Properties.in_memoize_functions;
+		ConsoleWriter out = Console.out;
+		Settings.release = Release.VDM_10;
+
+		try
+		{
+			Properties.in_memoize_functions = true;
+			process("memoize.vdm", "memoize.tests");
+
+			StringWriter memos = new StringWriter();
+			Console.out = new ConsolePrintWriter(new PrintWriter(memos, true));
+			assertEquals(null, new MemoCommand("memo").run("memo"));
+
+			// fib is cached, but the closures of add and scale are not
+			assertTrue(memos.toString(), memos.toString().matches("(?s).*fib .*: [1-9][0-9]* hits.*"));
+			assertFalse(memos.toString(), memos.toString().contains("add "));
+			assertFalse(memos.toString(), memos.toString().contains("scale "));
+
+			assertEquals("Memoized function caches cleared", new MemoCommand("memo reset").run("memo reset"));
+			memos.getBuffer().setLength(0);
+			new MemoCommand("memo").run("memo");
+			assertTrue(memos.toString(), memos.toString().contains("fib "));
+			assertFalse(memos.toString(), memos.toString().matches("(?s).*: [1-9].*"));
+		}
+		finally
+		{
+			Properties.in_memoize_functions = memoize;
+			Console.out = out;
+		}
+	}
+
+	public void testTreeCache() throws Exception
+	{
+		String cacheDir = Properties.tc_cache_dir;
+		File dir = Files.createTempDirectory("vdmj-cache").toFile();
+		List<File> files = new Vector<File>();
+		files.add(new File(getClass().getResource("/exectest/function.vdm").getPath()));
+
+		try
+		{
+			Properties.tc_cache_dir = dir.getPath();
+			TreeCache cache = new TreeCache(files);
+			assertFalse("Empty cache", cache.load());
+
+			TCModuleList checked = check("function.vdm");
+			List<VDMMessage> warnings = new Vector<VDMMessage>(TypeChecker.getWarnings());
+			cache.save(checked, warnings);
+			INModuleList runnable = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checked);
+			cache.saveIN(runnable);
+
+			// The cached trees run the same assertions, without checking or mapping again
+			TreeCache loaded = new TreeCache(files);
+			assertTrue("Cache hit", loaded.load());
+			assertEquals(warnings.size(), loaded.getWarnings().size());
+			TCModuleList cachedTC = loaded.getTC();
+			INModuleList cachedIN = loaded.restoreIN();
+			assertEquals(checked.toString(), cachedTC.toString());
+			runAssertions(new ModuleInterpreter(cachedIN, cachedTC), "function.tests");
+
+			// Any setting that affects the check is part of the key
+			Settings.release = Release.VDM_10;
+			TreeCache other = new TreeCache(files);
+			assertFalse("Release changed", other.load());
+
+			// Specifications with errors are not cached
+			List<VDMMessage> errors = new Vector<VDMMessage>();
+			errors.add(new VDMError(1234, "Test error", LexLocation.ANY));
+			other.save(checked, errors);
+			assertFalse("Errors not cached", new TreeCache(files).load());
+			assertEquals(1, dir.list().length);
+		}
+		finally
+		{
+			Properties.tc_cache_dir = cacheDir;
+
+			for (File f: dir.listFiles())
+			{
+				f.delete();
+			}
+
+			dir.delete();
+		}
+	}
 }
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package com.fujitsu.vdmj.junit;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.Release;
+import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.ast.modules.ASTModule;
+import com.fujitsu.vdmj.ast.modules.ASTModuleList;
+import com.fujitsu.vdmj.config.Properties;
+import com.fujitsu.vdmj.lex.Dialect;
+import com.fujitsu.vdmj.lex.LexTokenReader;
+import com.fujitsu.vdmj.mapper.ClassMapper;
+import com.fujitsu.vdmj.messages.VDMMessage;
+import com.fujitsu.vdmj.plugins.analyses.ASTPluginSL;
+import com.fujitsu.vdmj.plugins.events.CheckPrepareEvent;
+import com.fujitsu.vdmj.plugins.events.CheckSyntaxEvent;
+import com.fujitsu.vdmj.syntax.ModuleReader;
+import com.fujitsu.vdmj.tc.TCNode;
+import com.fujitsu.vdmj.tc.annotations.TCAnnotation;
+import com.fujitsu.vdmj.tc.modules.TCModuleList;
+import com.fujitsu.vdmj.typechecker.ModuleTypeChecker;
+import com.fujitsu.vdmj.typechecker.TypeChecker;
+
+import junit.framework.TestCase;
+
+/**
+ * Check that the parallel parser and type checker produce the same results and
+ * messages as a sequential parse and check.
+ */
+public class ParallelCheckTest extends TestCase
+{
+	private static final int MODULES = 30;
+	private static final int FILES = 12;
+	private static final int WORKERS = 4;
+
+	private int tcWorkers;
+	private int parserWorkers;
+
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		Settings.release = Release.VDM_10;
+		Settings.dialect = Dialect.VDM_SL;
+		tcWorkers = Properties.tc_workers;
+		parserWorkers = Properties.parser_workers;
+		TCAnnotation.reset();	// Annotations force a sequential check
+	}
+
+	@Override
+	protected void tearDown() throws Exception
+	{
+		super.tearDown();
+		Properties.tc_workers = tcWorkers;
+		Properties.parser_workers = parserWorkers;
+		Settings.annotations = false;
+	}
+
+	/**
+	 * Generate a chain of importing modules, each with several errors and warnings,
+	 * some of which are raised by references to the previous module.
+	 */
+	private String generate(int count)
+	{
+		StringBuilder sb = new StringBuilder();
+		
+		for (int i = 0; i < count; i++)
+		{
+			sb.append("module M" + i + "\n");
+			
+			if (i > 0)
+			{
+				sb.append("imports from M" + (i-1) + " all\n");
+			}
+			
+			sb.append("exports all\n");
+			sb.append("definitions\n");
+			sb.append("types\n");
+			sb.append("  T" + i + " = nat" + (i > 0 ? " | M" + (i-1) + "`T" + (i-1) : "") + ";\n");
+			sb.append("values\n");
+			sb.append("  v" + i + " : T" + i + " = true;\n");
+			sb.append("  w" + i + " = " + (i > 0 ? "M" + (i-1) + "`undefined" : "undefined") + ";\n");
+			sb.append("functions\n");
+			sb.append("  f" + i + ": T" + i + " -> bool\n");
+			sb.append("  f" + i + "(n) == n + 1;\n");
+			sb.append("  g" + i + ": nat -> nat\n");
+			sb.append("  g" + i + "(n) == let x = n, y = 1 in y;\n");
+			sb.append("  h" + i + ": T" + i + " -> nat\n");
+			sb.append("  h" + i + "(t) == " + (i > 0 ? "M" + (i-1) + "`f" + (i-1) + "(t)" : "t") + ";\n");
+			sb.append("end M" + i + "\n\n");
+		}
+		
+		return sb.toString();
+	}
+
+	private List<String> typeCheck(String spec) throws Exception
+	{
+		LexTokenReader ltr = new LexTokenReader(spec, Dialect.VDM_SL);
+		ModuleReader mr = new ModuleReader(ltr);
+		ASTModuleList parsed = new ASTModuleList();
+		parsed.addAll(mr.readModules());
+		assertEquals("Parse errors", 0, mr.getErrorCount());
+
+		TCModuleList checked = ClassMapper.getInstance(TCNode.MAPPINGS).init().convert(parsed);
+		TypeChecker typeChecker = new ModuleTypeChecker(checked);
+		typeChecker.typeCheck();
+		
+		List<String> messages = new Vector<String>();
+		
+		for (VDMMessage m: TypeChecker.getErrors())
+		{
+			messages.add(m.toString());
+		}
+		
+		for (VDMMessage m: TypeChecker.getWarnings())
+		{
+			messages.add(m.toString());
+		}
+		
+		return messages;
+	}
+
+	/**
+	 * Generate the files of a spec, one module per file. Some of the modules have
+	 * annotations, one of which is unknown, and some have syntax errors.
+	 */
+	private List<File> generateFiles(File dir, int count) throws Exception
+	{
+		List<File> files = new Vector<File>();
+		
+		for (int i = 0; i < count; i++)
+		{
+			StringBuilder sb = new StringBuilder();
+			sb.append("module P" + i + "\n");
+			sb.append("exports all\n");
+			sb.append("definitions\n");
+			sb.append("operations\n");
+			sb.append("  op" + i + ": nat ==> nat\n");
+			sb.append("  op" + i + "(n) ==\n");
+			sb.append("  (\n");
+			sb.append("    dcl x : nat := n;\n");
+			
+			switch (i % 4)
+			{
+				case 1:
+					sb.append("    -- @LoopInvariant(x <= n)\n");
+					sb.append("    -- @LoopMeasure(x)\n");
+					break;
+					
+				case 2:
+					sb.append("    -- @Unknown" + i + "(x)\n");
+					break;
+			}
+			
+			sb.append("    while x > 0 do x := x - 1;\n");
+			sb.append("    return x\n");
+			sb.append("  );\n");
+			
+			if (i % 3 == 0)
+			{
+				sb.append("functions\n");
+				sb.append("  f" + i + ": nat -> nat\n");
+				sb.append("  f" + i + "(n) == if n then;\n");
+			}
+			
+			sb.append("end P" + i + "\n");
+			
+			File file = new File(dir, "P" + i + ".vdmsl");
+			Files.write(file.toPath(), sb.toString().getBytes());
+			files.add(file);
+		}
+		
+		return files;
+	}
+
+	private List<String> parse(List<File> files, List<String> modules) throws Exception
+	{
+		ASTPluginSL plugin = new ASTPluginSL();
+		List<String> messages = new Vector<String>();
+		plugin.handleEvent(new CheckPrepareEvent(files));
+		
+		for (VDMMessage m: plugin.handleEvent(new CheckSyntaxEvent()))
+		{
+			messages.add(m.toString());
+		}
+		
+		ASTModuleList parsed = plugin.getAST();
+		
+		for (ASTModule m: parsed)
+		{
+			modules.add(m.toString());
+		}
+		
+		return messages;
+	}
+
+	public void testParse() throws Exception
+	{
+		boolean annotationsDebug = Properties.annotations_debug;
+		File dir = Files.createTempDirectory("vdmj").toFile();
+		
+		try
+		{
+			List<File> files = generateFiles(dir, FILES);
+			Settings.annotations = true;
+			Properties.annotations_debug = true;	// Warn of unknown annotations
+
+			Properties.parser_workers = 1;
+			List<String> expectedModules = new Vector<String>();
+			List<String> expected = parse(files, expectedModules);
+			assertEquals("Modules", FILES, expectedModules.size());
+			assertTrue("Annotations", expectedModules.toString().contains("@LoopInvariant"));
+			assertTrue("Unknown annotation", expected.toString().contains("Cannot find ASTUnknown2Annotation"));
+			assertTrue("Syntax errors", expected.toString().contains("P3.vdmsl"));
+
+			Properties.parser_workers = WORKERS;
+			List<String> modules = new Vector<String>();
+			assertEquals(expected, parse(files, modules));
+			assertEquals(expectedModules, modules);
+		}
+		finally
+		{
+			Properties.annotations_debug = annotationsDebug;
+			
+			for (File file: dir.listFiles())
+			{
+				file.delete();
+			}
+			
+			dir.delete();
+		}
+	}
+
+	public void testTypeCheck() throws Exception
+	{
+		String spec = generate(MODULES);
+		
+		Properties.tc_workers = 1;
+		List<String> expected = typeCheck(spec);
+		assertTrue("Errors past tc_max_errors", TypeChecker.getErrorCount() > Properties.tc_max_errors);
+		assertTrue("Warnings", TypeChecker.getWarningCount() > 0);
+		
+		Properties.tc_workers = WORKERS;
+		assertEquals(expected, typeCheck(spec));
+	}
+}
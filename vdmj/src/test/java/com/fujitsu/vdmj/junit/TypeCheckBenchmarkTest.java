@@ -0,0 +1,263 @@
+/*******************************************************************************
+ *
+ *	Copyright (c) 2025 Nick Battle.
+ *
+ *	Author: Nick Battle
+ *
+ *	This file is part of VDMJ.
+ *
+ *	VDMJ is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	VDMJ is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with VDMJ.  If not, see &lt;http://www.gnu.org/licenses/&gt;.
+ *	SPDX-License-Identifier: GPL-3.0-or-later
+ *
+ ******************************************************************************/
+
+
+package com.fujitsu.vdmj.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Vector;
+
+import com.fujitsu.vdmj.Release;
+import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.ast.modules.ASTModuleList;
+import com.fujitsu.vdmj.in.INNode;
+import com.fujitsu.vdmj.in.modules.INModuleList;
+import com.fujitsu.vdmj.lex.Dialect;
+import com.fujitsu.vdmj.lex.LexTokenReader;
+import com.fujitsu.vdmj.mapper.ClassMapper;
+import com.fujitsu.vdmj.messages.Console;
+import com.fujitsu.vdmj.syntax.ModuleReader;
+import com.fujitsu.vdmj.tc.TCNode;
+import com.fujitsu.vdmj.tc.definitions.TCDefinition;
+import com.fujitsu.vdmj.tc.definitions.TCTypeDefinition;
+import com.fujitsu.vdmj.tc.modules.TCModule;
+import com.fujitsu.vdmj.tc.modules.TCModuleList;
+import com.fujitsu.vdmj.tc.types.TCType;
+import com.fujitsu.vdmj.typechecker.ModuleTypeChecker;
+import com.fujitsu.vdmj.typechecker.TypeChecker;
+import com.fujitsu.vdmj.typechecker.TypeComparator;
+
+import junit.framework.TestCase;
+
+/**
+ * A benchmark of type checking a large, generated multi-module specification,
+ * and of TypeComparator calls from several threads.
+ */
+public class TypeCheckBenchmarkTest extends TestCase
+{
+	private static final int MODULES = 40;
+	private static final int RUNS = 3;
+	private static final int THREADS = 4;
+
+	@Override
+	protected void setUp() throws Exception
+	{
+		super.setUp();
+		Settings.release = Release.VDM_10;
+		Settings.dialect = Dialect.VDM_SL;
+	}
+
+	private String generate(int count)
+	{
+		StringBuilder sb = new StringBuilder();
+		
+		for (int i = 0; i < count; i++)
+		{
+			sb.append("module M" + i + "\n");
+			
+			if (i > 0)
+			{
+				sb.append("imports from M" + (i-1) + " all\n");
+			}
+			
+			sb.append("exports all\n");
+			sb.append("definitions\n");
+			sb.append("types\n");
+			sb.append("  T" + i + " = <A> | <B> | R" + i + " | seq of T" + i + (i > 0 ? " | M" + (i-1) + "`T" + (i-1) : "") + ";\n");
+			sb.append("  R" + i + " :: f : nat g : [T" + i + "] h : map nat to set of T" + i + ";\n");
+			sb.append("functions\n");
+			sb.append("  f" + i + ": T" + i + " * nat -> T" + i + "\n");
+			sb.append("  f" + i + "(t, n) == if n = 0 then t else cases t: mk_R" + i + "(-, g, -) -> if g = nil then t else f" + i + "(g, n-1), others -> [t] end\n");
+			sb.append("  measure n;\n");
+			sb.append("  g" + i + ": seq of T" + i + " -> nat\n");
+			sb.append("  g" + i + "(s) == len [x | x in seq s & is_R" + i + "(x)];\n");
+			sb.append("  h" + i + ": R" + i + " -> set of T" + i + "\n");
+			sb.append("  h" + i + "(r) == dunion rng r.h union {mk_R" + i + "(r.f + 1, r, {|->})};\n");
+			sb.append("end M" + i + "\n\n");
+		}
+		
+		return sb.toString();
+	}
+	
+	private TCModuleList typeCheck(String spec) throws Exception
+	{
+		LexTokenReader ltr = new LexTokenReader(spec, Dialect.VDM_SL);
+		ModuleReader mr = new ModuleReader(ltr);
+		ASTModuleList parsed = new ASTModuleList();
+		parsed.addAll(mr.readModules());
+		assertEquals("Parse errors", 0, mr.getErrorCount());
+
+		TCModuleList checked = ClassMapper.getInstance(TCNode.MAPPINGS).init().convert(parsed);
+		TypeChecker typeChecker = new ModuleTypeChecker(checked);
+		typeChecker.typeCheck();
+		TypeChecker.printErrors(Console.out);
+		assertEquals("Type check errors", 0, TypeChecker.getErrorCount());
+		
+		return checked;
+	}
+
+	public void testTypeCheck() throws Exception
+	{
+		String spec = generate(MODULES);
+		
+		for (int run = 1; run <= RUNS; run++)
+		{
+			long before = System.currentTimeMillis();
+			typeCheck(spec);
+			long after = System.currentTimeMillis();
+			
+			Console.out.println("Run " + run + ": type checked " + MODULES + " modules in " +
+				(double)(after-before)/1000 + " secs. ");
+		}
+	}
+
+	/**
+	 * Measure a prototype of an on-disk cache of the TC and IN trees, using Java
+	 * serialization, against checking and mapping them from the source.
+	 */
+	public void testTreeCache() throws Exception
+	{
+		String spec = generate(MODULES);
+		
+		for (int run = 1; run <= RUNS; run++)
+		{
+			long before = System.currentTimeMillis();
+			TCModuleList checked = typeCheck(spec);
+			INModuleList runnable = ClassMapper.getInstance(INNode.MAPPINGS).init().convert(checked);
+			long after = System.currentTimeMillis();
+			double checkTime = (double)(after-before)/1000;
+
+			before = System.currentTimeMillis();
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			ObjectOutputStream out = new ObjectOutputStream(bytes);
+			out.writeObject(checked);
+			out.writeObject(runnable);
+			out.close();
+			after = System.currentTimeMillis();
+			double saveTime = (double)(after-before)/1000;
+			
+			before = System.currentTimeMillis();
+			ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+			TCModuleList tcLoaded = (TCModuleList)in.readObject();
+			INModuleList inLoaded = (INModuleList)in.readObject();
+			in.close();
+			after = System.currentTimeMillis();
+			double loadTime = (double)(after-before)/1000;
+			
+			assertEquals("TC modules", checked.toString(), tcLoaded.toString());
+			assertEquals("IN modules", runnable.size(), inLoaded.size());
+			
+			Console.out.println("Run " + run + ": checked and mapped " + MODULES + " modules in " +
+				checkTime + " secs, saved " + bytes.size() + " bytes in " + saveTime +
+				" secs, loaded in " + loadTime + " secs. ");
+		}
+	}
+
+	public void testConcurrentComparisons() throws Exception
+	{
+		TCModuleList checked = typeCheck(generate(MODULES));
+		final List<TCType> types = new Vector<TCType>();
+		
+		for (TCModule m: checked)
+		{
+			for (TCDefinition d: m.defs)
+			{
+				if (d instanceof TCTypeDefinition)
+				{
+					types.add(((TCTypeDefinition)d).type);
+				}
+			}
+		}
+		
+		final int[] expected = compareAll(types, 0, 1);
+		
+		for (int threads = 1; threads <= THREADS; threads *= 2)
+		{
+			TypeComparator.clearCache();
+			Thread[] workers = new Thread[threads];
+			final int[] counts = new int[2];
+			final int stride = threads;
+			long before = System.currentTimeMillis();
+			
+			for (int t = 0; t < threads; t++)
+			{
+				final int start = t;
+				
+				workers[t] = new Thread()
+				{
+					@Override
+					public void run()
+					{
+						int[] stripe = compareAll(types, start, stride);
+						
+						synchronized (counts)
+						{
+							counts[0] += stripe[0];
+							counts[1] += stripe[1];
+						}
+					}
+				};
+				
+				workers[t].start();
+			}
+			
+			for (Thread w: workers)
+			{
+				w.join();
+			}
+			
+			long after = System.currentTimeMillis();
+			assertEquals("Compatible count", expected[0], counts[0]);
+			assertEquals("Subtype count", expected[1], counts[1]);
+			
+			Console.out.println(threads + " threads compared " + types.size() + " types in " +
+				(double)(after-before)/1000 + " secs. ");
+		}
+	}
+	
+	/**
+	 * Compare every "start + n * stride"th type with all of the types.
+	 */
+	private int[] compareAll(List<TCType> types, int start, int stride)
+	{
+		int[] counts = new int[2];
+		
+		for (int i = start; i < types.size(); i += stride)
+		{
+			TCType a = types.get(i);
+			
+			for (TCType b: types)
+			{
+				if (TypeComparator.compatible(a, b)) counts[0]++;
+				if (TypeComparator.isSubType(a, b)) counts[1]++;
+			}
+		}
+		
+		return counts;
+	}
+}
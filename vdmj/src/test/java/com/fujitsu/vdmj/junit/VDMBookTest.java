@@ -71,7 +71,8 @@ public class VDMBookTest extends VDMTestCase
 		ClassInterpreter interpreter = new ClassInterpreter(runnable, checked);
 		interpreter.init();
 		AssertCommand cmd = new AssertCommand("assert " + assertions);
-		assertEquals("Execution errors", true, !cmd.errors());
+		assertEquals("Execution errors", null, cmd.run("assert " + assertions));
+		assertEquals("Execution errors", false, cmd.errors());
 	}
 
 	public void test_Enigma() throws Exception
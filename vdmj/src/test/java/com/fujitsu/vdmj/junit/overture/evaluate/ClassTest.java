@@ -24,10 +24,19 @@
 
 package com.fujitsu.vdmj.junit.overture.evaluate;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import com.fujitsu.vdmj.Release;
 import com.fujitsu.vdmj.Settings;
+import com.fujitsu.vdmj.config.Properties;
 import com.fujitsu.vdmj.junit.overture.OvertureTest;
 import com.fujitsu.vdmj.lex.Dialect;
+import com.fujitsu.vdmj.messages.RTLogger;
 
 public class ClassTest extends OvertureTest
 {
@@ -103,6 +112,62 @@ public class ClassTest extends OvertureTest
 		evaluate("sporadic", ResultType.VOID, 0, Release.VDM_10);
 	}
 
+	public void test_EventQueue() throws Exception
+	{
+		// The RT log should be the same whichever scheduler loop is used
+		File logfile = File.createTempFile("eventqueue", ".log");
+		String[] logs = new String[2];
+		
+		try
+		{
+			for (int i = 0; i < 2; i++)
+			{
+				Settings.dialect = Dialect.VDM_RT;
+				Properties.scheduler_event_queue = (i == 1);
+				RTLogger.setLogfileName(logfile);
+				evaluate("eventqueue", ResultType.TRUE, 0, Release.VDM_10);
+				RTLogger.enable(false);
+				logs[i] = threadOrder(new String(Files.readAllBytes(logfile.toPath())));
+			}
+		}
+		finally
+		{
+			Properties.scheduler_event_queue = false;
+			RTLogger.enable(false);
+			logfile.delete();
+		}
+		
+		assertTrue("Expecting an RT log", logs[0].contains("ThreadSwapIn"));
+		assertEquals("RT logs differ", logs[0], logs[1]);
+	}
+	
+	/**
+	 * Thread ids are Java thread ids, which differ between runs, so they are
+	 * replaced by their order of appearance in the log.
+	 */
+	private String threadOrder(String log)
+	{
+		Map<String, Integer> ids = new HashMap<String, Integer>();
+		Matcher m = Pattern.compile("\\b(id|callthr|calleethr): (\\d+)").matcher(log);
+		StringBuffer sb = new StringBuffer();
+		
+		while (m.find())
+		{
+			Integer id = ids.get(m.group(2));
+			
+			if (id == null)
+			{
+				id = ids.size() + 1;
+				ids.put(m.group(2), id);
+			}
+			
+			m.appendReplacement(sb, m.group(1) + ": " + id);
+		}
+		
+		m.appendTail(sb);
+		return sb.toString();
+	}
+
 	public void test_Set1()
 	{
 		evaluate("set1", ResultType.TRUE, 0, Release.VDM_10);